@@ -0,0 +1,45 @@
+package com.example.myauth.benchmark;
+
+import com.example.myauth.dto.ApiResponse;
+import com.example.myauth.dto.LoginResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 로그인 응답 ApiResponse<LoginResponse> JSON 직렬화
+ * JacksonConfig와 같은 설정(JsonMapper.builder().build())의 매퍼로 실제 발급 토큰이 담긴 응답을 직렬화한다
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ApiResponseSerializationBenchmark {
+
+  private ObjectMapper objectMapper;
+  private ApiResponse<LoginResponse> loginResponse;
+
+  @Setup
+  public void setUp() {
+    objectMapper = JsonMapper.builder().build();
+    loginResponse = ApiResponse.success("로그인 성공",
+        BenchmarkFixtures.loginResponse(BenchmarkFixtures.jwtTokenProvider(false, true, true, "standard")));
+  }
+
+  @Benchmark
+  public String writeValueAsString() {
+    return objectMapper.writeValueAsString(loginResponse);
+  }
+
+  @Benchmark
+  public byte[] writeValueAsBytes() {
+    return objectMapper.writeValueAsBytes(loginResponse);
+  }
+}
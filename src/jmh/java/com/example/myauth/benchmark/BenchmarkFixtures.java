@@ -0,0 +1,84 @@
+package com.example.myauth.benchmark;
+
+import com.example.myauth.config.JwtKeyRingProperties;
+import com.example.myauth.dto.LoginResponse;
+import com.example.myauth.entity.User;
+import com.example.myauth.security.JwtKeyRing;
+import com.example.myauth.security.JwtTokenProvider;
+import com.example.myauth.security.VerifiedTokenCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.time.Duration;
+
+/**
+ * 벤치마크 공용 픽스처
+ * Spring 컨텍스트 없이 application.yaml 기본값과 같은 설정으로 빈을 직접 만든다
+ */
+final class BenchmarkFixtures {
+
+  static final String SECRET = "mySecretKeyForJWTTokenGenerationThisKeyMustBeLongEnoughForHS512Algorithm";
+  static final long ACCESS_TOKEN_EXPIRATION = 3_600_000L;
+  static final long REFRESH_TOKEN_EXPIRATION = 604_800_000L;
+
+  static final long USER_ID = 123456L;
+  static final String USER_EMAIL = "benchmark-user@example.com";
+
+  private BenchmarkFixtures() {
+  }
+
+  /**
+   * JwtTokenProvider를 만든다 (HS512, 키 링 미사용)
+   *
+   * @param verifiedCacheEnabled 검증 캐시/거부 토큰 캐시 사용 여부
+   * @param fastVerifierEnabled HS512 고속 검증기 사용 여부
+   * @param templatedIssuanceEnabled 고정 템플릿 발급기 사용 여부
+   * @param tokenProfile standard / compact
+   */
+  static JwtTokenProvider jwtTokenProvider(boolean verifiedCacheEnabled, boolean fastVerifierEnabled,
+                                           boolean templatedIssuanceEnabled, String tokenProfile) {
+    return new JwtTokenProvider(
+        SECRET,
+        ACCESS_TOKEN_EXPIRATION,
+        REFRESH_TOKEN_EXPIRATION,
+        new VerifiedTokenCache(
+            verifiedCacheEnabled, 10_000, verifiedCacheEnabled, 10_000, Duration.ofMinutes(10), new SimpleMeterRegistry()),
+        new JwtKeyRing(new JwtKeyRingProperties()),
+        fastVerifierEnabled,
+        templatedIssuanceEnabled,
+        tokenProfile,
+        "jwt",
+        false
+    );
+  }
+
+  /**
+   * 활성 상태의 일반 사용자
+   */
+  static User activeUser() {
+    return User.builder()
+        .id(USER_ID)
+        .email(USER_EMAIL)
+        .name("벤치마크 사용자")
+        .password("$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z1Z3G5gE4Q6V1uQ9sZ4H1b2K")
+        .role(User.Role.ROLE_USER)
+        .status(User.Status.ACTIVE)
+        .isActive(true)
+        .build();
+  }
+
+  /**
+   * 로그인 응답 (실제 발급 토큰 포함)
+   */
+  static LoginResponse loginResponse(JwtTokenProvider provider) {
+    return LoginResponse.builder()
+        .accessToken(provider.generateAccessToken(USER_EMAIL, USER_ID))
+        .refreshToken(provider.generateRefreshToken(USER_EMAIL, USER_ID))
+        .user(LoginResponse.UserInfo.builder()
+            .id(USER_ID)
+            .email(USER_EMAIL)
+            .name("벤치마크 사용자")
+            .role(User.Role.ROLE_USER.name())
+            .build())
+        .build();
+  }
+}
@@ -0,0 +1,73 @@
+package com.example.myauth.benchmark;
+
+import com.example.myauth.util.ClientTypeDetector;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ClientTypeDetector.isWebClient - 로그인/갱신 응답마다 토큰 전달 방식을 정하는 판별 로직
+ * 실제 트래픽에 가까운 User-Agent 모음(데스크톱/모바일 브라우저, 인앱 브라우저, 네이티브 HTTP 클라이언트)을
+ * 한 번씩 판별하는 시간을 측정한다 (결과 단위: 코퍼스 1회 = UA_CORPUS.length 요청)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ClientTypeDetectorBenchmark {
+
+  private static final String[] UA_CORPUS = {
+      // 데스크톱 브라우저
+      "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/130.0.0.0 Safari/537.36",
+      "Mozilla/5.0 (Macintosh; Intel Mac OS X 10_15_7) AppleWebKit/605.1.15 (KHTML, like Gecko) Version/17.6 Safari/605.1.15",
+      "Mozilla/5.0 (Windows NT 10.0; Win64; x64; rv:131.0) Gecko/20100101 Firefox/131.0",
+      "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/130.0.0.0 Safari/537.36 Edg/130.0.0.0",
+      // 모바일 브라우저 / 인앱 브라우저
+      "Mozilla/5.0 (iPhone; CPU iPhone OS 17_6 like Mac OS X) AppleWebKit/605.1.15 (KHTML, like Gecko) Version/17.6 Mobile/15E148 Safari/604.1",
+      "Mozilla/5.0 (Linux; Android 14; SM-S921N) AppleWebKit/537.36 (KHTML, like Gecko) SamsungBrowser/26.0 Chrome/122.0.0.0 Mobile Safari/537.36",
+      "Mozilla/5.0 (Linux; Android 14; SM-S921N Build/UP1A.231005.007; wv) AppleWebKit/537.36 (KHTML, like Gecko) Version/4.0 Chrome/130.0.6723.58 Mobile Safari/537.36 KAKAOTALK/10.9.0",
+      "Mozilla/5.0 (iPhone; CPU iPhone OS 17_6 like Mac OS X) AppleWebKit/605.1.15 (KHTML, like Gecko) Mobile/15E148 NAVER(inapp; search; 2000; 12.8.2)",
+      // 네이티브 앱 HTTP 클라이언트
+      "okhttp/4.12.0",
+      "MyAuthMobileApp/1.4.2 (iPhone; iOS 17.6; Scale/3.00)",
+      "MyAuthMobileApp/1.4.2 CFNetwork/1498.700.2 Darwin/23.6.0",
+      "Dart/3.5 (dart:io)",
+      "Expo/2.32.6 CFNetwork/1498.700.2 Darwin/23.6.0",
+      // 기타
+      "curl/8.7.1",
+      "PostmanRuntime/7.42.0",
+      "",
+  };
+
+  private MockHttpServletRequest[] requests;
+
+  @Setup
+  public void setUp() {
+    requests = new MockHttpServletRequest[UA_CORPUS.length + 1];
+    for (int i = 0; i < UA_CORPUS.length; i++) {
+      requests[i] = new MockHttpServletRequest("POST", "/auth/login");
+      requests[i].addHeader("User-Agent", UA_CORPUS[i]);
+    }
+    // X-Client-Type 헤더로 명시한 모바일 앱
+    requests[UA_CORPUS.length] = new MockHttpServletRequest("POST", "/auth/login");
+    requests[UA_CORPUS.length].addHeader("X-Client-Type", "mobile-app");
+    requests[UA_CORPUS.length].addHeader("User-Agent", "okhttp/4.12.0");
+  }
+
+  @Benchmark
+  public int isWebClientCorpus() {
+    int webClients = 0;
+    for (MockHttpServletRequest request : requests) {
+      if (ClientTypeDetector.isWebClient(request)) {
+        webClients++;
+      }
+    }
+    return webClients;
+  }
+}
@@ -0,0 +1,157 @@
+package com.example.myauth.benchmark;
+
+import com.example.myauth.repository.UserRepository;
+import com.example.myauth.repository.UserTokenEpochRepository;
+import com.example.myauth.security.AuthenticatedUserCache;
+import com.example.myauth.security.JwtAuthenticationFilter;
+import com.example.myauth.security.JwtTokenProvider;
+import com.example.myauth.security.TokenRevocationService;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Date;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.when;
+
+/**
+ * JwtAuthenticationFilter 요청 처리 경로 (모든 API 요청이 거치는 필터)
+ * - authenticated: 유효한 Access Token → 검증 + 사용자 스냅샷 조회 + SecurityContext 설정
+ * - anonymous: Authorization 헤더 없음 → 그대로 통과
+ * - invalidToken: 서명이 틀린 토큰 → 401 JSON 응답 작성 (검증 캐시 사용 시 두 번째부터 거부 토큰 캐시 적중)
+ * - malformedToken: JWT 형식이 아닌 값 → 사전 검사에서 거부
+ * - expiredToken: 만료된 토큰 → 사전 검사에서 exp만 읽고 거부
+ *
+ * UserRepository는 DB 없이 고정 사용자를 반환하는 mock이다
+ * (stubOnly로 만들어 호출 기록이 쌓이지 않게 함)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtAuthenticationFilterBenchmark {
+
+  private static final FilterChain NO_OP_CHAIN = (request, response) -> { };
+
+  @Param({"true", "false"})
+  private boolean verifiedCache;
+
+  @Param({"true", "false"})
+  private boolean principalCache;
+
+  private JwtAuthenticationFilter filter;
+  private MockHttpServletRequest authenticatedRequest;
+  private MockHttpServletRequest anonymousRequest;
+  private MockHttpServletRequest malformedTokenRequest;
+  private MockHttpServletRequest expiredTokenRequest;
+  private MockHttpServletRequest invalidTokenRequest;
+  private MockHttpServletResponse response;
+
+  @Setup
+  public void setUp() {
+    JwtTokenProvider provider = BenchmarkFixtures.jwtTokenProvider(verifiedCache, true, true, "standard");
+
+    UserRepository userRepository = Mockito.mock(UserRepository.class, Mockito.withSettings().stubOnly());
+    when(userRepository.findById(BenchmarkFixtures.USER_ID)).thenReturn(Optional.of(BenchmarkFixtures.activeUser()));
+
+    AuthenticatedUserCache authenticatedUserCache =
+        new AuthenticatedUserCache(principalCache, 10_000, Duration.ofSeconds(30), userRepository, new SimpleMeterRegistry());
+
+    TokenRevocationService tokenRevocationService = new TokenRevocationService(
+        Mockito.mock(UserTokenEpochRepository.class, Mockito.withSettings().stubOnly()), 3_600_000L);
+
+    filter = new JwtAuthenticationFilter(provider, authenticatedUserCache, tokenRevocationService,
+        JsonMapper.builder().build(), new SimpleMeterRegistry());
+
+    String accessToken = provider.generateAccessToken(BenchmarkFixtures.USER_EMAIL, BenchmarkFixtures.USER_ID);
+    char last = accessToken.charAt(accessToken.length() - 2);
+    String tamperedToken = accessToken.substring(0, accessToken.length() - 2)
+        + (last == 'A' ? 'B' : 'A') + accessToken.charAt(accessToken.length() - 1);
+
+    authenticatedRequest = request("Bearer " + accessToken);
+    anonymousRequest = request(null);
+    invalidTokenRequest = request("Bearer " + tamperedToken);
+    malformedTokenRequest = request("Bearer undefined");
+    expiredTokenRequest = request("Bearer " + expiredAccessToken());
+    response = new MockHttpServletResponse();
+  }
+
+  @Benchmark
+  public Object authenticated() throws Exception {
+    return filterOnce(authenticatedRequest);
+  }
+
+  @Benchmark
+  public Object anonymous() throws Exception {
+    return filterOnce(anonymousRequest);
+  }
+
+  @Benchmark
+  public Object invalidToken() throws Exception {
+    return filterOnce(invalidTokenRequest);
+  }
+
+  @Benchmark
+  public Object malformedToken() throws Exception {
+    return filterOnce(malformedTokenRequest);
+  }
+
+  @Benchmark
+  public Object expiredToken() throws Exception {
+    return filterOnce(expiredTokenRequest);
+  }
+
+  /**
+   * 필터를 한 번 실행하고 설정된 인증 정보를 반환한다 (요청 간 상태는 초기화)
+   */
+  private Object filterOnce(MockHttpServletRequest request) throws Exception {
+    try {
+      filter.doFilter(request, response, NO_OP_CHAIN);
+      return SecurityContextHolder.getContext().getAuthentication();
+    } finally {
+      SecurityContextHolder.clearContext();
+      response.reset();
+    }
+  }
+
+  /**
+   * 한 시간 전에 만료된 Access Token
+   */
+  private static String expiredAccessToken() {
+    long now = System.currentTimeMillis();
+    return Jwts.builder()
+        .subject(BenchmarkFixtures.USER_EMAIL)
+        .claim("userId", BenchmarkFixtures.USER_ID)
+        .claim("type", "access")
+        .issuedAt(new Date(now - 2 * BenchmarkFixtures.ACCESS_TOKEN_EXPIRATION))
+        .expiration(new Date(now - BenchmarkFixtures.ACCESS_TOKEN_EXPIRATION))
+        .signWith(Keys.hmacShaKeyFor(BenchmarkFixtures.SECRET.getBytes(StandardCharsets.UTF_8)))
+        .compact();
+  }
+
+  private static MockHttpServletRequest request(String authorization) {
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/user/me");
+    request.setRemoteAddr("203.0.113.10");
+    if (authorization != null) {
+      request.addHeader("Authorization", authorization);
+    }
+    return request;
+  }
+}
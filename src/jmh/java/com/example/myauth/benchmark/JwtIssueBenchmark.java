@@ -0,0 +1,47 @@
+package com.example.myauth.benchmark;
+
+import com.example.myauth.security.JwtTokenProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JwtTokenProvider 토큰 발급 경로
+ * 로그인/갱신/카카오 로그인마다 호출되는 generateAccessToken/generateRefreshToken을
+ * 발급 방식(고정 템플릿 / Jwts.builder())과 토큰 프로필(standard / compact)별로 측정한다
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtIssueBenchmark {
+
+  @Param({"true", "false"})
+  private boolean templatedIssuance;
+
+  @Param({"standard", "compact"})
+  private String tokenProfile;
+
+  private JwtTokenProvider provider;
+
+  @Setup
+  public void setUp() {
+    provider = BenchmarkFixtures.jwtTokenProvider(false, true, templatedIssuance, tokenProfile);
+  }
+
+  @Benchmark
+  public String generateAccessToken() {
+    return provider.generateAccessToken(BenchmarkFixtures.USER_EMAIL, BenchmarkFixtures.USER_ID);
+  }
+
+  @Benchmark
+  public String generateRefreshToken() {
+    return provider.generateRefreshToken(BenchmarkFixtures.USER_EMAIL, BenchmarkFixtures.USER_ID);
+  }
+}
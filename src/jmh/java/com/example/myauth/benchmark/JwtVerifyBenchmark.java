@@ -0,0 +1,79 @@
+package com.example.myauth.benchmark;
+
+import com.example.myauth.security.JwtClaims;
+import com.example.myauth.security.JwtTokenProvider;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Access Token 검증 경로 비교
+ * - legacyTripleParse: 기존 필터 방식 (요청마다 파서 생성 + validate/getEmail/getUserId 3회 파싱)
+ * - jjwtParseOnce: 재사용 파서로 jjwt 1회 파싱
+ * - fastVerifier: HS512 고속 검증기 (캐시 없이 매번 서명 계산)
+ * - cachedParse: 운영 기본 설정 (VerifiedTokenCache 적중 시 다이제스트 계산 + 캐시 조회만 수행)
+ *
+ * 할당량은 -prof gc 결과의 gc.alloc.rate.norm(B/op)으로 비교한다
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtVerifyBenchmark {
+
+  private SecretKey secretKey;
+  private JwtTokenProvider jjwtProvider;
+  private JwtTokenProvider fastProvider;
+  private JwtTokenProvider cachedProvider;
+  private String accessToken;
+
+  @Setup
+  public void setUp() {
+    secretKey = Keys.hmacShaKeyFor(BenchmarkFixtures.SECRET.getBytes(StandardCharsets.UTF_8));
+    jjwtProvider = newProvider(false);
+    fastProvider = newProvider(true);
+    cachedProvider = BenchmarkFixtures.jwtTokenProvider(true, true, true, "standard");
+    accessToken = fastProvider.generateAccessToken(BenchmarkFixtures.USER_EMAIL, BenchmarkFixtures.USER_ID);
+  }
+
+  @Benchmark
+  public void legacyTripleParse(Blackhole blackhole) {
+    for (int i = 0; i < 3; i++) {
+      Claims claims = Jwts.parser().verifyWith(secretKey).build().parseSignedClaims(accessToken).getPayload();
+      blackhole.consume(claims);
+    }
+  }
+
+  @Benchmark
+  public JwtClaims jjwtParseOnce() {
+    return jjwtProvider.parseClaims(accessToken);
+  }
+
+  @Benchmark
+  public JwtClaims fastVerifier() {
+    return fastProvider.parseClaims(accessToken);
+  }
+
+  @Benchmark
+  public JwtClaims cachedParse() {
+    return cachedProvider.parseClaims(accessToken);
+  }
+
+  /**
+   * 검증 캐시는 끄고 고속 검증기 사용 여부만 바꾼 JwtTokenProvider를 만든다
+   */
+  private static JwtTokenProvider newProvider(boolean fastVerifierEnabled) {
+    return BenchmarkFixtures.jwtTokenProvider(false, fastVerifierEnabled, true, "standard");
+  }
+}
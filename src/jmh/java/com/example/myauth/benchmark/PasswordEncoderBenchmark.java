@@ -0,0 +1,48 @@
+package com.example.myauth.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BCryptPasswordEncoder 비용 계수(strength)별 해시/검증 시간
+ * 로그인(matches)과 회원가입(encode)의 지연 시간 대부분을 차지하므로
+ * 비용 계수 변경 시 요청당 CPU 시간이 얼마나 달라지는지 확인하는 용도이다 (현재 설정: 기본값 10)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class PasswordEncoderBenchmark {
+
+  private static final String RAW_PASSWORD = "Benchmark-Passw0rd!";
+
+  @Param({"4", "10", "12"})
+  private int strength;
+
+  private BCryptPasswordEncoder encoder;
+  private String encodedPassword;
+
+  @Setup
+  public void setUp() {
+    encoder = new BCryptPasswordEncoder(strength);
+    encodedPassword = encoder.encode(RAW_PASSWORD);
+  }
+
+  @Benchmark
+  public String encode() {
+    return encoder.encode(RAW_PASSWORD);
+  }
+
+  @Benchmark
+  public boolean matches() {
+    return encoder.matches(RAW_PASSWORD, encodedPassword);
+  }
+}
@@ -1,10 +1,13 @@
 package com.example.myauth.config;
 
+import lombok.AllArgsConstructor;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
 import java.util.List;
 
 /**
@@ -32,6 +35,26 @@ public class AppProperties {
    */
   private OAuth oauth = new OAuth();
 
+  /**
+   * 인증 방식 설정
+   */
+  private Security security = new Security();
+
+  /**
+   * 비밀번호 해시(BCrypt) 전용 실행기 설정
+   */
+  private PasswordHashing passwordHashing = new PasswordHashing();
+
+  /**
+   * 인증 엔드포인트 요청 수 제한 설정
+   */
+  private RateLimit rateLimit = new RateLimit();
+
+  /**
+   * 로그인 실패 누적 시 계정 잠금 설정
+   */
+  private Lockout lockout = new Lockout();
+
   @Getter
   @Setter
   public static class Cookie {
@@ -70,4 +93,143 @@ public class AppProperties {
      */
     private String kakaoRedirectUrl = "http://localhost:5173/oauth/callback";
   }
+
+  @Getter
+  @Setter
+  public static class Security {
+    /**
+     * 토큰 클레임만으로 인증하는 경로 패턴 (예: /api/internal/**)
+     * Access Token에 role/status 클레임(jwt.principal-claims.enabled)이 있으면 DB/캐시 조회 없이 인증한다
+     * 목록에 없는 경로(민감한 API)는 항상 사용자 상태를 확인한다
+     */
+    private List<String> statelessPaths = List.of();
+
+    /**
+     * stateless 인증을 허용할 토큰의 최대 나이 (iat 기준)
+     * 이보다 오래된 토큰은 사용자 상태를 다시 확인하여 역할/상태 변경이 반영되는 지연을 제한한다
+     */
+    private Duration statelessMaxTokenAge = Duration.ofMinutes(5);
+  }
+
+  @Getter
+  @Setter
+  public static class PasswordHashing {
+    /**
+     * BCrypt 작업 스레드 수 (0이면 CPU 코어 수)
+     * 해시는 CPU만 사용하므로 코어 수보다 많이 두어도 처리량이 늘지 않는다
+     */
+    private int threads = 0;
+
+    /**
+     * 대기열 최대 길이 (가득 차면 429 Too Many Requests)
+     */
+    private int queueCapacity = 64;
+
+    /**
+     * 대기열에서 기다릴 수 있는 최대 시간
+     * 예상 대기 시간이 이보다 길면 대기열에 넣지 않고 바로 429로 거부한다
+     */
+    private Duration maxWait = Duration.ofSeconds(2);
+
+    /**
+     * 새 해시에 사용할 알고리즘 (bcrypt / argon2)
+     * 검증은 저장된 해시의 {id} 접두사로 알고리즘을 고르므로 변경해도 기존 해시로 로그인할 수 있다
+     */
+    private String algorithm = "bcrypt";
+
+    /**
+     * 코어 1개에서 해시 1회에 쓸 목표 시간
+     * 시작 시 이 시간에 맞춰 BCrypt strength / Argon2id iterations를 보정한다 (0이면 보정하지 않고 기본값 사용)
+     */
+    private Duration targetLatency = Duration.ofMillis(100);
+
+    /**
+     * Argon2id 메모리 사용량 (KiB, OWASP 권장 최소값 19 MiB)
+     */
+    private int argon2MemoryKib = 19 * 1024;
+  }
+
+  @Getter
+  @Setter
+  public static class RateLimit {
+    /**
+     * 요청 수 제한 사용 여부
+     */
+    private boolean enabled = true;
+
+    /**
+     * 정책별로 보관하는 최대 키(IP/이메일) 수 (넘으면 오래 쓰지 않은 키부터 제거)
+     */
+    private long maximumKeys = 100_000;
+
+    /**
+     * 이 시간 동안 요청이 없는 키는 제거한다 (버킷이 가득 찬 상태와 같으므로 결과는 동일)
+     */
+    private Duration idleTimeout = Duration.ofMinutes(10);
+
+    /**
+     * 경로별 정책 (POST 요청에만 적용)
+     */
+    private List<Policy> policies = List.of(
+        new Policy("/login", 5, 3, Duration.ofMinutes(1)),
+        new Policy("/loginEx", 5, 3, Duration.ofMinutes(1)),
+        new Policy("/signup", 3, 0, Duration.ofMinutes(1)),
+        new Policy("/refresh", 10, 0, Duration.ofMinutes(1))
+    );
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Policy {
+      /**
+       * 적용할 요청 경로 (정확히 일치)
+       */
+      private String path;
+
+      /**
+       * 클라이언트 IP당 period 동안 허용하는 요청 수 (0이면 제한 없음)
+       */
+      private int ipLimit;
+
+      /**
+       * 요청 본문의 이메일(정규화)당 period 동안 허용하는 요청 수 (0이면 제한 없음)
+       */
+      private int emailLimit;
+
+      /**
+       * 제한 기간 (이 기간에 걸쳐 허용량이 고르게 다시 채워진다)
+       */
+      private Duration period = Duration.ofMinutes(1);
+    }
+  }
+
+  @Getter
+  @Setter
+  public static class Lockout {
+    /**
+     * 계정 잠금 사용 여부
+     */
+    private boolean enabled = true;
+
+    /**
+     * 잠금을 시작하는 연속 실패 횟수
+     */
+    private int threshold = 5;
+
+    /**
+     * 첫 잠금 시간 (threshold를 넘는 실패마다 2배씩 늘어난다)
+     */
+    private Duration baseDuration = Duration.ofMinutes(1);
+
+    /**
+     * 최대 잠금 시간
+     */
+    private Duration maxDuration = Duration.ofHours(1);
+
+    /**
+     * 메모리에 보관하는 최대 잠금 계정 수
+     */
+    private long maximumEntries = 100_000;
+  }
 }
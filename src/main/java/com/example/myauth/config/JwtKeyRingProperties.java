@@ -0,0 +1,66 @@
+package com.example.myauth.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * JWT 서명 키 링 설정 프로퍼티
+ * application.yaml의 jwt.key-ring 설정을 바인딩
+ *
+ * 키 교체(rotation) 절차:
+ * 1. 새 키를 active-from(미래 시점)과 함께 추가 → JWKS에 미리 공개되어 리소스 서버가 캐시
+ * 2. active-from이 지나면 새 키로 서명 시작, 이전 키는 검증용으로 계속 유지 (겹치는 기간)
+ * 3. 이전 키로 서명된 토큰이 모두 만료된 뒤(Refresh Token 만료 기간 이후) 이전 키를 제거
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "jwt.key-ring")
+public class JwtKeyRingProperties {
+
+  /**
+   * 서명 알고리즘
+   * - HS512: 기존 jwt.secret 기반 HMAC 서명 (기본값, 키 링 미사용)
+   * - ES256: ECDSA P-256 비대칭 서명
+   * - EdDSA: Ed25519 비대칭 서명
+   */
+  private String algorithm = "HS512";
+
+  /**
+   * 비대칭 모드에서도 kid 헤더가 없는 기존 HS512 토큰을 검증할지 여부 (마이그레이션 기간용)
+   */
+  private boolean acceptLegacyHmac = true;
+
+  /**
+   * JWKS 응답의 Cache-Control max-age
+   */
+  private Duration jwksMaxAge = Duration.ofHours(1);
+
+  /**
+   * 서명/검증 키 목록
+   */
+  private List<Key> keys = new ArrayList<>();
+
+  @Getter
+  @Setter
+  public static class Key {
+    /** 키 식별자 (JWT 헤더의 kid) */
+    private String kid;
+
+    /** 개인 키 (PKCS#8 DER의 Base64, PEM 헤더 허용) - 검증 전용 키면 생략 */
+    private String privateKey;
+
+    /** 공개 키 (X.509 SubjectPublicKeyInfo DER의 Base64, PEM 헤더 허용) */
+    private String publicKey;
+
+    /** 이 키로 서명을 시작하는 시점 (생략 시 즉시) */
+    private Instant activeFrom;
+  }
+}
@@ -3,6 +3,10 @@ package com.example.myauth.config;
 import com.example.myauth.security.CustomLogoutHandler;
 import com.example.myauth.security.CustomLogoutSuccessHandler;
 import com.example.myauth.security.JwtAuthenticationFilter;
+import com.example.myauth.security.PasswordHashCalibrator;
+import com.example.myauth.security.PasswordHashingExecutor;
+import com.example.myauth.security.PooledPasswordEncoder;
+import com.example.myauth.security.RateLimitFilter;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
@@ -14,10 +18,14 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.servlet.util.matcher.PathPatternRequestMatcher;
+import org.springframework.security.web.util.matcher.OrRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+
+import java.util.List;
 
 /**
  * Spring Security 설정
@@ -30,15 +38,20 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 public class SecurityConfig {
 
   private final JwtAuthenticationFilter jwtAuthenticationFilter;
+  private final RateLimitFilter rateLimitFilter;
   private final CustomLogoutHandler customLogoutHandler;
   private final CustomLogoutSuccessHandler customLogoutSuccessHandler;
+  private final AppProperties appProperties;
 
   /**
    * 비밀번호 암호화에 사용할 PasswordEncoder
+   * - 알고리즘/비용: 시작 시 app.password-hashing.target-latency에 맞춰 보정 ({bcrypt}/{argon2} 접두사로 구분)
+   * - 해시/검증은 요청 스레드가 아닌 PasswordHashingExecutor의 전용 스레드 풀에서 실행한다
    */
   @Bean
-  public PasswordEncoder passwordEncoder() {
-    return new BCryptPasswordEncoder();
+  public PasswordEncoder passwordEncoder(PasswordHashingExecutor passwordHashingExecutor) {
+    PasswordEncoder calibrated = PasswordHashCalibrator.createPasswordEncoder(appProperties.getPasswordHashing());
+    return new PooledPasswordEncoder(calibrated, passwordHashingExecutor);
   }
 
   /**
@@ -58,6 +71,11 @@ public class SecurityConfig {
    */
   @Bean
   public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    // 토큰 클레임만으로 인증할 경로 (읽기 위주 내부 API 등, 민감한 경로는 넣지 않는다)
+    AppProperties.Security security = appProperties.getSecurity();
+    jwtAuthenticationFilter.configureStatelessMode(
+        statelessRequestMatcher(security.getStatelessPaths()), security.getStatelessMaxTokenAge());
+
     http
         // 1️⃣ CSRF 비활성화 (JWT 사용 시 불필요)
         .csrf(AbstractHttpConfigurer::disable)
@@ -86,6 +104,10 @@ public class SecurityConfig {
                 .requestMatchers("/health", "/signup", "/login", "/loginEx", "/refresh").permitAll()
                 // 카카오 OAuth 로그인 경로 (인증 불필요)
                 .requestMatchers("/auth/kakao/**").permitAll()
+                // JWKS 공개 키 (리소스 서버의 토큰 검증용, 인증 불필요)
+                .requestMatchers("/.well-known/jwks.json").permitAll()
+                // 관리자 API (사용자 일괄 등록 등)
+                .requestMatchers("/admin/**").hasRole("ADMIN")
                 // 그 외 모든 요청은 인증 필요
                 .anyRequest().authenticated()
         )
@@ -105,9 +127,27 @@ public class SecurityConfig {
         )
 
         // JWT 인증 필터 추가 (UsernamePasswordAuthenticationFilter 이전에 실행)
-        .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+        .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+
+        // 요청 수 제한 필터 추가 (JWT 인증 필터 이전, 제한 초과 요청은 PasswordEncoder/DB에 도달하지 않음)
+        .addFilterBefore(rateLimitFilter, JwtAuthenticationFilter.class);
 
     return http.build();
   }
-}
 
+  /**
+   * app.security.stateless-paths 패턴으로 RequestMatcher를 만든다
+   *
+   * @param patterns 경로 패턴 목록
+   * @return 패턴 중 하나라도 일치하면 true인 매처 (패턴이 없으면 null)
+   */
+  private static RequestMatcher statelessRequestMatcher(List<String> patterns) {
+    if (patterns == null || patterns.isEmpty()) {
+      return null;
+    }
+    List<RequestMatcher> matchers = patterns.stream()
+        .map(pattern -> (RequestMatcher) PathPatternRequestMatcher.withDefaults().matcher(pattern))
+        .toList();
+    return new OrRequestMatcher(matchers);
+  }
+}
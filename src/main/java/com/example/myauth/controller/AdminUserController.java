@@ -0,0 +1,55 @@
+package com.example.myauth.controller;
+
+import com.example.myauth.dto.ApiResponse;
+import com.example.myauth.dto.BulkImportResponse;
+import com.example.myauth.security.AuthenticatedUser;
+import com.example.myauth.service.UserBulkImportService;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * 관리자용 사용자 관리 컨트롤러 (ROLE_ADMIN만 접근, SecurityConfig 참고)
+ */
+@Slf4j
+@RestController
+@RequestMapping("/admin/users")
+@RequiredArgsConstructor
+public class AdminUserController {
+
+  private final UserBulkImportService userBulkImportService;
+
+  /**
+   * 사용자 일괄 등록
+   * 요청 본문은 한 줄에 {"email", "password", "username"} JSON 하나인 NDJSON이며,
+   * 메모리에 모으지 않고 스트림으로 읽으면서 등록한다
+   *
+   * @param principal 요청한 관리자
+   * @param request 본문 스트림을 읽을 요청
+   * @return 등록/실패 건수와 행별 실패 사유
+   */
+  @PostMapping(value = "/import", consumes = {"application/x-ndjson", MediaType.TEXT_PLAIN_VALUE,
+      MediaType.APPLICATION_OCTET_STREAM_VALUE})
+  public ResponseEntity<ApiResponse<BulkImportResponse>> importUsers(
+      @AuthenticationPrincipal AuthenticatedUser principal,
+      HttpServletRequest request
+  ) throws IOException {
+    log.info("사용자 일괄 등록 요청 - 관리자: {}", principal.getEmail());
+
+    BulkImportResponse result;
+    try (InputStream input = request.getInputStream()) {
+      result = userBulkImportService.importUsers(input);
+    }
+
+    return ResponseEntity.ok(ApiResponse.success("사용자 일괄 등록이 완료되었습니다.", result));
+  }
+}
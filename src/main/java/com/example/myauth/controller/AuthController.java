@@ -8,6 +8,7 @@ import com.example.myauth.dto.SignupRequest;
 import com.example.myauth.dto.TokenRefreshRequest;
 import com.example.myauth.dto.TokenRefreshResponse;
 import com.example.myauth.service.AuthService;
+import com.example.myauth.service.RefreshTokenSingleFlight;
 import com.example.myauth.util.ClientTypeDetector;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
@@ -25,6 +26,7 @@ import org.springframework.web.bind.annotation.*;
 @RequiredArgsConstructor
 public class AuthController {
   private final AuthService authService;
+  private final RefreshTokenSingleFlight refreshTokenSingleFlight;
   private final AppProperties appProperties;
 
   @GetMapping("/health")
@@ -102,14 +104,7 @@ public class AuthController {
       log.info("웹 클라이언트 감지 → Refresh Token을 HTTP-only 쿠키로 설정");
 
       // Refresh Token을 HTTP-only 쿠키로 설정
-      Cookie refreshTokenCookie = new Cookie("refreshToken", loginResponse.getRefreshToken());
-      refreshTokenCookie.setHttpOnly(true);   // JavaScript 접근 불가 (XSS 방어)
-      refreshTokenCookie.setSecure(appProperties.getCookie().isSecure());  // 환경별 동적 설정 (개발: false, 프로덕션: true)
-      log.info("쿠키 Secure 플래그: {}", appProperties.getCookie().isSecure());
-      refreshTokenCookie.setPath("/");        // 모든 경로에서 쿠키 전송
-      refreshTokenCookie.setMaxAge(7 * 24 * 60 * 60); // 7일 (초 단위)
-
-      response.addCookie(refreshTokenCookie);
+      response.addCookie(refreshTokenCookie(loginResponse.getRefreshToken()));
       log.info("Refresh Token을 쿠키에 설정 완료");
 
       // 응답 바디에서 Refresh Token 제거 (쿠키로 전송했으므로)
@@ -139,6 +134,7 @@ public class AuthController {
   @PostMapping("/refresh")
   public ResponseEntity<ApiResponse<TokenRefreshResponse>> refresh(
       HttpServletRequest request,
+      HttpServletResponse response,
       @RequestBody(required = false) @Valid TokenRefreshRequest body
   ) {
     log.info("Access Token 갱신 요청");
@@ -182,13 +178,37 @@ public class AuthController {
     }
 
     // 3️⃣ Refresh Token으로 새 Access Token 발급 (실패 시 예외 던짐)
-    TokenRefreshResponse refreshResponse = authService.refreshAccessToken(refreshToken);
+    // 같은 토큰으로 동시에/직후에 들어온 중복 요청은 첫 요청의 Access Token만 함께 받는다 (Refresh Token은 교체하지 않음)
+    TokenRefreshResponse refreshResponse = refreshTokenSingleFlight.refresh(refreshToken);
+
+    // 4️⃣ Refresh Token이 교체되었으면 웹 클라이언트는 쿠키를 새 토큰으로 바꾼다
+    if (isWebClient && refreshResponse.getRefreshToken() != null) {
+      response.addCookie(refreshTokenCookie(refreshResponse.getRefreshToken()));
+      refreshResponse.setRefreshToken(null);  // 쿠키로 전송했으므로 응답 바디에서 제거
+      log.info("교체된 Refresh Token을 쿠키에 설정 완료");
+    }
 
-    // 4️⃣ 응답 반환
+    // 5️⃣ 응답 반환
     log.info("Access Token 갱신 성공");
     return ResponseEntity.ok(ApiResponse.success("Access Token이 갱신되었습니다", refreshResponse));
   }
 
+  /**
+   * Refresh Token을 담을 HTTP-only 쿠키를 만든다
+   *
+   * @param refreshToken Refresh Token
+   * @return 쿠키
+   */
+  private Cookie refreshTokenCookie(String refreshToken) {
+    Cookie refreshTokenCookie = new Cookie("refreshToken", refreshToken);
+    refreshTokenCookie.setHttpOnly(true);   // JavaScript 접근 불가 (XSS 방어)
+    refreshTokenCookie.setSecure(appProperties.getCookie().isSecure());  // 환경별 동적 설정 (개발: false, 프로덕션: true)
+    log.info("쿠키 Secure 플래그: {}", appProperties.getCookie().isSecure());
+    refreshTokenCookie.setPath("/");        // 모든 경로에서 쿠키 전송
+    refreshTokenCookie.setMaxAge(7 * 24 * 60 * 60); // 7일 (초 단위)
+    return refreshTokenCookie;
+  }
+
   /**
    * HTTP 쿠키에서 Refresh Token을 추출한다
    *
@@ -0,0 +1,72 @@
+package com.example.myauth.controller;
+
+import com.example.myauth.config.JwtKeyRingProperties;
+import com.example.myauth.security.JwtKeyRing;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import tools.jackson.databind.ObjectMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JWKS(JSON Web Key Set) 공개 엔드포인트
+ * 다른 서비스(리소스 서버)가 인증 서버 호출 없이 Access Token 서명을 직접 검증할 수 있도록
+ * 키 링의 공개 키를 RFC 7517 형식으로 제공한다
+ *
+ * 키 목록은 시작 시 고정되므로 응답 JSON과 ETag를 미리 계산해 두고,
+ * Cache-Control/ETag 헤더로 클라이언트와 중간 캐시가 재요청을 최소화하게 한다
+ */
+@Slf4j
+@RestController
+public class JwksController {
+
+  private final String jwksJson;
+  private final String etag;
+  private final CacheControl cacheControl;
+
+  /**
+   * 생성자 - 키 링의 공개 키로 JWKS 응답을 미리 만든다
+   * HS512 모드에서는 공개할 키가 없으므로 빈 키 목록을 반환한다
+   */
+  public JwksController(JwtKeyRing keyRing, JwtKeyRingProperties properties, ObjectMapper objectMapper) {
+    List<Map<String, Object>> jwks = keyRing.getKeys().stream()
+        .map(JwtKeyRing.SigningKey::getJwk)
+        .toList();
+
+    this.jwksJson = objectMapper.writeValueAsString(Map.of("keys", jwks));
+    this.etag = "\"" + DigestUtils.md5DigestAsHex(jwksJson.getBytes(StandardCharsets.UTF_8)) + "\"";
+    this.cacheControl = CacheControl.maxAge(properties.getJwksMaxAge())
+        .cachePublic()
+        .staleWhileRevalidate(properties.getJwksMaxAge())
+        .staleIfError(properties.getJwksMaxAge());
+
+    log.info("JWKS 응답 준비 완료 - 공개 키 {}개", jwks.size());
+  }
+
+  /**
+   * 공개 키 목록 조회
+   * If-None-Match가 현재 ETag와 같으면 본문 없이 304 Not Modified 반환
+   *
+   * GET /.well-known/jwks.json
+   */
+  @GetMapping("/.well-known/jwks.json")
+  public ResponseEntity<String> jwks(WebRequest webRequest) {
+    if (webRequest.checkNotModified(etag)) {
+      return null;  // Spring이 304 응답을 작성함
+    }
+
+    return ResponseEntity.ok()
+        .cacheControl(cacheControl)
+        .eTag(etag)
+        .contentType(MediaType.APPLICATION_JSON)
+        .body(jwksJson);
+  }
+}
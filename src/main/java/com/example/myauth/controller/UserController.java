@@ -2,6 +2,10 @@ package com.example.myauth.controller;
 
 import com.example.myauth.dto.ApiResponse;
 import com.example.myauth.entity.User;
+import com.example.myauth.exception.AccountException;
+import com.example.myauth.repository.UserRepository;
+import com.example.myauth.security.AuthenticatedUser;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
@@ -16,20 +20,28 @@ import java.util.Map;
  */
 @Slf4j
 @RestController
+@RequiredArgsConstructor
 public class UserController {
 
+  private final UserRepository userRepository;
+
   /**
    * 현재 로그인한 사용자 정보 조회
    * JWT Access Token을 통해 인증된 사용자의 전체 정보를 반환
    *
-   * @param user SecurityContext에서 자동으로 주입되는 현재 로그인한 사용자 (JWT 토큰에서 추출됨)
+   * principal은 최소 정보만 담은 스냅샷이므로 프로필 정보는 사용자 ID로 DB에서 조회한다
+   *
+   * @param principal SecurityContext에서 자동으로 주입되는 현재 로그인한 사용자 (JWT 토큰에서 추출됨)
    * @return 사용자 정보를 포함한 ApiResponse
    */
   @GetMapping("/me")
   public ResponseEntity<ApiResponse<Map<String, Object>>> me(
-      @AuthenticationPrincipal User user
+      @AuthenticationPrincipal AuthenticatedUser principal
   ) {
-    log.info("현재 사용자 정보 조회 요청: {}", user.getEmail());
+    log.info("현재 사용자 정보 조회 요청: {}", principal.getEmail());
+
+    User user = userRepository.findById(principal.getId())
+        .orElseThrow(() -> new AccountException("사용자를 찾을 수 없습니다."));
 
     // 사용자 정보를 Map으로 구성 (카카오 OAuth 정보 포함)
     Map<String, Object> userInfo = new HashMap<>();
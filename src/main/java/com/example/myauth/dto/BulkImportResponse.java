@@ -0,0 +1,69 @@
+package com.example.myauth.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 사용자 일괄 등록(NDJSON) 결과 DTO
+ * ApiResponse의 data 필드에 담겨서 반환됨
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkImportResponse {
+  /**
+   * 읽은 행 수 (빈 줄 제외)
+   */
+  private long totalRows;
+
+  /**
+   * 등록된 사용자 수
+   */
+  private long importedRows;
+
+  /**
+   * 실패한 행 수
+   */
+  private long failedRows;
+
+  /**
+   * 처리 시간 (밀리초)
+   */
+  private long elapsedMillis;
+
+  /**
+   * 초당 처리 행 수
+   */
+  private double rowsPerSecond;
+
+  /**
+   * 행별 실패 사유 (최대 app.bulk-import.max-reported-errors건)
+   */
+  private List<RowError> errors;
+
+  /**
+   * 실패 사유를 모두 담지 못했는지 여부
+   */
+  private boolean errorsTruncated;
+
+  /**
+   * 실패한 행 정보
+   */
+  @Data
+  @Builder
+  @NoArgsConstructor
+  @AllArgsConstructor
+  public static class RowError {
+    /** 파일의 행 번호 (1부터) */
+    private long line;
+    /** 정규화된 이메일 (읽을 수 없는 행은 null) */
+    private String email;
+    /** 실패 사유 */
+    private String message;
+  }
+}
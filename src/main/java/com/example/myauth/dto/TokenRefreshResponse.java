@@ -22,8 +22,8 @@ public class TokenRefreshResponse {
 
   /**
    * 새로 발급된 Refresh Token (선택적)
-   * Refresh Token Rotation을 사용하는 경우에만 포함됨
-   * 현재는 사용하지 않으므로 null
+   * Refresh Token Rotation을 사용하는 경우에만 포함됨 (jwt.refresh-token.rotation.enabled)
+   * 웹 클라이언트는 HTTP-only 쿠키로 전달하므로 null
    */
   private String refreshToken;
 }
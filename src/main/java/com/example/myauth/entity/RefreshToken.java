@@ -19,16 +19,30 @@ import java.time.LocalDateTime;
 @Table(name = "refresh_tokens")
 public class RefreshToken {
 
+  /**
+   * 애플리케이션에서 미리 할당하는 ID (pooled sequence, 한 번의 조회로 50개씩 할당)
+   * IDENTITY는 INSERT마다 생성된 키를 받아와야 해서 JDBC 배치를 쓸 수 없으므로 사용하지 않는다
+   * MySQL에는 시퀀스가 없으므로 Hibernate가 refresh_tokens_seq 테이블을 시퀀스로 사용한다
+   */
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "refresh_tokens_seq")
+  @SequenceGenerator(name = "refresh_tokens_seq", sequenceName = "refresh_tokens_seq", allocationSize = 50)
   private Long id;
 
   /**
    * Refresh Token 문자열 (최대 500자)
+   * JWT 형식 토큰만 원문을 저장하며, opaque 토큰은 다이제스트만 저장하므로 null이다
    */
-  @Column(nullable = false, length = 500)
+  @Column(length = 500)
   private String token;
 
+  /**
+   * Refresh Token의 SHA-256 다이제스트 (32바이트, 유니크 인덱스)
+   * 토큰 조회는 이 컬럼의 단일 키 조회로 처리한다 (이전에 저장된 행은 null)
+   */
+  @Column(name = "token_hash", columnDefinition = "BINARY(32)", unique = true)
+  private byte[] tokenHash;
+
   /**
    * 토큰 생성 시간
    */
@@ -1,6 +1,7 @@
 package com.example.myauth.entity;
 
 
+import com.example.myauth.security.UserPrincipalEvictionListener;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.ColumnDefault;
@@ -19,6 +20,7 @@ import java.time.LocalDateTime;
 @Entity
 @DynamicInsert
 @DynamicUpdate
+@EntityListeners(UserPrincipalEvictionListener.class)  // 변경 시 인증 사용자 캐시 무효화
 @Table(name = "users")
 public class User {
   @Id
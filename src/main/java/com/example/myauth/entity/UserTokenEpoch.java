@@ -0,0 +1,32 @@
+package com.example.myauth.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * 사용자별 토큰 폐기 시각 엔티티
+ * not_before 이전에 발급된(iat < not_before) 토큰은 서명이 유효해도 거부한다
+ * 로그아웃, 계정 정지/비활성화, 비밀번호 변경 시 현재 시각으로 갱신된다
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "user_token_epochs")
+public class UserTokenEpoch {
+
+  /**
+   * 사용자 ID (users.id)
+   */
+  @Id
+  @Column(name = "user_id")
+  private Long userId;
+
+  /**
+   * 토큰 폐기 시각 (epoch seconds, JWT iat와 같은 단위)
+   */
+  @Column(name = "not_before", nullable = false)
+  private Long notBefore;
+}
@@ -3,6 +3,7 @@ package com.example.myauth.exception;
 import com.example.myauth.dto.ApiResponse;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.transaction.UnexpectedRollbackException;
@@ -78,6 +79,22 @@ public class GlobalExceptionHandler {
         .status(HttpStatus.BAD_REQUEST)
         .body(ApiResponse.error(ex.getMessage()));
   }
+  /**
+   * 비밀번호 해시 대기열 포화 예외 처리
+   * 로그인/회원가입 폭주로 BCrypt 작업을 받을 수 없을 때 발생 (요청 스레드를 오래 붙잡지 않고 바로 응답)
+   */
+  @ExceptionHandler(PasswordHashingBusyException.class)
+  @SuppressWarnings("NullableProblems")
+  public ResponseEntity<ApiResponse<Void>> handlePasswordHashingBusy(
+      PasswordHashingBusyException ex) {
+    log.warn("비밀번호 해시 대기열 포화 - Retry-After: {}초", ex.getRetryAfterSeconds());
+
+    return ResponseEntity
+        .status(HttpStatus.TOO_MANY_REQUESTS)
+        .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+        .body(ApiResponse.error(ex.getMessage()));
+  }
+
   /**
    * Bean Validation 검증 실패 시 처리
    * Controller에서 @Valid 어노테이션으로 검증 실패한 경우 발생하는 예외를 처리한다
@@ -0,0 +1,29 @@
+package com.example.myauth.exception;
+
+import lombok.Getter;
+
+/**
+ * 비밀번호 해시 작업 대기열이 가득 찼을 때 발생하는 예외
+ * 로그인/회원가입 폭주 시 요청 스레드가 오래 대기하지 않도록 즉시 거부하며, 429 응답으로 변환된다
+ */
+@Getter
+public class PasswordHashingBusyException extends RuntimeException {
+
+  /**
+   * 클라이언트가 다시 시도하기까지 기다릴 시간 (초, Retry-After 헤더 값)
+   */
+  private final long retryAfterSeconds;
+
+  public PasswordHashingBusyException(String message, long retryAfterSeconds) {
+    super(message);
+    this.retryAfterSeconds = retryAfterSeconds;
+  }
+
+  /**
+   * 폭주 시 대량으로 발생하므로 스택 트레이스를 만들지 않는다
+   */
+  @Override
+  public synchronized Throwable fillInStackTrace() {
+    return this;
+  }
+}
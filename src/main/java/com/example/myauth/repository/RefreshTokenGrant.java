@@ -0,0 +1,32 @@
+package com.example.myauth.repository;
+
+import com.example.myauth.entity.User;
+
+import java.time.LocalDateTime;
+
+/**
+ * Access Token 갱신에 필요한 Refresh Token 상태와 소유자 정보 (JPQL 생성자 프로젝션)
+ *
+ * refresh_tokens와 users를 한 번의 JOIN 조회로 읽어, 토큰 행 조회 후 지연 로딩으로
+ * users를 다시 조회하지 않도록 한다 (엔티티가 아니므로 영속성 컨텍스트에 올라가지 않음)
+ *
+ * @param tokenId refresh_tokens.id
+ * @param expiresAt 만료 시각
+ * @param revoked 취소 여부
+ * @param userId 사용자 ID
+ * @param email 사용자 이메일
+ * @param role 사용자 권한
+ * @param status 계정 상태
+ * @param active 계정 활성화 여부
+ */
+public record RefreshTokenGrant(
+    Long tokenId,
+    LocalDateTime expiresAt,
+    Boolean revoked,
+    Long userId,
+    String email,
+    User.Role role,
+    User.Status status,
+    Boolean active
+) {
+}
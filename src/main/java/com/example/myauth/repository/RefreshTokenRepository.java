@@ -22,11 +22,47 @@ public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long
 
   /**
    * 토큰 문자열로 Refresh Token을 조회한다
+   * token 컬럼에는 인덱스가 없으므로 전체 스캔이다 → findByTokenHash 사용
    * @param token 토큰 문자열
    * @return RefreshToken (Optional)
    */
   Optional<RefreshToken> findByToken(String token);
 
+  /**
+   * 토큰 다이제스트로 Refresh Token을 조회한다 (token_hash 유니크 인덱스 단일 조회)
+   * @param tokenHash 토큰 문자열의 SHA-256 다이제스트 (32바이트)
+   * @return RefreshToken (Optional)
+   */
+  Optional<RefreshToken> findByTokenHash(byte[] tokenHash);
+
+  /**
+   * 토큰 다이제스트로 존재 여부를 확인한다 (token_hash 유니크 인덱스 단일 조회)
+   * @param tokenHash 토큰 문자열의 SHA-256 다이제스트 (32바이트)
+   * @return 존재하면 true
+   */
+  boolean existsByTokenHash(byte[] tokenHash);
+
+  /**
+   * 토큰 다이제스트로 Refresh Token 상태와 소유자 정보를 한 번에 조회한다 (Access Token 갱신용)
+   * @param tokenHash 토큰 문자열의 SHA-256 다이제스트 (32바이트)
+   * @return RefreshTokenGrant (Optional)
+   */
+  @Query("SELECT new com.example.myauth.repository.RefreshTokenGrant("
+      + "rt.id, rt.expiresAt, rt.isRevoked, u.id, u.email, u.role, u.status, u.isActive) "
+      + "FROM RefreshToken rt JOIN rt.user u WHERE rt.tokenHash = :tokenHash")
+  Optional<RefreshTokenGrant> findGrantByTokenHash(@Param("tokenHash") byte[] tokenHash);
+
+  /**
+   * 토큰 문자열로 Refresh Token 상태와 소유자 정보를 한 번에 조회한다
+   * token_hash 백필(RefreshTokenHashBackfill)이 끝나기 전까지만 사용하는 호환 경로 (전체 스캔)
+   * @param token 토큰 문자열
+   * @return RefreshTokenGrant (Optional)
+   */
+  @Query("SELECT new com.example.myauth.repository.RefreshTokenGrant("
+      + "rt.id, rt.expiresAt, rt.isRevoked, u.id, u.email, u.role, u.status, u.isActive) "
+      + "FROM RefreshToken rt JOIN rt.user u WHERE rt.token = :token")
+  Optional<RefreshTokenGrant> findGrantByToken(@Param("token") String token);
+
   /**
    * 사용자의 모든 Refresh Token을 조회한다
    * @param user 사용자
@@ -59,6 +95,16 @@ public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long
   @Query("UPDATE RefreshToken rt SET rt.isRevoked = true WHERE rt.user = :user AND rt.isRevoked = false")
   int revokeAllByUser(@Param("user") User user);
 
+  /**
+   * Refresh Token Rotation 시 기존 토큰을 선점한다 (조건부 UPDATE 한 번으로 확인 + 취소)
+   * 동시에 같은 토큰으로 갱신하면 한 요청만 1을 받는다
+   * @param id refresh_tokens.id
+   * @return 선점했으면 1, 이미 취소된 토큰이면 0
+   */
+  @Modifying
+  @Query("UPDATE RefreshToken rt SET rt.isRevoked = true WHERE rt.id = :id AND rt.isRevoked = false")
+  int claimForRotation(@Param("id") Long id);
+
   /**
    * 사용자 ID로 모든 Refresh Token을 취소한다
    * @param userId 사용자 ID
@@ -77,6 +123,15 @@ public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long
   @Query("DELETE FROM RefreshToken rt WHERE rt.user.email = :email")
   int deleteByUserEmail(@Param("email") String email);
 
+  /**
+   * 사용자 ID로 모든 Refresh Token을 삭제한다 (로그아웃 시 사용)
+   * @param userId 사용자 ID
+   * @return 삭제된 행 수
+   */
+  @Modifying
+  @Query("DELETE FROM RefreshToken rt WHERE rt.user.id = :userId")
+  int deleteByUserId(@Param("userId") Long userId);
+
   /**
    * 만료된 토큰을 삭제한다 (배치 작업에 사용)
    * @param now 현재 시간
@@ -96,6 +151,7 @@ public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long
 
   /**
    * 토큰 존재 여부 확인
+   * token 컬럼에는 인덱스가 없으므로 전체 스캔이다 → existsByTokenHash 사용
    * @param token 토큰 문자열
    * @return 존재하면 true
    */
@@ -2,8 +2,14 @@ package com.example.myauth.repository;
 
 import com.example.myauth.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 /**
@@ -33,4 +39,34 @@ public interface UserRepository extends JpaRepository<User, Long> {
    * @return 사용자 정보 (Optional)
    */
   Optional<User> findByProviderAndProviderId(String provider, String providerId);
+
+  /**
+   * 비밀번호 해시를 같은 비밀번호의 새 해시(높은 비용/다른 알고리즘)로 바꾼다
+   * 비밀번호 변경이 아니므로 엔티티 변경 이벤트(토큰 폐기)를 거치지 않는 벌크 UPDATE를 사용하며,
+   * 그 사이에 비밀번호가 바뀌었으면 갱신하지 않는다
+   *
+   * @param userId 사용자 ID
+   * @param currentHash 현재 저장된 해시
+   * @param upgradedHash 새 해시
+   * @return 변경된 행 수
+   */
+  @Modifying
+  @Transactional
+  @Query("UPDATE User u SET u.password = :upgradedHash WHERE u.id = :userId AND u.password = :currentHash")
+  int upgradePasswordHash(@Param("userId") Long userId,
+                          @Param("currentHash") String currentHash,
+                          @Param("upgradedHash") String upgradedHash);
+
+  /**
+   * 계정 잠금 시각을 기록한다
+   * 로그인 실패로 호출한 트랜잭션이 롤백되어도 잠금은 유지되어야 하므로 별개로 즉시 커밋한다
+   *
+   * @param userId 사용자 ID
+   * @param lockedUntil 잠금 해제 시각
+   * @return 변경된 행 수
+   */
+  @Modifying
+  @Transactional(propagation = Propagation.REQUIRES_NEW)
+  @Query("UPDATE User u SET u.accountLockedUntil = :lockedUntil WHERE u.id = :userId")
+  int lockUntil(@Param("userId") Long userId, @Param("lockedUntil") LocalDateTime lockedUntil);
 }
@@ -0,0 +1,42 @@
+package com.example.myauth.repository;
+
+import com.example.myauth.entity.UserTokenEpoch;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * 사용자별 토큰 폐기 시각 Repository
+ */
+@Repository
+@SuppressWarnings("NullableProblems")  // JpaRepository 제네릭 타입은 항상 non-null
+public interface UserTokenEpochRepository extends JpaRepository<UserTokenEpoch, Long> {
+
+  /**
+   * 사용자의 토큰 폐기 시각을 갱신한다 (기존 값보다 큰 경우에만)
+   * 호출한 트랜잭션과 별개로 즉시 커밋한다 (커밋 후 콜백에서도 호출되므로)
+   *
+   * @param userId 사용자 ID
+   * @param notBefore 폐기 시각 (epoch seconds)
+   * @return 변경된 행 수
+   */
+  @Modifying
+  @Transactional(propagation = Propagation.REQUIRES_NEW)
+  @Query(value = "INSERT INTO user_token_epochs (user_id, not_before) VALUES (:userId, :notBefore) "
+      + "ON DUPLICATE KEY UPDATE not_before = GREATEST(not_before, VALUES(not_before))", nativeQuery = true)
+  int bump(@Param("userId") Long userId, @Param("notBefore") long notBefore);
+
+  /**
+   * 주어진 시각 이후의 폐기 기록을 조회한다 (시작 시 적재, 다른 인스턴스 변경 반영)
+   *
+   * @param notBefore 기준 시각 (epoch seconds)
+   * @return 폐기 기록 목록
+   */
+  List<UserTokenEpoch> findByNotBeforeGreaterThanEqual(Long notBefore);
+}
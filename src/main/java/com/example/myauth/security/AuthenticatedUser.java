@@ -0,0 +1,63 @@
+package com.example.myauth.security;
+
+import com.example.myauth.entity.User;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.security.Principal;
+
+/**
+ * 인증된 사용자의 불변 스냅샷 (SecurityContext의 principal)
+ *
+ * JWT 인증 필터는 요청마다 User 엔티티 전체를 조회하는 대신
+ * 권한 판단에 필요한 최소 정보(id, email, role, status, isActive)만 담은 이 객체를 principal로 사용한다
+ * AuthenticatedUserCache에 보관되어 여러 요청이 같은 인스턴스를 공유하므로 변경할 수 없어야 한다
+ */
+@Getter
+@RequiredArgsConstructor
+public final class AuthenticatedUser implements Principal {
+
+  /** 사용자 ID */
+  private final Long id;
+
+  /** 이메일 */
+  private final String email;
+
+  /** 역할 */
+  private final User.Role role;
+
+  /** 계정 상태 */
+  private final User.Status status;
+
+  /** 활성화 여부 */
+  private final boolean active;
+
+  /**
+   * User 엔티티에서 스냅샷을 만든다
+   *
+   * @param user 사용자 엔티티
+   * @return 인증 사용자 스냅샷
+   */
+  public static AuthenticatedUser from(User user) {
+    return new AuthenticatedUser(
+        user.getId(),
+        user.getEmail(),
+        user.getRole(),
+        user.getStatus(),
+        Boolean.TRUE.equals(user.getIsActive())
+    );
+  }
+
+  /**
+   * Authentication.getName() 값 (이메일)
+   */
+  @Override
+  public String getName() {
+    return email;
+  }
+
+  @Override
+  public String toString() {
+    return "AuthenticatedUser{id=" + id + ", role=" + role + ", status=" + status + "}";
+  }
+}
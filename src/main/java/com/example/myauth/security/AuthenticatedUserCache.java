@@ -0,0 +1,94 @@
+package com.example.myauth.security;
+
+import com.example.myauth.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 사용자 ID → 인증 사용자 스냅샷(AuthenticatedUser) 캐시
+ *
+ * JWT 인증 필터가 요청마다 userRepository.findById()로 User 행 전체를 읽던 것을
+ * 짧은 TTL의 bounded cache 조회로 대체한다
+ *
+ * - 크기 제한: Caffeine(W-TinyLFU) 기반 (jwt.principal-cache.maximum-size)
+ * - TTL: 저장 후 jwt.principal-cache.ttl이 지나면 다시 DB에서 읽는다 (다른 인스턴스에서의 변경 반영 상한)
+ * - 즉시 무효화: User 엔티티가 변경/삭제되면 UserPrincipalEvictionListener가 해당 항목을 제거한다
+ * - 존재하지 않는 사용자는 캐시하지 않는다
+ * - 통계: cache.* 메트릭 (cache=auth.principal)
+ */
+@Slf4j
+@Component
+public class AuthenticatedUserCache {
+
+  private final boolean enabled;
+  private final UserRepository userRepository;
+  private final Cache<Long, AuthenticatedUser> cache;
+
+  /**
+   * 생성자 - application.yaml의 jwt.principal-cache 설정을 주입받는다
+   */
+  public AuthenticatedUserCache(
+      @Value("${jwt.principal-cache.enabled:true}") boolean enabled,
+      @Value("${jwt.principal-cache.maximum-size:10000}") long maximumSize,
+      @Value("${jwt.principal-cache.ttl:30s}") Duration ttl,
+      UserRepository userRepository,
+      MeterRegistry meterRegistry
+  ) {
+    log.debug("인증 사용자 캐시 설정 - 사용: {}, 최대 크기: {}, TTL: {}", enabled, maximumSize, ttl);
+
+    this.enabled = enabled;
+    this.userRepository = userRepository;
+    this.cache = Caffeine.newBuilder()
+        .maximumSize(maximumSize)
+        .expireAfterWrite(ttl)
+        .recordStats()
+        .build();
+
+    CaffeineCacheMetrics.monitor(meterRegistry, cache, "auth.principal");
+  }
+
+  /**
+   * 사용자 스냅샷을 조회한다 (캐시 미스 시 DB 조회 후 저장)
+   *
+   * @param userId 사용자 ID
+   * @return 인증 사용자 스냅샷 (사용자가 없으면 null)
+   */
+  public AuthenticatedUser get(Long userId) {
+    if (!enabled) {
+      return load(userId);
+    }
+    return cache.get(userId, this::load);
+  }
+
+  /**
+   * 사용자 항목을 제거한다 (상태/역할 변경, 삭제 시)
+   *
+   * @param userId 사용자 ID
+   */
+  public void evict(Long userId) {
+    if (userId != null) {
+      cache.invalidate(userId);
+      log.debug("인증 사용자 캐시 제거: userId={}", userId);
+    }
+  }
+
+  /**
+   * 캐시를 모두 비운다 (운영 작업용)
+   */
+  public void invalidateAll() {
+    cache.invalidateAll();
+  }
+
+  private AuthenticatedUser load(Long userId) {
+    return userRepository.findById(userId)
+        .map(AuthenticatedUser::from)
+        .orElse(null);
+  }
+}
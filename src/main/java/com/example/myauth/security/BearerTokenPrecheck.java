@@ -0,0 +1,157 @@
+package com.example.myauth.security;
+
+/**
+ * Bearer 토큰 구조 사전 검사
+ *
+ * 봇이나 잘못 구현된 클라이언트가 보내는 형식이 맞지 않는 토큰을 서명 검증/jjwt 파싱 전에 걸러낸다
+ * (jjwt는 실패할 때마다 스택 트레이스가 포함된 예외를 만든다)
+ * - 길이 범위, 세그먼트 수(header.payload.signature), Base64url 문자 집합
+ * - 헤더/페이로드가 JSON 객체로 디코딩되는지 (첫 문자만 확인)
+ * - 페이로드의 exp를 서명 확인 없이 읽어 이미 만료된 토큰인지
+ *
+ * exp는 서명을 확인하기 전의 값이므로 거부 사유(만료 응답)를 고르는 데만 사용하고 인증에는 사용하지 않는다
+ * 통과한 토큰은 기존과 같이 서명 검증을 거친다
+ */
+final class BearerTokenPrecheck {
+
+  /** 사전 검사 결과 */
+  enum Verdict {
+    /** 형식상 문제 없음 - 서명 검증 진행 */
+    WELL_FORMED,
+    /** JWS Compact 형식이 아님 */
+    MALFORMED,
+    /** exp가 이미 지남 (서명 미확인) */
+    EXPIRED
+  }
+
+  /** 가장 짧은 정상 토큰보다 충분히 작은 하한 */
+  static final int MIN_TOKEN_LENGTH = 32;
+
+  /** 발급하는 토큰(수백 자)보다 충분히 큰 상한 - 이보다 긴 헤더는 디코딩하지 않는다 */
+  static final int MAX_TOKEN_LENGTH = 4096;
+
+  private static final byte[] EXP_KEY = {'"', 'e', 'x', 'p', '"'};
+
+  private static final ThreadLocal<byte[]> PAYLOAD_BUFFERS =
+      ThreadLocal.withInitial(() -> new byte[MAX_TOKEN_LENGTH * 3 / 4]);
+
+  private BearerTokenPrecheck() {
+  }
+
+  /**
+   * 토큰 구조를 검사한다 (할당 없음)
+   *
+   * @param token Bearer 토큰 문자열
+   * @param nowMillis 현재 시각 (epoch milliseconds)
+   * @return 검사 결과
+   */
+  static Verdict inspect(String token, long nowMillis) {
+    int length = token.length();
+    if (length < MIN_TOKEN_LENGTH || length > MAX_TOKEN_LENGTH) {
+      return Verdict.MALFORMED;
+    }
+
+    // 1️⃣ 점 두 개로 나뉜 비어 있지 않은 Base64url 세그먼트 세 개
+    int firstDot = -1;
+    int secondDot = -1;
+    for (int i = 0; i < length; i++) {
+      char c = token.charAt(i);
+      if (c == '.') {
+        if (firstDot < 0) {
+          firstDot = i;
+        } else if (secondDot < 0) {
+          secondDot = i;
+        } else {
+          return Verdict.MALFORMED;
+        }
+      } else if (JwsCodec.base64UrlValue(c) < 0) {
+        return Verdict.MALFORMED;
+      }
+    }
+    if (firstDot <= 0 || secondDot <= firstDot + 1 || secondDot == length - 1
+        || !validSegmentLength(firstDot)
+        || !validSegmentLength(secondDot - firstDot - 1)
+        || !validSegmentLength(length - secondDot - 1)) {
+      return Verdict.MALFORMED;
+    }
+
+    // 2️⃣ 헤더는 '{'로 시작하는 JSON 객체 (앞의 한 그룹만 디코딩)
+    if (firstDecodedByte(token, 0) != '{') {
+      return Verdict.MALFORMED;
+    }
+
+    // 3️⃣ 페이로드를 디코딩하여 exp 확인
+    byte[] payload = PAYLOAD_BUFFERS.get();
+    int payloadLength = decode(token, firstDot + 1, secondDot, payload);
+    int pos = JwsCodec.skipWhitespace(payload, 0, payloadLength);
+    if (pos >= payloadLength || payload[pos] != '{') {
+      return Verdict.MALFORMED;
+    }
+    long exp = peekExp(payload, payloadLength);
+    if (exp >= 0 && exp <= nowMillis / 1000) {
+      return Verdict.EXPIRED;
+    }
+    return Verdict.WELL_FORMED;
+  }
+
+  /**
+   * 패딩 없는 Base64url 세그먼트 길이 (4로 나눈 나머지가 1이면 디코딩할 수 없음)
+   */
+  private static boolean validSegmentLength(int length) {
+    return length > 0 && length % 4 != 1;
+  }
+
+  private static int firstDecodedByte(String token, int start) {
+    return (JwsCodec.base64UrlValue(token.charAt(start)) << 2) | (JwsCodec.base64UrlValue(token.charAt(start + 1)) >> 4);
+  }
+
+  /**
+   * 문자 집합과 길이를 이미 확인한 Base64url 구간을 out에 디코딩한다
+   *
+   * @return 디코딩된 바이트 수
+   */
+  private static int decode(String s, int start, int end, byte[] out) {
+    int o = 0;
+    int bits = 0;
+    int bitCount = 0;
+    for (int i = start; i < end; i++) {
+      bits = (bits << 6) | JwsCodec.base64UrlValue(s.charAt(i));
+      bitCount += 6;
+      if (bitCount >= 8) {
+        bitCount -= 8;
+        out[o++] = (byte) (bits >> bitCount);
+      }
+    }
+    return o;
+  }
+
+  /**
+   * "exp": 뒤의 정수를 읽는다
+   *
+   * @return exp (epoch seconds), 없거나 정수가 아니면 -1
+   */
+  private static long peekExp(byte[] json, int length) {
+    outer:
+    for (int i = 0; i + EXP_KEY.length < length; i++) {
+      for (int j = 0; j < EXP_KEY.length; j++) {
+        if (json[i + j] != EXP_KEY[j]) {
+          continue outer;
+        }
+      }
+      int pos = JwsCodec.skipWhitespace(json, i + EXP_KEY.length, length);
+      if (pos >= length || json[pos] != ':') {
+        continue;
+      }
+      pos = JwsCodec.skipWhitespace(json, pos + 1, length);
+
+      long value = 0;
+      int digits = 0;
+      while (pos < length && json[pos] >= '0' && json[pos] <= '9' && digits < 18) {
+        value = value * 10 + (json[pos++] - '0');
+        digits++;
+      }
+      return digits > 0 ? value : -1;
+    }
+    return -1;
+  }
+}
@@ -13,7 +13,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Spring Security 로그아웃 핸들러
- * 로그아웃 시 Refresh Token을 DB에서 삭제하여 완전히 revoke 처리
+ * 로그아웃 시 Refresh Token을 DB에서 삭제하고 발급된 Access Token을 폐기하여 완전히 revoke 처리
  */
 @Slf4j
 @Component
@@ -21,14 +21,17 @@ import org.springframework.transaction.annotation.Transactional;
 public class CustomLogoutHandler implements LogoutHandler {
 
   private final RefreshTokenRepository refreshTokenRepository;
+  private final RefreshTokenIndex refreshTokenIndex;
   private final JwtTokenProvider jwtTokenProvider;
+  private final TokenRevocationService tokenRevocationService;
 
   /**
    * 로그아웃 처리
    * 1. Authorization 헤더 또는 쿠키에서 Access Token 추출
-   * 2. Access Token에서 사용자 이메일 추출
+   * 2. Access Token에서 사용자 ID 추출 (standard/compact 프로필 공통)
    * 3. 해당 사용자의 모든 Refresh Token을 DB에서 삭제
-   * 4. 쿠키가 있다면 제거 (웹 클라이언트)
+   * 4. 해당 사용자에게 지금까지 발급된 Access Token 폐기
+   * 5. 쿠키가 있다면 제거 (웹 클라이언트)
    *
    * @param request HTTP 요청 객체
    * @param response HTTP 응답 객체
@@ -47,7 +50,7 @@ public class CustomLogoutHandler implements LogoutHandler {
       return;
     }
 
-    // 2️⃣ Access Token 검증 및 이메일 추출
+    // 2️⃣ Access Token 검증 및 사용자 ID 추출
     try {
       if (!jwtTokenProvider.validateToken(accessToken)) {
         log.warn("유효하지 않은 Access Token으로 로그아웃 시도");
@@ -56,14 +59,19 @@ public class CustomLogoutHandler implements LogoutHandler {
         return;
       }
 
-      String email = jwtTokenProvider.getEmailFromToken(accessToken);
-      log.info("로그아웃 요청: {}", email);
+      Long userId = jwtTokenProvider.getUserIdFromToken(accessToken);
+      log.info("로그아웃 요청: userId={}", userId);
 
       // 3️⃣ 해당 사용자의 모든 Refresh Token을 DB에서 삭제
-      int deletedCount = refreshTokenRepository.deleteByUserEmail(email);
-      log.info("Refresh Token 삭제 완료: {} (삭제된 토큰 수: {})", email, deletedCount);
+      // compact 프로필 토큰에는 이메일이 없으므로 사용자 ID로 삭제한다
+      int deletedCount = userId != null ? refreshTokenRepository.deleteByUserId(userId) : 0;
+      log.info("Refresh Token 삭제 완료: userId={} (삭제된 토큰 수: {})", userId, deletedCount);
+      refreshTokenIndex.invalidateUser(userId);  // 메모리 색인에서도 무효화
 
-      // 4️⃣ 쿠키 삭제 (웹 클라이언트)
+      // 4️⃣ 발급된 Access Token 폐기 (만료 전이라도 필터에서 거부됨)
+      tokenRevocationService.revokeAll(userId);
+
+      // 5️⃣ 쿠키 삭제 (웹 클라이언트)
       clearRefreshTokenCookie(response);
 
     } catch (Exception e) {
@@ -5,6 +5,7 @@ import com.example.myauth.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
@@ -15,11 +16,14 @@ import org.springframework.stereotype.Service;
  *
  * UserDetailsService는 Spring Security의 핵심 인터페이스로,
  * username(우리는 email)을 받아서 UserDetails 객체를 반환하는 역할을 한다
+ *
+ * UserDetailsPasswordService도 구현하여, AuthenticationManager(loginEx)로 로그인할 때
+ * 저장된 해시가 현재 설정보다 약하면 DaoAuthenticationProvider가 새 해시로 갱신하게 한다
  */
 @Slf4j
 @Service
 @RequiredArgsConstructor
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
   private final UserRepository userRepository;
 
@@ -49,6 +53,25 @@ public class CustomUserDetailsService implements UserDetailsService {
     return new CustomUserDetails(user);
   }
 
+  /**
+   * 로그인 성공 후 약한 해시를 새 해시로 바꾼다 (DaoAuthenticationProvider가 호출)
+   * User 엔티티를 수정하지 않고 벌크 UPDATE를 사용하여 비밀번호 변경으로 인한 토큰 폐기가 일어나지 않게 한다
+   *
+   * @param user 인증된 사용자
+   * @param newPassword 새 해시 ({id} 접두사 포함)
+   * @return 인증 결과에 사용할 UserDetails
+   */
+  @Override
+  public UserDetails updatePassword(UserDetails user, String newPassword) {
+    if (user instanceof CustomUserDetails customUserDetails) {
+      Long userId = customUserDetails.getUser().getId();
+      if (userRepository.upgradePasswordHash(userId, user.getPassword(), newPassword) > 0) {
+        log.info("비밀번호 해시 갱신 (loginEx): userId={}", userId);
+      }
+    }
+    return user;
+  }
+
   /**
    * ID로 사용자를 로드하는 추가 메서드
    * JWT 필터 등에서 userId로 사용자를 조회할 때 사용한다
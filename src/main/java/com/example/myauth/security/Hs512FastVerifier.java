@@ -0,0 +1,400 @@
+package com.example.myauth.security;
+
+import com.example.myauth.entity.User;
+import io.jsonwebtoken.security.SignatureException;
+
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+
+/**
+ * 우리가 직접 발급한 HS512 토큰 전용 고속 검증기
+ *
+ * jjwt 파서는 범용 구현이라 토큰마다 문자열 분할, Base64 디코딩 결과 배열, 헤더/클레임 Map,
+ * Jackson 파싱 객체를 새로 만든다. 이 검증기는 헤더가 {"alg":"HS512"}로 고정된 우리 토큰만 처리하며
+ * - 문자열을 잘라내지 않고 인덱스로만 세그먼트를 구분하고
+ * - 스레드별로 복제한 Mac과 재사용 버퍼로 서명을 계산한 뒤 상수 시간 비교를 하고
+ * - 우리가 발급하는 고정 클레임(sub, userId, type, role, status, jti, iat, exp / compact 프로필은 type 대신 t)만 직접 읽는다
+ *   (jti는 Refresh Token을 구분하기 위한 난수라 읽지 않고 건너뜀)
+ *
+ * 조금이라도 예상과 다른 토큰(다른 헤더, 알 수 없는 클레임, 이스케이프 문자, 만료 등)은 null을 반환하여
+ * 호출자가 jjwt로 다시 처리하게 한다. 따라서 예외 종류와 메시지는 기존 경로와 동일하게 유지된다
+ */
+final class Hs512FastVerifier {
+
+  /** HS512 서명 길이 (64바이트 → Base64url 86자) */
+  private static final int SIGNATURE_LENGTH = 64;
+  private static final int SIGNATURE_SEGMENT_LENGTH = 86;
+
+  /** 고속 경로에서 처리할 최대 페이로드 세그먼트 길이 (이보다 길면 jjwt로 처리) */
+  private static final int MAX_PAYLOAD_SEGMENT_LENGTH = 1024;
+
+  private static final byte[] KEY_SUB = ascii("sub");
+  private static final byte[] KEY_USER_ID = ascii("userId");
+  private static final byte[] KEY_TYPE = ascii("type");
+  private static final byte[] KEY_TYPE_CODE = ascii("t");
+  private static final byte[] KEY_ROLE = ascii("role");
+  private static final byte[] KEY_STATUS = ascii("status");
+  private static final byte[] KEY_JTI = ascii("jti");
+  private static final byte[] KEY_IAT = ascii("iat");
+  private static final byte[] KEY_EXP = ascii("exp");
+  private static final byte[] TYPE_ACCESS = ascii("access");
+  private static final byte[] TYPE_REFRESH = ascii("refresh");
+  private static final byte[] TYPE_CODE_ACCESS = ascii(JwtClaims.COMPACT_ACCESS);
+  private static final byte[] TYPE_CODE_REFRESH = ascii(JwtClaims.COMPACT_REFRESH);
+
+  private final ThreadLocal<Mac> macs;
+  private final ThreadLocal<Buffers> buffers = ThreadLocal.withInitial(Buffers::new);
+
+  /**
+   * 생성자 - 초기화된 Mac 원본을 만들어 두고 스레드별로 복제해 사용한다
+   *
+   * @param secretKey HS512 비밀 키
+   */
+  Hs512FastVerifier(SecretKey secretKey) {
+    this.macs = JwsCodec.threadLocalMacs(secretKey);
+  }
+
+  /**
+   * 토큰을 검증하고 클레임을 반환한다
+   *
+   * @param token JWT 토큰
+   * @return 검증된 클레임, 고속 경로로 처리할 수 없는 토큰이면 null (jjwt로 다시 처리해야 함)
+   * @throws SignatureException 헤더/형식은 정상이지만 서명이 일치하지 않는 경우
+   */
+  JwtClaims verify(String token) {
+    int length = token.length();
+    int headerLength = JwsCodec.HS512_HEADER_SEGMENT.length();
+
+    // 1️⃣ 세그먼트 구분 (substring 없이 인덱스만 계산)
+    if (length <= headerLength + 1 + SIGNATURE_SEGMENT_LENGTH + 1
+        || !token.startsWith(JwsCodec.HS512_HEADER_SEGMENT)
+        || token.charAt(headerLength) != '.') {
+      return null;
+    }
+    int signatureDot = length - SIGNATURE_SEGMENT_LENGTH - 1;
+    if (token.charAt(signatureDot) != '.') {
+      return null;
+    }
+    int payloadStart = headerLength + 1;
+    int payloadLength = signatureDot - payloadStart;
+    if (payloadLength <= 0 || payloadLength > MAX_PAYLOAD_SEGMENT_LENGTH) {
+      return null;
+    }
+
+    Buffers buf = buffers.get();
+
+    // 2️⃣ 서명 대상(header.payload)을 ASCII 바이트로 복사하여 HMAC 계산
+    byte[] signingInput = buf.signingInput;
+    for (int i = 0; i < signatureDot; i++) {
+      char c = token.charAt(i);
+      if (c > 0x7F) {
+        return null;
+      }
+      signingInput[i] = (byte) c;
+    }
+    Mac mac = macs.get();
+    mac.update(signingInput, 0, signatureDot);
+    try {
+      mac.doFinal(buf.expectedSignature, 0);
+    } catch (GeneralSecurityException e) {
+      return null;
+    }
+
+    // 3️⃣ 전달된 서명 디코딩 후 상수 시간 비교
+    int signatureLength = decodeBase64Url(token, signatureDot + 1, length, buf.actualSignature);
+    if (signatureLength != SIGNATURE_LENGTH) {
+      return null;
+    }
+    if (!constantTimeEquals(buf.expectedSignature, buf.actualSignature, SIGNATURE_LENGTH)) {
+      throw new SignatureException("JWT signature does not match locally computed signature.");
+    }
+
+    // 4️⃣ 페이로드 디코딩 후 고정 클레임만 읽기
+    int payloadBytes = decodeBase64Url(token, payloadStart, signatureDot, buf.payload);
+    if (payloadBytes < 0) {
+      return null;
+    }
+    JwtClaims claims = readClaims(buf.payload, payloadBytes);
+    if (claims == null) {
+      return null;
+    }
+
+    // 5️⃣ 만료된 토큰은 jjwt가 ExpiredJwtException(클레임 포함)을 만들도록 넘긴다
+    if (claims.getExpiresAt() <= System.currentTimeMillis()) {
+      return null;
+    }
+    return claims;
+  }
+
+  // ----- 페이로드 파싱 -----
+
+  /**
+   * 평평한 JSON 객체에서 고정 클레임만 읽는다
+   * 알 수 없는 키, 중복 키, 이스케이프 문자열, 소수/지수 숫자가 있으면 null
+   */
+  private static JwtClaims readClaims(byte[] json, int length) {
+    String subject = null;
+    Long userId = null;
+    String type = null;
+    String typeCode = null;
+    User.Role role = null;
+    User.Status status = null;
+    long issuedAt = -1;
+    long expiresAt = -1;
+    boolean tokenIdSeen = false;
+
+    int pos = JwsCodec.skipWhitespace(json, 0, length);
+    if (pos >= length || json[pos] != '{') {
+      return null;
+    }
+    pos = JwsCodec.skipWhitespace(json, pos + 1, length);
+
+    while (pos < length && json[pos] != '}') {
+      // 키
+      if (json[pos] != '"') {
+        return null;
+      }
+      int keyStart = pos + 1;
+      int keyEnd = findStringEnd(json, keyStart, length);
+      if (keyEnd < 0) {
+        return null;
+      }
+      pos = JwsCodec.skipWhitespace(json, keyEnd + 1, length);
+      if (pos >= length || json[pos] != ':') {
+        return null;
+      }
+      pos = JwsCodec.skipWhitespace(json, pos + 1, length);
+      if (pos >= length) {
+        return null;
+      }
+
+      // 값
+      if (json[pos] == '"') {
+        int valueStart = pos + 1;
+        int valueEnd = findStringEnd(json, valueStart, length);
+        if (valueEnd < 0) {
+          return null;
+        }
+        if (matches(json, keyStart, keyEnd, KEY_SUB) && subject == null) {
+          subject = new String(json, valueStart, valueEnd - valueStart, StandardCharsets.UTF_8);
+        } else if (matches(json, keyStart, keyEnd, KEY_TYPE) && type == null) {
+          type = internType(json, valueStart, valueEnd);
+          if (type == null) {
+            return null;
+          }
+        } else if (matches(json, keyStart, keyEnd, KEY_ROLE) && role == null) {
+          role = JwtClaims.parseRole(new String(json, valueStart, valueEnd - valueStart, StandardCharsets.US_ASCII));
+          if (role == null) {
+            return null;
+          }
+        } else if (matches(json, keyStart, keyEnd, KEY_STATUS) && status == null) {
+          status = JwtClaims.parseStatus(new String(json, valueStart, valueEnd - valueStart, StandardCharsets.US_ASCII));
+          if (status == null) {
+            return null;
+          }
+        } else if (matches(json, keyStart, keyEnd, KEY_TYPE_CODE) && typeCode == null) {
+          typeCode = internTypeCode(json, valueStart, valueEnd);
+          if (typeCode == null) {
+            return null;
+          }
+        } else if (matches(json, keyStart, keyEnd, KEY_JTI) && !tokenIdSeen) {
+          tokenIdSeen = true;
+        } else {
+          return null;
+        }
+        pos = valueEnd + 1;
+      } else {
+        int numberEnd = findNumberEnd(json, pos, length);
+        if (numberEnd < 0) {
+          return null;
+        }
+        long value = parseLong(json, pos, numberEnd);
+        if (matches(json, keyStart, keyEnd, KEY_USER_ID) && userId == null) {
+          userId = value;
+        } else if (matches(json, keyStart, keyEnd, KEY_IAT) && issuedAt < 0) {
+          issuedAt = value;
+        } else if (matches(json, keyStart, keyEnd, KEY_EXP) && expiresAt < 0) {
+          expiresAt = value;
+        } else {
+          return null;
+        }
+        pos = numberEnd;
+      }
+
+      pos = JwsCodec.skipWhitespace(json, pos, length);
+      if (pos < length && json[pos] == ',') {
+        pos = JwsCodec.skipWhitespace(json, pos + 1, length);
+        // 쉼표 뒤에는 반드시 다음 키가 와야 한다 ({"a":1,} 거부)
+        if (pos >= length || json[pos] != '"') {
+          return null;
+        }
+      } else if (pos >= length || json[pos] != '}') {
+        return null;
+      }
+    }
+
+    // 닫는 중괄호 뒤에는 공백만 허용
+    if (pos >= length || JwsCodec.skipWhitespace(json, pos + 1, length) != length) {
+      return null;
+    }
+    // exp가 없는 토큰은 발급하지 않으므로 jjwt로 처리
+    if (expiresAt < 0) {
+      return null;
+    }
+
+    // JWT NumericDate(초) → epoch milliseconds
+    long issuedAtMillis = Math.max(issuedAt, 0L) * 1000L;
+    long expiresAtMillis = expiresAt * 1000L;
+
+    // compact 프로필: sub=사용자 ID, t=a/r (standard 클레임과 섞여 있으면 jjwt로 처리)
+    if (typeCode != null) {
+      if (type != null || userId != null) {
+        return null;
+      }
+      return JwtClaims.compact(subject, typeCode, issuedAtMillis, expiresAtMillis, role, status);
+    }
+    return new JwtClaims(subject, userId, type, issuedAtMillis, expiresAtMillis, false, role, status);
+  }
+
+  private static String internType(byte[] json, int start, int end) {
+    if (matches(json, start, end, TYPE_ACCESS)) {
+      return "access";
+    }
+    if (matches(json, start, end, TYPE_REFRESH)) {
+      return "refresh";
+    }
+    return null;
+  }
+
+  private static String internTypeCode(byte[] json, int start, int end) {
+    if (matches(json, start, end, TYPE_CODE_ACCESS)) {
+      return JwtClaims.COMPACT_ACCESS;
+    }
+    if (matches(json, start, end, TYPE_CODE_REFRESH)) {
+      return JwtClaims.COMPACT_REFRESH;
+    }
+    return null;
+  }
+
+  /**
+   * 문자열의 닫는 따옴표 위치를 찾는다 (이스케이프/제어 문자가 있으면 -1)
+   */
+  private static int findStringEnd(byte[] json, int pos, int length) {
+    for (int i = pos; i < length; i++) {
+      byte b = json[i];
+      if (b == '"') {
+        return i;
+      }
+      if (b == '\\' || (b >= 0 && b < 0x20)) {
+        return -1;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * 정수의 끝 위치를 찾는다 (소수/지수/너무 긴 숫자면 -1)
+   */
+  private static int findNumberEnd(byte[] json, int pos, int length) {
+    int i = pos;
+    if (i < length && json[i] == '-') {
+      i++;
+    }
+    int digitStart = i;
+    while (i < length && json[i] >= '0' && json[i] <= '9') {
+      i++;
+    }
+    int digits = i - digitStart;
+    if (digits == 0 || digits > 18) {
+      return -1;
+    }
+    if (i < length && (json[i] == '.' || json[i] == 'e' || json[i] == 'E')) {
+      return -1;
+    }
+    return i;
+  }
+
+  private static long parseLong(byte[] json, int start, int end) {
+    boolean negative = json[start] == '-';
+    long value = 0;
+    for (int i = negative ? start + 1 : start; i < end; i++) {
+      value = value * 10 + (json[i] - '0');
+    }
+    return negative ? -value : value;
+  }
+
+  private static boolean matches(byte[] json, int start, int end, byte[] expected) {
+    if (end - start != expected.length) {
+      return false;
+    }
+    for (int i = 0; i < expected.length; i++) {
+      if (json[start + i] != expected[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  // ----- Base64url / 서명 -----
+
+  /**
+   * 패딩 없는 Base64url 구간을 out에 디코딩한다
+   *
+   * @return 디코딩된 바이트 수, 잘못된 문자/길이이거나 out이 부족하면 -1
+   */
+  private static int decodeBase64Url(String s, int start, int end, byte[] out) {
+    int length = end - start;
+    if (length % 4 == 1) {
+      return -1;
+    }
+    int outLength = length * 3 / 4;
+    if (outLength > out.length) {
+      return -1;
+    }
+
+    int o = 0;
+    int bits = 0;
+    int bitCount = 0;
+    for (int i = start; i < end; i++) {
+      char c = s.charAt(i);
+      int v = JwsCodec.base64UrlValue(c);
+      if (v < 0) {
+        return -1;
+      }
+      bits = (bits << 6) | v;
+      bitCount += 6;
+      if (bitCount >= 8) {
+        bitCount -= 8;
+        out[o++] = (byte) (bits >> bitCount);
+      }
+    }
+    return o;
+  }
+
+  /**
+   * 상수 시간 비교 - 처음 다른 바이트에서 멈추지 않으므로 타이밍으로 서명을 추측할 수 없다
+   */
+  private static boolean constantTimeEquals(byte[] a, byte[] b, int length) {
+    int diff = 0;
+    for (int i = 0; i < length; i++) {
+      diff |= a[i] ^ b[i];
+    }
+    return diff == 0;
+  }
+
+  private static byte[] ascii(String s) {
+    return s.getBytes(StandardCharsets.US_ASCII);
+  }
+
+  /**
+   * 스레드별 재사용 버퍼
+   */
+  private static final class Buffers {
+    private final byte[] signingInput = new byte[JwsCodec.HS512_HEADER_SEGMENT.length() + 1 + MAX_PAYLOAD_SEGMENT_LENGTH];
+    private final byte[] payload = new byte[MAX_PAYLOAD_SEGMENT_LENGTH * 3 / 4];
+    private final byte[] expectedSignature = new byte[SIGNATURE_LENGTH];
+    private final byte[] actualSignature = new byte[SIGNATURE_LENGTH];
+  }
+}
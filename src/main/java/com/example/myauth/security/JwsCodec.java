@@ -0,0 +1,100 @@
+package com.example.myauth.security;
+
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.Arrays;
+import java.util.Base64;
+
+/**
+ * JWS Compact 토큰을 직접 만들고 읽는 클래스(JwtTokenTemplate, Hs512FastVerifier, BearerTokenPrecheck)의 공통 도구
+ * - 고정 HS512 헤더 세그먼트 / 키에 맞는 HMAC 헤더 세그먼트
+ * - 할당 없는 Base64url 문자 → 6비트 값 변환
+ * - JSON 공백 건너뛰기
+ * - 스레드별 HMAC Mac
+ */
+final class JwsCodec {
+
+  /** Base64url({"alg":"HS512"}) - jjwt가 HS512 서명 시 만드는 헤더 */
+  static final String HS512_HEADER_SEGMENT = "eyJhbGciOiJIUzUxMiJ9";
+
+  private static final int[] BASE64URL = createBase64UrlTable();
+
+  private JwsCodec() {
+  }
+
+  /**
+   * HMAC 키로 jjwt가 서명할 때 만드는 헤더 세그먼트
+   * Keys.hmacShaKeyFor()는 키 길이에 따라 HmacSHA256/384/512 키를 만들고, signWith()는 그에 맞춰 HS256/384/512를 고른다
+   *
+   * @param secretKey Keys.hmacShaKeyFor()로 만든 키
+   * @return Base64url({"alg":"HSxxx"})
+   */
+  static String hmacHeaderSegment(SecretKey secretKey) {
+    String header = "{\"alg\":\"" + hmacJwsAlgorithm(secretKey) + "\"}";
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(header.getBytes(StandardCharsets.US_ASCII));
+  }
+
+  /**
+   * Base64url 문자의 6비트 값
+   *
+   * @return 0~63, Base64url 문자가 아니면 -1
+   */
+  static int base64UrlValue(char c) {
+    return c < 128 ? BASE64URL[c] : -1;
+  }
+
+  static int skipWhitespace(byte[] json, int pos, int length) {
+    while (pos < length && (json[pos] == ' ' || json[pos] == '\t' || json[pos] == '\n' || json[pos] == '\r')) {
+      pos++;
+    }
+    return pos;
+  }
+
+  /**
+   * 초기화된 Mac 원본을 만들어 두고 스레드별로 복제해 주는 ThreadLocal
+   *
+   * @param secretKey HMAC 비밀 키 (키의 알고리즘(HmacSHA256/384/512)으로 Mac을 만든다)
+   */
+  static ThreadLocal<Mac> threadLocalMacs(SecretKey secretKey) {
+    Mac prototype = newMac(secretKey);
+    return ThreadLocal.withInitial(() -> {
+      try {
+        return (Mac) prototype.clone();
+      } catch (CloneNotSupportedException e) {
+        // 복제를 지원하지 않는 프로바이더면 새로 초기화
+        return newMac(secretKey);
+      }
+    });
+  }
+
+  private static Mac newMac(SecretKey secretKey) {
+    try {
+      Mac mac = Mac.getInstance(secretKey.getAlgorithm());
+      mac.init(secretKey);
+      return mac;
+    } catch (GeneralSecurityException e) {
+      throw new IllegalStateException(secretKey.getAlgorithm() + " Mac을 초기화할 수 없습니다", e);
+    }
+  }
+
+  private static String hmacJwsAlgorithm(SecretKey secretKey) {
+    return switch (secretKey.getAlgorithm()) {
+      case "HmacSHA256" -> "HS256";
+      case "HmacSHA384" -> "HS384";
+      case "HmacSHA512" -> "HS512";
+      default -> throw new IllegalStateException("지원하지 않는 HMAC 키 알고리즘입니다: " + secretKey.getAlgorithm());
+    };
+  }
+
+  private static int[] createBase64UrlTable() {
+    int[] table = new int[128];
+    Arrays.fill(table, -1);
+    String alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_";
+    for (int i = 0; i < alphabet.length(); i++) {
+      table[alphabet.charAt(i)] = i;
+    }
+    return table;
+  }
+}
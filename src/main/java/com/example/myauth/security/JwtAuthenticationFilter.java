@@ -2,28 +2,32 @@ package com.example.myauth.security;
 
 import com.example.myauth.dto.JwtErrorResponse;
 import com.example.myauth.entity.User;
-import com.example.myauth.repository.UserRepository;
 import tools.jackson.databind.ObjectMapper;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
-import org.springframework.http.MediaType;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * JWT 인증 필터
@@ -31,12 +35,78 @@ import java.util.List;
  */
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+  /**
+   * 역할별 권한 목록 (불변, 재사용)
+   * 요청마다 SimpleGrantedAuthority와 List를 새로 만들지 않도록 미리 만들어 둔다
+   */
+  private static final Map<User.Role, List<SimpleGrantedAuthority>> AUTHORITIES_BY_ROLE = createAuthorities();
+
+  /**
+   * 요청 상세 정보(IP 주소 등) 생성기 (상태가 없으므로 공유)
+   */
+  private static final WebAuthenticationDetailsSource DETAILS_SOURCE = new WebAuthenticationDetailsSource();
+
+  private static final String BEARER_PREFIX = "Bearer ";
+
   private final JwtTokenProvider jwtTokenProvider;
-  private final UserRepository userRepository;
-  private final ObjectMapper objectMapper;
+  private final AuthenticatedUserCache authenticatedUserCache;
+  private final TokenRevocationService tokenRevocationService;
+
+  /**
+   * 미리 직렬화한 401 응답 본문 (요청마다 ObjectMapper로 직렬화하지 않음)
+   */
+  private final PreparedErrorBody tokenExpiredBody;
+  private final PreparedErrorBody invalidTokenBody;
+
+  /**
+   * 토큰 프로필별 Authorization 헤더 크기 (bytes)
+   * 두 summary의 평균 차이가 compact 프로필로 요청당 절약되는 헤더 바이트 수이다
+   * → /actuator/metrics/jwt.authorization.header.size?tag=profile:compact
+   */
+  private final DistributionSummary standardHeaderSize;
+  private final DistributionSummary compactHeaderSize;
+
+  /**
+   * 토큰 클레임만으로 인증할 경로 (SecurityConfig에서 app.security.stateless-paths로 설정, 없으면 null)
+   */
+  private RequestMatcher statelessRequestMatcher;
+
+  /**
+   * stateless 인증을 허용할 토큰의 최대 나이 (epoch milliseconds)
+   */
+  private long statelessMaxTokenAgeMillis;
+
+  public JwtAuthenticationFilter(
+      JwtTokenProvider jwtTokenProvider,
+      AuthenticatedUserCache authenticatedUserCache,
+      TokenRevocationService tokenRevocationService,
+      ObjectMapper objectMapper,
+      MeterRegistry meterRegistry
+  ) {
+    this.jwtTokenProvider = jwtTokenProvider;
+    this.authenticatedUserCache = authenticatedUserCache;
+    this.tokenRevocationService = tokenRevocationService;
+    this.tokenExpiredBody = PreparedErrorBody.of(
+        objectMapper, JwtErrorResponse::tokenExpired, HttpStatus.UNAUTHORIZED.value());
+    this.invalidTokenBody = PreparedErrorBody.of(
+        objectMapper, JwtErrorResponse::invalidToken, HttpStatus.UNAUTHORIZED.value());
+    this.standardHeaderSize = headerSizeSummary(meterRegistry, "standard");
+    this.compactHeaderSize = headerSizeSummary(meterRegistry, "compact");
+  }
+
+  /**
+   * stateless 인증 경로를 설정한다 (SecurityConfig에서 시작 시 한 번 호출)
+   * 해당 경로에서는 role/status 클레임이 있는 충분히 최근의 Access Token이면 DB/캐시 조회 없이 인증한다
+   *
+   * @param requestMatcher stateless 경로 매처 (null이면 모든 경로에서 사용자 상태 확인)
+   * @param maxTokenAge stateless 인증을 허용할 토큰의 최대 나이
+   */
+  public void configureStatelessMode(RequestMatcher requestMatcher, Duration maxTokenAge) {
+    this.statelessRequestMatcher = requestMatcher;
+    this.statelessMaxTokenAgeMillis = maxTokenAge.toMillis();
+  }
 
   /**
    * 모든 HTTP 요청마다 실행되는 필터 메서드
@@ -49,10 +119,15 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
       FilterChain filterChain
   ) throws ServletException, IOException {
 
-    try {
-      // Authorization 헤더에서 JWT 토큰 추출
-      String token = extractTokenFromRequest(request);
+    // Authorization 헤더에서 JWT 토큰 추출
+    String token = extractTokenFromRequest(request);
 
+    // 형식이 맞지 않거나 이미 만료된 토큰은 서명 검증 없이 바로 거부
+    if (token != null && rejectedByPrecheck(token, request, response)) {
+      return; // 필터 체인 중단
+    }
+
+    try {
       // 토큰이 존재하면 인증 처리 (예외 발생 시 catch 블록에서 처리)
       if (token != null) {
         authenticateWithToken(token, request);
@@ -61,13 +136,20 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     } catch (ExpiredJwtException e) {
       // ⚠️ 토큰 만료: 클라이언트가 /refresh를 호출하도록 안내
       log.warn("JWT 토큰 만료 - 사용자: {}, 경로: {}", e.getClaims().getSubject(), request.getRequestURI());
-      sendErrorResponse(response, JwtErrorResponse.tokenExpired(request.getRequestURI()), HttpStatus.UNAUTHORIZED);
+      tokenExpiredBody.write(response, request.getRequestURI());
       return; // 필터 체인 중단
 
+    } catch (RejectedTokenException e) {
+      // ❌ 폐기되었거나 최근 거부된 토큰: 스택 트레이스 없이 바로 거부
+      log.debug("거부된 JWT 토큰 - 경로: {}, 사유: {}", request.getRequestURI(), e.getMessage());
+      invalidTokenBody.write(response, request.getRequestURI());
+      return;
+
     } catch (JwtException | IllegalArgumentException e) {
       // ❌ 유효하지 않은 토큰: 클라이언트가 재로그인하도록 안내
-      log.error("유효하지 않은 JWT 토큰 - 경로: {}, 오류: {}", request.getRequestURI(), e.getMessage());
-      sendErrorResponse(response, JwtErrorResponse.invalidToken(request.getRequestURI()), HttpStatus.UNAUTHORIZED);
+      // 같은 토큰이 다시 오면 VerifiedTokenCache에서 RejectedTokenException으로 처리됨
+      log.warn("유효하지 않은 JWT 토큰 - 경로: {}, 오류: {}", request.getRequestURI(), e.getMessage());
+      invalidTokenBody.write(response, request.getRequestURI());
       return; // 필터 체인 중단
 
     } catch (Exception e) {
@@ -79,48 +161,112 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     filterChain.doFilter(request, response);
   }
 
+  /**
+   * 구조 사전 검사 (BearerTokenPrecheck)
+   * 봇/잘못된 클라이언트가 보내는 토큰을 jjwt 예외와 JSON 직렬화 없이 미리 만든 401 응답으로 거부한다
+   *
+   * @return 거부 응답을 작성했으면 true
+   */
+  private boolean rejectedByPrecheck(String token, HttpServletRequest request, HttpServletResponse response)
+      throws IOException {
+    switch (BearerTokenPrecheck.inspect(token, System.currentTimeMillis())) {
+      case MALFORMED -> {
+        log.debug("JWT 형식 오류(사전 검사) - 경로: {}", request.getRequestURI());
+        invalidTokenBody.write(response, request.getRequestURI());
+        return true;
+      }
+      case EXPIRED -> {
+        log.debug("JWT 토큰 만료(사전 검사) - 경로: {}", request.getRequestURI());
+        tokenExpiredBody.write(response, request.getRequestURI());
+        return true;
+      }
+      default -> {
+        return false;
+      }
+    }
+  }
+
   /**
    * JWT 토큰을 검증하고 인증 정보를 SecurityContext에 설정
-   * validateToken() 내부에서 ExpiredJwtException, JwtException 등이 발생하면 상위로 전파됨
+   * parseClaims()에서 서명 검증과 파싱을 한 번만 수행하며,
+   * 내부에서 ExpiredJwtException, JwtException 등이 발생하면 상위로 전파됨
    *
    * @param token JWT 토큰 문자열
    * @param request HTTP 요청 객체
-   * @throws ExpiredJwtException 토큰이 만료된 경우 (validateToken 내부에서 발생)
-   * @throws JwtException 토큰이 유효하지 않은 경우 (validateToken 내부에서 발생)
+   * @throws ExpiredJwtException 토큰이 만료된 경우 (parseClaims 내부에서 발생)
+   * @throws JwtException 토큰이 유효하지 않거나 폐기된 경우
    */
   private void authenticateWithToken(String token, HttpServletRequest request) {
-    // 토큰 검증 (만료 시 ExpiredJwtException, 유효하지 않으면 JwtException 발생)
-    jwtTokenProvider.validateToken(token);
+    // 토큰 검증 + 클레임 추출 (만료 시 ExpiredJwtException, 유효하지 않으면 JwtException 발생)
+    JwtClaims claims = jwtTokenProvider.parseClaims(token);
+    Long userId = claims.getUserId();
 
-    // 토큰에서 사용자 정보 추출
-    String email = jwtTokenProvider.getEmailFromToken(token);
-    Long userId = jwtTokenProvider.getUserIdFromToken(token);
+    // 검증된 토큰만 헤더 크기 통계에 반영 ("Bearer " + 토큰, 모두 ASCII)
+    (claims.isCompact() ? compactHeaderSize : standardHeaderSize).record(BEARER_PREFIX.length() + token.length());
 
-    log.debug("JWT 토큰 검증 성공 - 이메일: {}, userId: {}", email, userId);
+    log.debug("JWT 토큰 검증 성공 - 이메일: {}, userId: {}", claims.getSubject(), userId);
 
-    // DB에서 사용자 조회
-    User user = userRepository.findById(userId).orElse(null);
+    // Access Token으로만 인증한다 (compact Refresh Token은 sub에 사용자 ID가 있으므로 userId만으로는 구분할 수 없음)
+    if (userId == null || !claims.isAccessToken()) {
+      log.debug("Access Token이 아님 - 인증 정보 설정 생략");
+      return;
+    }
 
-    // 사용자가 존재하고 활성화 상태인 경우에만 인증 설정
-    if (user != null && user.getIsActive()) {
-      // Spring Security 인증 객체 생성
-      List<SimpleGrantedAuthority> authorities = List.of(
-          new SimpleGrantedAuthority(user.getRole().name())
-      );
+    // 로그아웃/계정 정지/비밀번호 변경 이전에 발급된 토큰은 거부 (메모리 조회만 수행)
+    if (tokenRevocationService.isRevoked(userId, claims.getIssuedAt())) {
+      throw new RejectedTokenException("폐기된 토큰입니다 - userId: " + userId);
+    }
+
+    // 1️⃣ stateless 경로: 토큰 클레임만으로 principal 구성 (DB/캐시 조회 없음)
+    AuthenticatedUser user = statelessPrincipal(claims, request);
+
+    // 2️⃣ 그 외: 사용자 스냅샷 조회 (캐시 미스 시에만 DB 조회)
+    if (user == null) {
+      user = authenticatedUserCache.get(userId);
+    }
 
+    // 사용자가 존재하고 활성화 상태인 경우에만 인증 설정
+    if (user != null && user.isActive()) {
+      // Spring Security 인증 객체 생성 (역할별로 미리 만든 권한 목록 재사용)
       UsernamePasswordAuthenticationToken authentication =
-          new UsernamePasswordAuthenticationToken(user, null, authorities);
+          new UsernamePasswordAuthenticationToken(user, null, AUTHORITIES_BY_ROLE.get(user.getRole()));
 
       // 요청 정보 추가 (IP 주소 등)
-      authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+      authentication.setDetails(DETAILS_SOURCE.buildDetails(request));
 
       // SecurityContext에 인증 정보 설정
       SecurityContextHolder.getContext().setAuthentication(authentication);
 
-      log.debug("SecurityContext에 인증 정보 설정 완료: {}", email);
+      log.debug("SecurityContext에 인증 정보 설정 완료: {}", claims.getSubject());
     }
   }
 
+  /**
+   * stateless 경로이면 토큰 클레임으로 principal을 만든다
+   * 다음 중 하나라도 해당하면 null을 반환하여 사용자 상태를 확인하는 경로로 처리한다
+   * - stateless 경로가 아님
+   * - role/status 클레임이 없는 토큰 (principal 클레임 도입 전 발급 등)
+   * - 발급된 지 statelessMaxTokenAge가 지난 토큰
+   *
+   * @return 토큰 기반 principal (사용할 수 없으면 null)
+   */
+  private AuthenticatedUser statelessPrincipal(JwtClaims claims, HttpServletRequest request) {
+    if (statelessRequestMatcher == null || !claims.hasPrincipalClaims()
+        || !statelessRequestMatcher.matches(request)) {
+      return null;
+    }
+    if (System.currentTimeMillis() - claims.getIssuedAt() > statelessMaxTokenAgeMillis) {
+      return null;
+    }
+    return new AuthenticatedUser(
+        claims.getUserId(),
+        claims.getEmail(),
+        claims.getRole(),
+        claims.getStatus(),
+        claims.getStatus() == User.Status.ACTIVE
+    );
+  }
+
   /**
    * HTTP 요청의 Authorization 헤더에서 JWT 토큰 추출
    *
@@ -132,34 +278,34 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     String bearerToken = request.getHeader("Authorization");
 
     // "Bearer {token}" 형식인지 확인하고 토큰만 추출
-    if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
-      return bearerToken.substring(7); // "Bearer " 이후의 토큰 문자열 반환
+    if (StringUtils.hasText(bearerToken) && bearerToken.startsWith(BEARER_PREFIX)) {
+      return bearerToken.substring(BEARER_PREFIX.length()); // "Bearer " 이후의 토큰 문자열 반환
     }
 
     return null;
   }
 
   /**
-   * JWT 인증 실패 시 JSON 형식의 에러 응답 전송
-   * 클라이언트가 토큰 만료와 유효하지 않은 토큰을 구분할 수 있도록 상세한 정보 제공
+   * 프로필별 Authorization 헤더 크기 분포를 등록한다
+   */
+  private static DistributionSummary headerSizeSummary(MeterRegistry meterRegistry, String profile) {
+    return DistributionSummary.builder("jwt.authorization.header.size")
+        .description("검증된 Bearer Authorization 헤더 크기")
+        .baseUnit("bytes")
+        .tag("profile", profile)
+        .register(meterRegistry);
+  }
+
+  /**
+   * 역할별 권한 목록을 만든다 (클래스 로딩 시 한 번만 실행)
    *
-   * @param response HTTP 응답 객체
-   * @param errorResponse 에러 응답 DTO (errorCode, message, action 포함)
-   * @param status HTTP 상태 코드 (401 Unauthorized)
-   * @throws IOException JSON 직렬화 또는 응답 작성 중 오류 발생 시
+   * @return 역할 → 불변 권한 목록 맵
    */
-  private void sendErrorResponse(
-      HttpServletResponse response,
-      JwtErrorResponse errorResponse,
-      HttpStatus status
-  ) throws IOException {
-    // 응답 설정
-    response.setStatus(status.value());
-    response.setContentType(MediaType.APPLICATION_JSON_VALUE);
-    response.setCharacterEncoding("UTF-8");
-
-    // JSON 직렬화 및 응답 작성 (Spring Boot가 자동 제공하는 ObjectMapper 사용)
-    String jsonResponse = objectMapper.writeValueAsString(errorResponse);
-    response.getWriter().write(jsonResponse);
+  private static Map<User.Role, List<SimpleGrantedAuthority>> createAuthorities() {
+    Map<User.Role, List<SimpleGrantedAuthority>> authorities = new EnumMap<>(User.Role.class);
+    for (User.Role role : User.Role.values()) {
+      authorities.put(role, List.of(new SimpleGrantedAuthority(role.name())));
+    }
+    return Collections.unmodifiableMap(authorities);
   }
 }
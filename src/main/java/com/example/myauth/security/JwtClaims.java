@@ -0,0 +1,135 @@
+package com.example.myauth.security;
+
+import com.example.myauth.entity.User;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 서명 검증이 끝난 JWT의 클레임 스냅샷
+ * JwtTokenProvider.parseClaims()가 한 번의 검증으로 만들어 반환하는 불변 객체이다
+ *
+ * 필터/서비스는 이 객체 하나로 subject, userId, type, 발행/만료 시간을 모두 읽으므로
+ * 같은 토큰을 여러 번 파싱(HMAC 검증 + JSON 파싱)할 필요가 없다
+ */
+@Getter
+@RequiredArgsConstructor
+public final class JwtClaims {
+
+  /** compact 프로필 type 코드 - Access Token */
+  static final String COMPACT_ACCESS = "a";
+
+  /** compact 프로필 type 코드 - Refresh Token */
+  static final String COMPACT_REFRESH = "r";
+
+  /** 토큰 주체 (standard: 사용자 이메일, compact: 사용자 ID 문자열) */
+  private final String subject;
+
+  /** 사용자 ID (Refresh Token에는 없으므로 null일 수 있음) */
+  private final Long userId;
+
+  /** 토큰 타입 (access / refresh) */
+  private final String type;
+
+  /** 발행 시간 (epoch milliseconds) */
+  private final long issuedAt;
+
+  /** 만료 시간 (epoch milliseconds) */
+  private final long expiresAt;
+
+  /** compact 프로필 토큰 여부 (sub=사용자 ID, t=a/r, 이메일 없음) */
+  private final boolean compact;
+
+  /** 발급 시점의 역할 (jwt.principal-claims.enabled로 발급한 Access Token에만 존재, 없으면 null) */
+  private final User.Role role;
+
+  /** 발급 시점의 계정 상태 (jwt.principal-claims.enabled로 발급한 Access Token에만 존재, 없으면 null) */
+  private final User.Status status;
+
+  /**
+   * compact 프로필 토큰의 클레임을 standard와 같은 형태로 정규화한다
+   * userId는 sub에서, type은 t 코드(a/r)에서 가져온다
+   *
+   * @param subject sub 클레임 (사용자 ID 10진수 문자열)
+   * @param typeCode t 클레임 (a / r)
+   * @return 정규화된 클레임, sub가 사용자 ID 형식이 아니면 null
+   */
+  static JwtClaims compact(String subject, String typeCode, long issuedAt, long expiresAt,
+                           User.Role role, User.Status status) {
+    if (subject == null || subject.isEmpty() || subject.length() > 18) {
+      return null;
+    }
+    long userId = 0;
+    for (int i = 0; i < subject.length(); i++) {
+      char c = subject.charAt(i);
+      if (c < '0' || c > '9') {
+        return null;
+      }
+      userId = userId * 10 + (c - '0');
+    }
+
+    String type = switch (typeCode) {
+      case COMPACT_ACCESS -> "access";
+      case COMPACT_REFRESH -> "refresh";
+      default -> null;
+    };
+    return new JwtClaims(subject, userId, type, issuedAt, expiresAt, true, role, status);
+  }
+
+  /**
+   * 역할/상태 클레임 문자열을 enum으로 변환한다
+   * @return 알 수 없는 값이거나 null이면 null (토큰만으로 인증하지 않고 DB 확인 경로를 사용하게 됨)
+   */
+  static User.Role parseRole(String value) {
+    if (value != null) {
+      for (User.Role role : User.Role.values()) {
+        if (role.name().equals(value)) {
+          return role;
+        }
+      }
+    }
+    return null;
+  }
+
+  static User.Status parseStatus(String value) {
+    if (value != null) {
+      for (User.Status status : User.Status.values()) {
+        if (status.name().equals(value)) {
+          return status;
+        }
+      }
+    }
+    return null;
+  }
+
+  /**
+   * 토큰만으로 principal을 만들 수 있는지 확인한다
+   * @return Access Token이고 역할/상태 클레임이 모두 있으면 true
+   */
+  public boolean hasPrincipalClaims() {
+    return isAccessToken() && userId != null && role != null && status != null;
+  }
+
+  /**
+   * 토큰에 담긴 사용자 이메일
+   * @return standard 토큰이면 sub, compact 토큰이면 null (이메일을 싣지 않음)
+   */
+  public String getEmail() {
+    return compact ? null : subject;
+  }
+
+  /**
+   * Access Token인지 확인한다
+   * @return type 클레임이 access이면 true
+   */
+  public boolean isAccessToken() {
+    return "access".equals(type);
+  }
+
+  /**
+   * Refresh Token인지 확인한다
+   * @return type 클레임이 refresh이면 true
+   */
+  public boolean isRefreshToken() {
+    return "refresh".equals(type);
+  }
+}
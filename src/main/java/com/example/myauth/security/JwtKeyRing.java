@@ -0,0 +1,278 @@
+package com.example.myauth.security;
+
+import com.example.myauth.config.JwtKeyRingProperties;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.SignatureAlgorithm;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * JWT 비대칭 서명 키 링
+ *
+ * jwt.key-ring 설정의 키들을 시작 시 한 번 디코딩하여 보관한다
+ * - 서명: active-from이 지난 키 중 가장 최근 키 (kid 헤더에 식별자 기록)
+ * - 검증: 설정된 모든 키 (kid → 공개 키 맵으로 즉시 조회)
+ * - 공개: JWKS(/.well-known/jwks.json)로 공개 키만 노출
+ *
+ * algorithm이 HS512이면 키 링을 사용하지 않고 기존 jwt.secret으로 서명한다
+ */
+@Slf4j
+@Component
+public class JwtKeyRing {
+
+  private final boolean asymmetric;
+  private final boolean acceptLegacyHmac;
+
+  /** 서명 키 후보 (active-from 내림차순) */
+  private final List<SigningKey> keys;
+
+  /** kid → 키 (검증용) */
+  private final Map<String, SigningKey> keysById;
+
+  /**
+   * 생성자 - jwt.key-ring 설정으로 키 링을 구성한다
+   */
+  public JwtKeyRing(JwtKeyRingProperties properties) {
+    String algorithmName = properties.getAlgorithm();
+    this.asymmetric = !"HS512".equalsIgnoreCase(algorithmName);
+    this.acceptLegacyHmac = properties.isAcceptLegacyHmac();
+
+    List<SigningKey> loaded = new ArrayList<>();
+    if (asymmetric) {
+      SignatureAlgorithm algorithm = resolveAlgorithm(algorithmName);
+
+      for (JwtKeyRingProperties.Key key : properties.getKeys()) {
+        loaded.add(loadKey(key, algorithm, algorithmName));
+      }
+
+      // 키가 하나도 없으면 개발용 임시 키를 생성 (재시작 시 기존 토큰은 모두 무효화됨)
+      if (loaded.isEmpty()) {
+        log.warn("jwt.key-ring.keys가 비어 있어 임시 {} 키를 생성합니다 (개발 환경 전용)", algorithmName);
+        loaded.add(generateEphemeralKey(algorithm, algorithmName));
+      }
+    }
+
+    loaded.sort(Comparator.comparing(SigningKey::getActiveFrom).reversed());
+    this.keys = List.copyOf(loaded);
+
+    Map<String, SigningKey> byId = new LinkedHashMap<>();
+    for (SigningKey key : keys) {
+      if (byId.put(key.getKid(), key) != null) {
+        throw new IllegalStateException("중복된 kid입니다: " + key.getKid());
+      }
+    }
+    this.keysById = Map.copyOf(byId);
+
+    log.info("JWT 서명 방식: {}, 등록된 키: {}", asymmetric ? algorithmName : "HS512", keysById.keySet());
+  }
+
+  /**
+   * 비대칭 서명(키 링) 사용 여부
+   * @return ES256/EdDSA 모드이면 true
+   */
+  public boolean isAsymmetric() {
+    return asymmetric;
+  }
+
+  /**
+   * kid 헤더가 없는 기존 HS512 토큰 허용 여부
+   * @return 허용하면 true
+   */
+  public boolean isAcceptLegacyHmac() {
+    return acceptLegacyHmac;
+  }
+
+  /**
+   * 현재 서명에 사용할 키를 반환한다
+   * active-from이 지난 키 중 가장 최근 키를 선택하므로 설정만으로 교체 시점을 예약할 수 있다
+   *
+   * @return 서명 키
+   * @throws IllegalStateException 사용할 수 있는 서명 키가 없는 경우
+   */
+  public SigningKey currentSigningKey() {
+    Instant now = Instant.now();
+    for (SigningKey key : keys) {
+      if (key.getPrivateKey() != null && !key.getActiveFrom().isAfter(now)) {
+        return key;
+      }
+    }
+    throw new IllegalStateException("사용 가능한 JWT 서명 키가 없습니다");
+  }
+
+  /**
+   * kid로 검증 키를 찾는다
+   *
+   * @param kid 키 식별자
+   * @return 키 (없으면 null)
+   */
+  public SigningKey findKey(String kid) {
+    return keysById.get(kid);
+  }
+
+  /**
+   * 공개 가능한 모든 키 (JWKS 응답용)
+   * 아직 서명에 쓰이지 않는 예약 키도 포함하여 리소스 서버가 미리 캐시할 수 있게 한다
+   *
+   * @return 키 목록
+   */
+  public List<SigningKey> getKeys() {
+    return keys;
+  }
+
+  // ----- 키 로딩 -----
+
+  private static SignatureAlgorithm resolveAlgorithm(String algorithmName) {
+    if ("ES256".equalsIgnoreCase(algorithmName)) {
+      return Jwts.SIG.ES256;
+    }
+    if ("EdDSA".equalsIgnoreCase(algorithmName)) {
+      return Jwts.SIG.EdDSA;
+    }
+    throw new IllegalStateException("지원하지 않는 JWT 서명 알고리즘입니다: " + algorithmName);
+  }
+
+  private static SigningKey loadKey(JwtKeyRingProperties.Key key, SignatureAlgorithm algorithm, String algorithmName) {
+    if (key.getKid() == null || !key.getKid().matches("[A-Za-z0-9._:-]+")) {
+      throw new IllegalStateException("jwt.key-ring.keys[].kid는 필수이며 영문/숫자/._:-만 사용할 수 있습니다");
+    }
+    if (key.getPublicKey() == null) {
+      throw new IllegalStateException("공개 키가 없습니다 (kid: " + key.getKid() + ")");
+    }
+
+    try {
+      KeyFactory keyFactory = KeyFactory.getInstance(keyFactoryAlgorithm(algorithmName));
+      PublicKey publicKey = keyFactory.generatePublic(new X509EncodedKeySpec(decodeKey(key.getPublicKey())));
+      PrivateKey privateKey = key.getPrivateKey() != null
+          ? keyFactory.generatePrivate(new PKCS8EncodedKeySpec(decodeKey(key.getPrivateKey())))
+          : null;
+      Instant activeFrom = key.getActiveFrom() != null ? key.getActiveFrom() : Instant.EPOCH;
+
+      return new SigningKey(key.getKid(), algorithm, privateKey, publicKey, activeFrom);
+    } catch (GeneralSecurityException | IllegalArgumentException e) {
+      throw new IllegalStateException("JWT 키를 읽을 수 없습니다 (kid: " + key.getKid() + ")", e);
+    }
+  }
+
+  private static SigningKey generateEphemeralKey(SignatureAlgorithm algorithm, String algorithmName) {
+    try {
+      KeyPairGenerator generator = KeyPairGenerator.getInstance(keyFactoryAlgorithm(algorithmName));
+      if (algorithm == Jwts.SIG.ES256) {
+        generator.initialize(new ECGenParameterSpec("secp256r1"));
+      }
+      KeyPair keyPair = generator.generateKeyPair();
+      String kid = "ephemeral-" + UUID.randomUUID();
+      return new SigningKey(kid, algorithm, keyPair.getPrivate(), keyPair.getPublic(), Instant.EPOCH);
+    } catch (GeneralSecurityException e) {
+      throw new IllegalStateException("임시 JWT 키를 생성할 수 없습니다", e);
+    }
+  }
+
+  private static String keyFactoryAlgorithm(String algorithmName) {
+    return "ES256".equalsIgnoreCase(algorithmName) ? "EC" : "Ed25519";
+  }
+
+  /**
+   * PEM 헤더/공백을 제거하고 Base64 디코딩한다
+   */
+  private static byte[] decodeKey(String value) {
+    String base64 = value
+        .replaceAll("-----(BEGIN|END) [A-Z ]+-----", "")
+        .replaceAll("\\s", "");
+    return Base64.getDecoder().decode(base64);
+  }
+
+  /**
+   * 키 링에 등록된 단일 키
+   * 디코딩된 키 객체와 JWK 표현을 미리 만들어 두어 요청마다 다시 계산하지 않는다
+   */
+  @Getter
+  public static final class SigningKey {
+    private final String kid;
+    private final SignatureAlgorithm algorithm;
+    private final String algorithmName;
+    private final PrivateKey privateKey;
+    private final PublicKey publicKey;
+    private final Instant activeFrom;
+    private final Map<String, Object> jwk;
+
+    /** 미리 인코딩한 JWS 헤더 세그먼트 - Base64url({"kid":kid,"alg":alg}) */
+    private final String headerSegment;
+
+    SigningKey(String kid, SignatureAlgorithm algorithm,
+               PrivateKey privateKey, PublicKey publicKey, Instant activeFrom) {
+      this.kid = kid;
+      this.algorithm = algorithm;
+      this.algorithmName = algorithm.getId();
+      this.privateKey = privateKey;
+      this.publicKey = publicKey;
+      this.activeFrom = activeFrom;
+      this.jwk = toJwk(kid, this.algorithmName, publicKey);
+      this.headerSegment = Base64.getUrlEncoder().withoutPadding().encodeToString(
+          ("{\"kid\":\"" + kid + "\",\"alg\":\"" + this.algorithmName + "\"}").getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * 공개 키를 JWK(RFC 7517) 형식으로 변환한다
+     */
+    private static Map<String, Object> toJwk(String kid, String alg, PublicKey publicKey) {
+      Map<String, Object> jwk = new LinkedHashMap<>();
+      Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+
+      if (publicKey instanceof ECPublicKey ecKey) {
+        jwk.put("kty", "EC");
+        jwk.put("crv", "P-256");
+        jwk.put("x", encoder.encodeToString(toUnsigned(ecKey.getW().getAffineX(), 32)));
+        jwk.put("y", encoder.encodeToString(toUnsigned(ecKey.getW().getAffineY(), 32)));
+      } else {
+        // Ed25519 X.509 인코딩은 12바이트 헤더 + 32바이트 원시 공개 키
+        byte[] encoded = publicKey.getEncoded();
+        byte[] raw = Arrays.copyOfRange(encoded, encoded.length - 32, encoded.length);
+        jwk.put("kty", "OKP");
+        jwk.put("crv", "Ed25519");
+        jwk.put("x", encoder.encodeToString(raw));
+      }
+      jwk.put("kid", kid);
+      jwk.put("use", "sig");
+      jwk.put("alg", alg);
+      return Collections.unmodifiableMap(jwk);
+    }
+
+    /**
+     * BigInteger를 고정 길이 부호 없는 big-endian 바이트 배열로 변환한다
+     */
+    private static byte[] toUnsigned(BigInteger value, int length) {
+      byte[] bytes = value.toByteArray();
+      if (bytes.length == length) {
+        return bytes;
+      }
+      byte[] fixed = new byte[length];
+      int copy = Math.min(bytes.length, length);
+      System.arraycopy(bytes, bytes.length - copy, fixed, length - copy, copy);
+      return fixed;
+    }
+  }
+}
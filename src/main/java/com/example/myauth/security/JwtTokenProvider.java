@@ -1,5 +1,6 @@
 package com.example.myauth.security;
 
+import com.example.myauth.entity.User;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
 import lombok.extern.slf4j.Slf4j;
@@ -8,6 +9,9 @@ import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.security.SecureRandom;
+import java.util.Base64;
 import java.util.Date;
 
 /**
@@ -17,9 +21,24 @@ import java.util.Date;
 @Component
 public class JwtTokenProvider {
 
+  /** opaque Refresh Token 난수 길이 (256비트) */
+  private static final int OPAQUE_TOKEN_BYTES = 32;
+
+  /** JWT Refresh Token의 jti 난수 길이 (128비트) */
+  private static final int TOKEN_ID_BYTES = 16;
+
+  private final SecureRandom secureRandom = new SecureRandom();
   private final SecretKey secretKey;
+  private final JwtKeyRing keyRing;
+  private final JwtParser jwtParser;
+  private final Hs512FastVerifier fastVerifier;
+  private final JwtTokenTemplate tokenTemplate;
+  private final VerifiedTokenCache verifiedTokenCache;
   private final long accessTokenExpiration;
   private final long refreshTokenExpiration;
+  private final boolean compactProfile;
+  private final boolean opaqueRefreshTokens;
+  private final boolean principalClaims;
 
   /**
    * 생성자 - application.yaml의 JWT 설정을 주입받는다
@@ -27,15 +46,52 @@ public class JwtTokenProvider {
   public JwtTokenProvider(
       @Value("${jwt.secret}") String secret,
       @Value("${jwt.access-token-expiration}") long accessTokenExpiration,
-      @Value("${jwt.refresh-token-expiration}") long refreshTokenExpiration
+      @Value("${jwt.refresh-token-expiration}") long refreshTokenExpiration,
+      VerifiedTokenCache verifiedTokenCache,
+      JwtKeyRing keyRing,
+      @Value("${jwt.fast-verifier.enabled:true}") boolean fastVerifierEnabled,
+      @Value("${jwt.templated-issuance.enabled:true}") boolean templatedIssuanceEnabled,
+      @Value("${jwt.token-profile:standard}") String tokenProfile,
+      @Value("${jwt.refresh-token.format:jwt}") String refreshTokenFormat,
+      @Value("${jwt.principal-claims.enabled:false}") boolean principalClaimsEnabled
   ) {
     // 비밀 키를 SecretKey 객체로 변환
     log.debug("JWT 설정 초기화 - Access Token 만료: {}ms, Refresh Token 만료: {}ms",
         accessTokenExpiration, refreshTokenExpiration);
 
     this.secretKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+    this.keyRing = keyRing;
+    // 파서는 불변·스레드 안전하므로 시작 시 한 번만 만들어 재사용한다
+    // 검증 키는 헤더의 kid로 키 링에서 찾고, kid가 없으면 기존 HMAC 비밀 키를 사용한다
+    this.jwtParser = Jwts.parser()
+        .keyLocator(this::locateVerificationKey)  // 서명 검증 키 선택
+        .build();
+    // HS512 토큰을 허용하는 경우에만 고속 검증기를 사용한다 (처리할 수 없는 토큰은 jjwt로 넘어감)
+    // 비밀 키가 64바이트보다 짧으면 jjwt가 HS256/HS384로 서명하므로 고속 검증기를 쓰지 않는다
+    boolean hmacAccepted = !keyRing.isAsymmetric() || keyRing.isAcceptLegacyHmac();
+    boolean hs512Key = "HmacSHA512".equals(secretKey.getAlgorithm());
+    this.fastVerifier = fastVerifierEnabled && hmacAccepted && hs512Key ? new Hs512FastVerifier(secretKey) : null;
+    // 고정 템플릿 발급기 (비활성화 시 Jwts.builder() 사용)
+    this.tokenTemplate = templatedIssuanceEnabled ? new JwtTokenTemplate(secretKey) : null;
     this.accessTokenExpiration = accessTokenExpiration;
     this.refreshTokenExpiration = refreshTokenExpiration;
+    this.verifiedTokenCache = verifiedTokenCache;
+
+    // 발급 프로필 (검증은 두 프로필을 모두 허용하므로 전환 중에도 기존 토큰이 유효함)
+    if (!"standard".equalsIgnoreCase(tokenProfile) && !"compact".equalsIgnoreCase(tokenProfile)) {
+      throw new IllegalStateException("jwt.token-profile은 standard 또는 compact여야 합니다: " + tokenProfile);
+    }
+    this.compactProfile = "compact".equalsIgnoreCase(tokenProfile);
+    log.info("JWT 발급 프로필: {}", compactProfile ? "compact" : "standard");
+
+    // Refresh Token 형식 (검증은 DB 다이제스트 조회로 하므로 두 형식 모두 계속 허용됨)
+    if (!"jwt".equalsIgnoreCase(refreshTokenFormat) && !"opaque".equalsIgnoreCase(refreshTokenFormat)) {
+      throw new IllegalStateException("jwt.refresh-token.format은 jwt 또는 opaque여야 합니다: " + refreshTokenFormat);
+    }
+    this.opaqueRefreshTokens = "opaque".equalsIgnoreCase(refreshTokenFormat);
+
+    // Access Token에 역할/상태를 넣어 stateless 경로에서 DB 조회 없이 인증할 수 있게 한다
+    this.principalClaims = principalClaimsEnabled;
   }
 
   /**
@@ -45,49 +101,216 @@ public class JwtTokenProvider {
    * @return Access Token 문자열
    */
   public String generateAccessToken(String userEmail, Long userId) {
-    Date now = new Date();
-    Date expiryDate = new Date(now.getTime() + accessTokenExpiration);
+    return generateAccessToken(userEmail, userId, null, null);
+  }
+
+  /**
+   * Access Token 생성 (역할/상태 포함)
+   * jwt.principal-claims.enabled=true이면 role/status 클레임을 함께 넣어
+   * stateless 경로(app.security.stateless-paths)에서 DB 조회 없이 인증할 수 있게 한다
+   *
+   * @param userEmail 사용자 이메일
+   * @param userId 사용자 ID
+   * @param role 역할 (null이면 클레임 생략)
+   * @param status 계정 상태 (null이면 클레임 생략)
+   * @return Access Token 문자열
+   */
+  public String generateAccessToken(String userEmail, Long userId, User.Role role, User.Status status) {
+    long now = System.currentTimeMillis();
+    long expiry = now + accessTokenExpiration;
+
+    log.debug("Access Token 생성 - 사용자: {}, ID: {}, 만료: {}", userEmail, userId, expiry);
+
+    boolean embedPrincipal = principalClaims && role != null && status != null;
+    String roleName = embedPrincipal ? role.name() : null;
+    String statusName = embedPrincipal ? status.name() : null;
 
-    log.debug("Access Token 생성 - 사용자: {}, ID: {}, 만료: {}", userEmail, userId, expiryDate);
+    // compact 프로필: sub=사용자 ID, t=a (이메일 제외)
+    if (compactProfile && userId != null) {
+      return compactToken(userId, JwtClaims.COMPACT_ACCESS, roleName, statusName, null, now, expiry);
+    }
 
-    return Jwts.builder()
+    // 고정 템플릿으로 발급 (헤더 사전 인코딩 + 숫자 필드 직접 기록)
+    if (tokenTemplate != null) {
+      return tokenTemplate.accessToken(
+          userEmail, userId, roleName, statusName, now / 1000, expiry / 1000, currentSigningKey());
+    }
+
+    JwtBuilder builder = signedBuilder()
         .subject(userEmail)                    // 토큰 주체 (사용자 이메일)
         .claim("userId", userId)            // 사용자 ID 추가
-        .claim("type", "access")         // 토큰 타입
-        .issuedAt(now)                         // 발행 시간
-        .expiration(expiryDate)                // 만료 시간
-        .signWith(secretKey)                   // 서명
+        .claim("type", "access");        // 토큰 타입
+    if (embedPrincipal) {
+      builder.claim("role", roleName)          // 역할
+          .claim("status", statusName);        // 계정 상태
+    }
+    return builder
+        .issuedAt(new Date(now))               // 발행 시간
+        .expiration(new Date(expiry))          // 만료 시간
         .compact();
   }
 
   /**
    * Refresh Token 생성
+   * jwt.refresh-token.format=opaque이면 JWT 대신 256비트 난수 토큰을 발급한다
+   * (만료/소유자 정보는 DB 행에만 있으므로 토큰 자체에는 클레임이 없다)
+   * JWT 형식에는 난수 jti를 넣는다 (같은 사용자가 같은 초에 두 번 로그인해도 토큰/token_hash가 겹치지 않음)
+   *
    * @param userEmail 사용자 이메일
+   * @param userId 사용자 ID (compact 프로필의 sub)
    * @return Refresh Token 문자열
    */
-  public String generateRefreshToken(String userEmail) {
-    Date now = new Date();
-    Date expiryDate = new Date(now.getTime() + refreshTokenExpiration);
+  public String generateRefreshToken(String userEmail, Long userId) {
+    long now = System.currentTimeMillis();
+    long expiry = now + refreshTokenExpiration;
+
+    log.debug("Refresh Token 생성 - 사용자: {}, 만료: {}", userEmail, expiry);
+
+    // opaque 형식: Base64url(32바이트 난수) 43자
+    if (opaqueRefreshTokens) {
+      return randomBase64Url(OPAQUE_TOKEN_BYTES);
+    }
+
+    String tokenId = randomBase64Url(TOKEN_ID_BYTES);
 
-    log.debug("Refresh Token 생성 - 사용자: {}, 만료: {}", userEmail, expiryDate);
+    // compact 프로필: sub=사용자 ID, t=r (이메일 제외)
+    if (compactProfile && userId != null) {
+      return compactToken(userId, JwtClaims.COMPACT_REFRESH, null, null, tokenId, now, expiry);
+    }
 
-    return Jwts.builder()
+    // 고정 템플릿으로 발급 (헤더 사전 인코딩 + 숫자 필드 직접 기록)
+    if (tokenTemplate != null) {
+      return tokenTemplate.refreshToken(userEmail, tokenId, now / 1000, expiry / 1000, currentSigningKey());
+    }
+
+    return signedBuilder()
         .subject(userEmail)                    // 토큰 주체 (사용자 이메일)
         .claim("type", "refresh")              // 토큰 타입
-        .issuedAt(now)                         // 발행 시간
-        .expiration(expiryDate)                // 만료 시간
-        .signWith(secretKey)                   // 서명
+        .id(tokenId)                           // 토큰 ID (jti)
+        .issuedAt(new Date(now))               // 발행 시간
+        .expiration(new Date(expiry))          // 만료 시간
+        .compact();
+  }
+
+  /**
+   * compact 프로필 토큰 생성
+   * {"sub":"사용자ID","t":"a|r",["role","status",]["jti",]"iat":초,"exp":초}
+   *
+   * @param typeCode JwtClaims.COMPACT_ACCESS / COMPACT_REFRESH
+   * @param roleName 역할 (null이면 생략)
+   * @param statusName 계정 상태 (null이면 생략)
+   * @param tokenId 토큰 ID (null이면 생략)
+   * @param now 발행 시간 (epoch milliseconds)
+   * @param expiry 만료 시간 (epoch milliseconds)
+   */
+  private String compactToken(Long userId, String typeCode, String roleName, String statusName, String tokenId,
+                              long now, long expiry) {
+    if (tokenTemplate != null) {
+      return tokenTemplate.compactToken(
+          userId, typeCode, roleName, statusName, tokenId, now / 1000, expiry / 1000, currentSigningKey());
+    }
+
+    JwtBuilder builder = signedBuilder()
+        .subject(userId.toString())            // 토큰 주체 (사용자 ID)
+        .claim("t", typeCode);                 // 토큰 타입 코드
+    if (roleName != null && statusName != null) {
+      builder.claim("role", roleName)          // 역할
+          .claim("status", statusName);        // 계정 상태
+    }
+    if (tokenId != null) {
+      builder.id(tokenId);                     // 토큰 ID (jti)
+    }
+    return builder
+        .issuedAt(new Date(now))               // 발행 시간
+        .expiration(new Date(expiry))          // 만료 시간
         .compact();
   }
 
+  /**
+   * Base64url(패딩 없음) 난수 문자열
+   */
+  private String randomBase64Url(int bytes) {
+    byte[] random = new byte[bytes];
+    secureRandom.nextBytes(random);
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(random);
+  }
+
+  /**
+   * 토큰을 한 번만 검증/파싱하여 클레임 스냅샷을 반환한다
+   * 인증 필터처럼 subject, userId, type을 함께 필요로 하는 곳에서 사용한다
+   * 이미 검증된 토큰이면 VerifiedTokenCache에서 바로 반환하여 서명 검증을 건너뛴다
+   *
+   * @param token JWT 토큰
+   * @return 검증된 클레임 (불변 객체)
+   * @throws ExpiredJwtException 토큰이 만료된 경우
+   * @throws JwtException 토큰이 유효하지 않은 경우 (서명 오류, 형식 오류 등)
+   * @throws IllegalArgumentException 토큰이 null이거나 빈 문자열인 경우
+   */
+  public JwtClaims parseClaims(String token) {
+    return verifiedTokenCache.get(token, this::verifyClaims);
+  }
+
+  /**
+   * 서명 검증 + 파싱을 실제로 수행하여 클레임 스냅샷을 만든다 (캐시 미스 시 호출)
+   *
+   * @param token JWT 토큰
+   * @return 검증된 클레임
+   */
+  private JwtClaims verifyClaims(String token) {
+    // 1️⃣ 우리가 발급한 일반적인 HS512 토큰은 고속 검증기로 처리
+    if (fastVerifier != null && token != null) {
+      JwtClaims claims = fastVerifier.verify(token);
+      if (claims != null) {
+        return claims;
+      }
+    }
+
+    // 2️⃣ 그 외(만료, 비대칭 서명, 예상과 다른 형식 등)는 jjwt로 처리
+    Claims claims = parseToken(token);
+
+    // compact 프로필 토큰 (t 클레임 존재)
+    User.Role role = JwtClaims.parseRole(claims.get("role", String.class));
+    User.Status status = JwtClaims.parseStatus(claims.get("status", String.class));
+    String typeCode = claims.get("t", String.class);
+    if (typeCode != null) {
+      JwtClaims compact = JwtClaims.compact(
+          claims.getSubject(), typeCode, toEpochMillis(claims.getIssuedAt()), toEpochMillis(claims.getExpiration()),
+          role, status);
+      if (compact == null) {
+        throw new MalformedJwtException("compact 토큰의 sub가 사용자 ID 형식이 아닙니다");
+      }
+      return compact;
+    }
+
+    return new JwtClaims(
+        claims.getSubject(),
+        claims.get("userId", Long.class),
+        claims.get("type", String.class),
+        toEpochMillis(claims.getIssuedAt()),
+        toEpochMillis(claims.getExpiration()),
+        false,
+        role,
+        status
+    );
+  }
+
+  /**
+   * JWT 형식 토큰인지 확인한다 (opaque Refresh Token은 '.'을 포함하지 않음)
+   *
+   * @param token 토큰 문자열
+   * @return header.payload.signature 형식이면 true
+   */
+  public boolean isJwt(String token) {
+    return token != null && token.indexOf('.') >= 0;
+  }
+
   /**
    * 토큰에서 사용자 이메일 추출
    * @param token JWT 토큰
-   * @return 사용자 이메일
+   * @return 사용자 이메일 (compact 프로필 토큰은 이메일을 싣지 않으므로 null)
    */
   public String getEmailFromToken(String token) {
-    Claims claims = parseToken(token);
-    return claims.getSubject();
+    return parseClaims(token).getEmail();
   }
 
   /**
@@ -96,8 +319,7 @@ public class JwtTokenProvider {
    * @return 사용자 ID
    */
   public Long getUserIdFromToken(String token) {
-    Claims claims = parseToken(token);
-    return claims.get("userId", Long.class);
+    return parseClaims(token).getUserId();
   }
 
   /**
@@ -110,29 +332,83 @@ public class JwtTokenProvider {
    * @throws IllegalArgumentException 토큰이 null이거나 빈 문자열인 경우
    */
   public boolean validateToken(String token) {
-    // parseToken() 호출 시 발생하는 예외를 그대로 전파
+    // parseClaims() 호출 시 발생하는 예외를 그대로 전파
     // - ExpiredJwtException: 토큰 만료
     // - SignatureException: 서명 불일치
     // - MalformedJwtException: 잘못된 JWT 형식
     // - UnsupportedJwtException: 지원하지 않는 JWT
     // - IllegalArgumentException: 빈 토큰
-    parseToken(token);
+    parseClaims(token);
     return true;
   }
 
+  /**
+   * 현재 서명 키가 설정된 JwtBuilder를 만든다
+   * - 비대칭 모드: 키 링의 현재 키로 서명하고 kid 헤더를 기록
+   * - HS512 모드: 기존 HMAC 비밀 키로 서명
+   *
+   * @return 서명 설정이 끝난 JwtBuilder
+   */
+  private JwtBuilder signedBuilder() {
+    if (keyRing.isAsymmetric()) {
+      JwtKeyRing.SigningKey signingKey = keyRing.currentSigningKey();
+      return Jwts.builder()
+          .header().keyId(signingKey.getKid()).and()      // 검증 키 식별자
+          .signWith(signingKey.getPrivateKey(), signingKey.getAlgorithm());
+    }
+    return Jwts.builder().signWith(secretKey);
+  }
+
+  /**
+   * 현재 키 링 서명 키 (HS512 모드면 null)
+   */
+  private JwtKeyRing.SigningKey currentSigningKey() {
+    return keyRing.isAsymmetric() ? keyRing.currentSigningKey() : null;
+  }
+
+  /**
+   * JWT 헤더의 kid로 서명 검증 키를 찾는다 (JwtParser keyLocator)
+   *
+   * @param header JWT 헤더
+   * @return 검증 키
+   * @throws UnsupportedJwtException 알 수 없는 kid이거나 허용되지 않는 기존 HMAC 토큰인 경우
+   */
+  private Key locateVerificationKey(Header header) {
+    String kid = header instanceof ProtectedHeader protectedHeader ? protectedHeader.getKeyId() : null;
+
+    // kid가 없는 토큰 = 기존 HS512 토큰
+    if (kid == null) {
+      if (keyRing.isAsymmetric() && !keyRing.isAcceptLegacyHmac()) {
+        throw new UnsupportedJwtException("kid 헤더가 없는 토큰은 허용되지 않습니다");
+      }
+      return secretKey;
+    }
+
+    JwtKeyRing.SigningKey key = keyRing.findKey(kid);
+    if (key == null) {
+      throw new UnsupportedJwtException("알 수 없는 서명 키입니다 (kid: " + kid + ")");
+    }
+    return key.getPublicKey();
+  }
+
   /**
    * 토큰 파싱 (내부 메서드)
    * @param token JWT 토큰
    * @return Claims 객체
    */
   private Claims parseToken(String token) {
-    return Jwts.parser()
-        .verifyWith(secretKey)                 // 서명 검증
-        .build()
+    return jwtParser
         .parseSignedClaims(token)              // 토큰 파싱
         .getPayload();                         // Claims 추출
   }
 
+  /**
+   * Date를 epoch milliseconds로 변환한다 (없으면 0)
+   */
+  private static long toEpochMillis(Date date) {
+    return date != null ? date.getTime() : 0L;
+  }
+
   /**
    * Refresh Token의 만료 시간 계산
    * @return 만료 시간 (LocalDateTime)
@@ -0,0 +1,217 @@
+package com.example.myauth.security;
+
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.Signature;
+import java.util.Base64;
+
+/**
+ * 고정 템플릿 기반 JWT 발급기
+ *
+ * Jwts.builder()는 발급할 때마다 헤더/클레임 Map을 만들고 Jackson으로 직렬화한다.
+ * 우리가 발급하는 토큰은 헤더와 클레임 구성이 항상 같으므로
+ * - 헤더 세그먼트는 미리 Base64url로 인코딩해 두고
+ * - 페이로드는 고정 순서 템플릿에 숫자 필드를 직접 써서 만들고
+ * - 서명은 스레드별 Mac/Signature로 계산한다
+ *
+ * 결과물은 jjwt가 만드는 토큰과 바이트 단위로 동일한 JWS Compact 문자열이다
+ * (HMAC은 jjwt와 같이 키 길이로 HS256/384/512를 고른다; ES256/EdDSA는 서명 값 자체가 매번 달라지지만 형식은 동일)
+ */
+final class JwtTokenTemplate {
+
+  private static final Base64.Encoder BASE64URL = Base64.getUrlEncoder().withoutPadding();
+  private static final char[] HEX = "0123456789ABCDEF".toCharArray();
+
+  private final String hmacHeaderSegment;
+  private final ThreadLocal<Mac> macs;
+  private final ThreadLocal<StringBuilder> payloads = ThreadLocal.withInitial(() -> new StringBuilder(256));
+  private final ThreadLocal<Signature> signatures = new ThreadLocal<>();
+
+  /**
+   * 생성자
+   *
+   * @param secretKey HMAC 비밀 키 (키 링을 사용하지 않을 때의 서명 키, Keys.hmacShaKeyFor()로 만든 키)
+   */
+  JwtTokenTemplate(SecretKey secretKey) {
+    this.hmacHeaderSegment = JwsCodec.hmacHeaderSegment(secretKey);
+    this.macs = JwsCodec.threadLocalMacs(secretKey);
+  }
+
+  /**
+   * Access Token 발급
+   * 페이로드: {"sub":email,"userId":id,"type":"access",["role":역할,"status":상태,]"iat":초,"exp":초}
+   *
+   * @param role 역할 enum 이름 (principal 클레임을 넣지 않으면 null)
+   * @param status 계정 상태 enum 이름 (principal 클레임을 넣지 않으면 null)
+   * @param signingKey 키 링 서명 키 (HS512 모드면 null)
+   */
+  String accessToken(String email, Long userId, String role, String status,
+                     long issuedAtSeconds, long expiresAtSeconds, JwtKeyRing.SigningKey signingKey) {
+    StringBuilder json = payload();
+    appendString(json, "sub", email);
+    if (userId != null) {
+      json.append(",\"userId\":").append(userId.longValue());
+    }
+    json.append(",\"type\":\"access\"");
+    appendPrincipal(json, role, status);
+    appendTimes(json, issuedAtSeconds, expiresAtSeconds);
+    return sign(json, signingKey);
+  }
+
+  /**
+   * Refresh Token 발급
+   * 페이로드: {"sub":email,"type":"refresh","jti":토큰ID,"iat":초,"exp":초}
+   *
+   * @param tokenId 토큰 ID (Base64url 난수)
+   * @param signingKey 키 링 서명 키 (HS512 모드면 null)
+   */
+  String refreshToken(String email, String tokenId, long issuedAtSeconds, long expiresAtSeconds,
+                      JwtKeyRing.SigningKey signingKey) {
+    StringBuilder json = payload();
+    appendString(json, "sub", email);
+    json.append(",\"type\":\"refresh\"");
+    appendTokenId(json, tokenId);
+    appendTimes(json, issuedAtSeconds, expiresAtSeconds);
+    return sign(json, signingKey);
+  }
+
+  /**
+   * compact 프로필 토큰 발급
+   * 페이로드: {"sub":"사용자ID","t":"a|r",["role":역할,"status":상태,]["jti":토큰ID,]"iat":초,"exp":초}
+   *
+   * @param typeCode JwtClaims.COMPACT_ACCESS / COMPACT_REFRESH
+   * @param role 역할 enum 이름 (principal 클레임을 넣지 않으면 null)
+   * @param status 계정 상태 enum 이름 (principal 클레임을 넣지 않으면 null)
+   * @param tokenId 토큰 ID (Refresh Token만, 넣지 않으면 null)
+   * @param signingKey 키 링 서명 키 (HS512 모드면 null)
+   */
+  String compactToken(long userId, String typeCode, String role, String status, String tokenId,
+                      long issuedAtSeconds, long expiresAtSeconds, JwtKeyRing.SigningKey signingKey) {
+    StringBuilder json = payload();
+    json.append("\"sub\":\"").append(userId).append('"')
+        .append(",\"t\":\"").append(typeCode).append('"');
+    appendPrincipal(json, role, status);
+    appendTokenId(json, tokenId);
+    appendTimes(json, issuedAtSeconds, expiresAtSeconds);
+    return sign(json, signingKey);
+  }
+
+  // ----- 페이로드 작성 -----
+
+  private StringBuilder payload() {
+    StringBuilder json = payloads.get();
+    json.setLength(0);
+    return json.append('{');
+  }
+
+  /**
+   * ,"role":역할,"status":상태 를 쓴다 (둘 중 하나라도 null이면 쓰지 않음)
+   * 값은 enum 이름(영문 대문자/밑줄)이므로 이스케이프가 필요 없다
+   */
+  private static void appendPrincipal(StringBuilder json, String role, String status) {
+    if (role != null && status != null) {
+      json.append(",\"role\":\"").append(role)
+          .append("\",\"status\":\"").append(status).append('"');
+    }
+  }
+
+  /**
+   * ,"jti":토큰ID 를 쓴다 (null이면 쓰지 않음)
+   * 값은 Base64url 문자만 포함하므로 이스케이프가 필요 없다
+   */
+  private static void appendTokenId(StringBuilder json, String tokenId) {
+    if (tokenId != null) {
+      json.append(",\"jti\":\"").append(tokenId).append('"');
+    }
+  }
+
+  private static void appendTimes(StringBuilder json, long issuedAtSeconds, long expiresAtSeconds) {
+    json.append(",\"iat\":").append(issuedAtSeconds)
+        .append(",\"exp\":").append(expiresAtSeconds)
+        .append('}');
+  }
+
+  /**
+   * "name":"value" 를 쓴다 (첫 필드용이므로 앞에 쉼표를 붙이지 않음)
+   * 값은 Jackson과 같은 규칙으로 이스케이프한다
+   */
+  private static void appendString(StringBuilder json, String name, String value) {
+    json.append('"').append(name).append("\":");
+    if (value == null) {
+      json.append("null");
+      return;
+    }
+    json.append('"');
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      switch (c) {
+        case '"' -> json.append("\\\"");
+        case '\\' -> json.append("\\\\");
+        case '\b' -> json.append("\\b");
+        case '\f' -> json.append("\\f");
+        case '\n' -> json.append("\\n");
+        case '\r' -> json.append("\\r");
+        case '\t' -> json.append("\\t");
+        default -> {
+          if (c < 0x20) {
+            json.append("\\u00").append(HEX[c >> 4]).append(HEX[c & 0xF]);
+          } else {
+            json.append(c);
+          }
+        }
+      }
+    }
+    json.append('"');
+  }
+
+  // ----- 서명 -----
+
+  /**
+   * header.payload.signature 형식의 토큰을 만든다
+   */
+  private String sign(StringBuilder json, JwtKeyRing.SigningKey signingKey) {
+    String header = signingKey != null ? signingKey.getHeaderSegment() : hmacHeaderSegment;
+    byte[] payload = BASE64URL.encode(json.toString().getBytes(StandardCharsets.UTF_8));
+
+    // 서명 대상: ASCII(header) + '.' + ASCII(payload)
+    int headerLength = header.length();
+    byte[] signingInput = new byte[headerLength + 1 + payload.length];
+    for (int i = 0; i < headerLength; i++) {
+      signingInput[i] = (byte) header.charAt(i);  // Base64url은 ASCII이므로 그대로 복사
+    }
+    signingInput[headerLength] = '.';
+    System.arraycopy(payload, 0, signingInput, headerLength + 1, payload.length);
+
+    byte[] signature = signingKey != null ? signAsymmetric(signingKey, signingInput) : macs.get().doFinal(signingInput);
+    byte[] encodedSignature = BASE64URL.encode(signature);
+
+    byte[] token = new byte[signingInput.length + 1 + encodedSignature.length];
+    System.arraycopy(signingInput, 0, token, 0, signingInput.length);
+    token[signingInput.length] = '.';
+    System.arraycopy(encodedSignature, 0, token, signingInput.length + 1, encodedSignature.length);
+    return new String(token, StandardCharsets.ISO_8859_1);
+  }
+
+  /**
+   * ES256/EdDSA 서명
+   * ES256은 JWS 규격(R||S 64바이트)에 맞게 P1363 형식으로 서명한다
+   */
+  private byte[] signAsymmetric(JwtKeyRing.SigningKey signingKey, byte[] signingInput) {
+    String jcaAlgorithm = "ES256".equals(signingKey.getAlgorithmName()) ? "SHA256withECDSAinP1363Format" : "Ed25519";
+    try {
+      // Signature 인스턴스는 스레드별로 재사용하고 키만 다시 설정한다
+      Signature signature = signatures.get();
+      if (signature == null || !signature.getAlgorithm().equals(jcaAlgorithm)) {
+        signature = Signature.getInstance(jcaAlgorithm);
+        signatures.set(signature);
+      }
+      signature.initSign(signingKey.getPrivateKey());
+      signature.update(signingInput);
+      return signature.sign();
+    } catch (GeneralSecurityException e) {
+      throw new IllegalStateException("JWT 서명에 실패했습니다 (kid: " + signingKey.getKid() + ")", e);
+    }
+  }
+}
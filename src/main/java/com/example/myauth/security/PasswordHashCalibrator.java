@@ -0,0 +1,126 @@
+package com.example.myauth.security;
+
+import com.example.myauth.config.AppProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * 비밀번호 해시 비용 보정
+ *
+ * 시작 시 이 서버에서 해시 1회에 걸리는 시간을 측정하여 app.password-hashing.target-latency에 맞는 비용을 고르고
+ * {id} 접두사로 알고리즘을 구분하는 DelegatingPasswordEncoder를 만든다
+ * - bcrypt: strength 1 증가마다 시간이 2배이므로 낮은 strength에서 한 번 측정하고 외삽한다
+ * - argon2: 메모리는 고정(argon2-memory-kib)하고 iterations를 시간에 비례하여 고른다
+ * - 접두사가 없는 기존 해시($2a$...)는 BCrypt로 검증한다
+ * 저장된 해시가 현재 알고리즘/비용보다 약하면 upgradeEncoding()이 true를 반환하므로 로그인 성공 시 재해시한다
+ *
+ * 측정값이 흔들려도 보안이 약해지지 않도록 비용은 하한(BCrypt 10, Argon2id iterations 2) 아래로 내려가지 않는다
+ */
+@Slf4j
+public final class PasswordHashCalibrator {
+
+  static final String BCRYPT = "bcrypt";
+  static final String ARGON2 = "argon2";
+
+  /** BCryptPasswordEncoder 기본값 (기존 해시보다 약해지지 않도록 하한으로 사용) */
+  static final int MIN_BCRYPT_STRENGTH = 10;
+  static final int MAX_BCRYPT_STRENGTH = 16;
+  static final int MIN_ARGON2_ITERATIONS = 2;
+  static final int MAX_ARGON2_ITERATIONS = 16;
+
+  /** 측정에 사용하는 BCrypt strength (약 5ms, 시작 시간에 영향이 적음) */
+  private static final int PROBE_BCRYPT_STRENGTH = 8;
+  private static final int PROBE_RUNS = 3;
+  private static final String PROBE_PASSWORD = "calibration-Passw0rd!";
+
+  private static final int ARGON2_SALT_LENGTH = 16;
+  private static final int ARGON2_HASH_LENGTH = 32;
+  private static final int ARGON2_PARALLELISM = 1;
+
+  private PasswordHashCalibrator() {
+  }
+
+  /**
+   * 설정에 맞게 보정한 PasswordEncoder를 만든다
+   *
+   * @param properties app.password-hashing 설정
+   * @return 새 해시는 설정한 알고리즘으로 만들고, 기존 해시는 접두사로 알고리즘을 골라 검증하는 인코더
+   */
+  public static PasswordEncoder createPasswordEncoder(AppProperties.PasswordHashing properties) {
+    String algorithm = properties.getAlgorithm().trim().toLowerCase();
+    if (!BCRYPT.equals(algorithm) && !ARGON2.equals(algorithm)) {
+      throw new IllegalStateException("지원하지 않는 비밀번호 해시 알고리즘입니다: " + properties.getAlgorithm());
+    }
+    Duration target = properties.getTargetLatency();
+    boolean calibrate = target != null && target.isPositive();
+
+    // 새 해시에 사용하는 알고리즘만 보정한다 (다른 알고리즘은 검증 전용이며 비용은 해시 문자열에 들어 있음)
+    int bcryptStrength = calibrate && BCRYPT.equals(algorithm)
+        ? calibrateBcryptStrength(target)
+        : MIN_BCRYPT_STRENGTH;
+    int argon2Iterations = calibrate && ARGON2.equals(algorithm)
+        ? calibrateArgon2Iterations(target, properties.getArgon2MemoryKib())
+        : MIN_ARGON2_ITERATIONS;
+
+    log.info("비밀번호 해시 설정 - 알고리즘: {}, 목표 시간: {}, BCrypt strength: {}, Argon2id iterations: {}, 메모리: {}KiB",
+        algorithm, target, bcryptStrength, argon2Iterations, properties.getArgon2MemoryKib());
+
+    BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(bcryptStrength);
+    DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder(algorithm, Map.of(
+        BCRYPT, bcrypt,
+        ARGON2, argon2(properties.getArgon2MemoryKib(), argon2Iterations)
+    ));
+    encoder.setDefaultPasswordEncoderForMatches(bcrypt);
+    return encoder;
+  }
+
+  /**
+   * 목표 시간을 넘지 않는 가장 큰 BCrypt strength
+   */
+  static int calibrateBcryptStrength(Duration target) {
+    BCryptPasswordEncoder probe = new BCryptPasswordEncoder(PROBE_BCRYPT_STRENGTH);
+    long probeNanos = fastestOf(() -> probe.encode(PROBE_PASSWORD));
+
+    int strength = PROBE_BCRYPT_STRENGTH;
+    while (strength < MAX_BCRYPT_STRENGTH && probeNanos << (strength + 1 - PROBE_BCRYPT_STRENGTH) <= target.toNanos()) {
+      strength++;
+    }
+    return Math.max(MIN_BCRYPT_STRENGTH, strength);
+  }
+
+  /**
+   * 목표 시간을 넘지 않는 가장 큰 Argon2id iterations (iterations 1회 측정값에 비례)
+   */
+  static int calibrateArgon2Iterations(Duration target, int memoryKib) {
+    Argon2PasswordEncoder probe = argon2(memoryKib, 1);
+    long probeNanos = Math.max(1, fastestOf(() -> probe.encode(PROBE_PASSWORD)));
+
+    long iterations = target.toNanos() / probeNanos;
+    return (int) Math.max(MIN_ARGON2_ITERATIONS, Math.min(MAX_ARGON2_ITERATIONS, iterations));
+  }
+
+  private static Argon2PasswordEncoder argon2(int memoryKib, int iterations) {
+    return new Argon2PasswordEncoder(
+        ARGON2_SALT_LENGTH, ARGON2_HASH_LENGTH, ARGON2_PARALLELISM, memoryKib, iterations);
+  }
+
+  /**
+   * 한 번 예열한 뒤 PROBE_RUNS회 중 가장 짧은 실행 시간 (다른 작업으로 인한 지연을 제외)
+   */
+  private static long fastestOf(Runnable hash) {
+    hash.run();
+    long fastest = Long.MAX_VALUE;
+    for (int i = 0; i < PROBE_RUNS; i++) {
+      long start = System.nanoTime();
+      hash.run();
+      fastest = Math.min(fastest, System.nanoTime() - start);
+    }
+    return fastest;
+  }
+}
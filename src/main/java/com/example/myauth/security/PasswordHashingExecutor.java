@@ -0,0 +1,201 @@
+package com.example.myauth.security;
+
+import com.example.myauth.config.AppProperties;
+import com.example.myauth.exception.PasswordHashingBusyException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * 비밀번호 해시(BCrypt/Argon2id) 전용 실행기
+ *
+ * BCrypt는 요청당 약 100ms의 CPU를 사용하므로 Tomcat 요청 스레드에서 직접 실행하면
+ * 로그인 폭주 시 인증된 일반 API 요청까지 스레드를 얻지 못한다
+ * 해시 작업을 CPU 코어 수 크기의 스레드 풀과 bounded 대기열로 옮겨 동시 실행 수를 제한한다
+ *
+ * - 입장 제어: 예상 대기 시간(대기열 길이 × 평균 해시 시간 / 스레드 수)이 app.password-hashing.max-wait보다 길면 바로 거부
+ * - 대기열 포화: 대기열에 넣을 수 없으면 바로 거부
+ * - 대기 중 기한 초과: 실행 시점에 이미 max-wait를 넘겼으면 해시하지 않고 거부
+ * 거부 시 PasswordHashingBusyException → 429 Too Many Requests + Retry-After
+ *
+ * 메트릭: password.hashing.queue.size, password.hashing.active, password.hashing.wait, password.hashing.rejected(reason)
+ */
+@Slf4j
+@Component
+public class PasswordHashingExecutor {
+
+  /** 목표 해시 시간이 없을 때 첫 측정 전 평균 해시 시간 추정값 (BCrypt strength 10 기준) */
+  private static final long INITIAL_SERVICE_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+  private static final String BUSY_MESSAGE = "로그인 요청이 많습니다. 잠시 후 다시 시도해주세요.";
+
+  private final ThreadPoolExecutor executor;
+  private final int threads;
+  private final long maxWaitNanos;
+
+  /** 해시 1회 평균 실행 시간 (지수 이동 평균, nanoseconds) */
+  private final AtomicLong averageServiceNanos;
+
+  private final Timer waitTimer;
+  private final Counter queueFullRejections;
+  private final Counter deadlineRejections;
+
+  public PasswordHashingExecutor(AppProperties appProperties, MeterRegistry meterRegistry) {
+    AppProperties.PasswordHashing properties = appProperties.getPasswordHashing();
+    this.threads = properties.getThreads() > 0
+        ? properties.getThreads()
+        : Runtime.getRuntime().availableProcessors();
+    this.maxWaitNanos = properties.getMaxWait().toNanos();
+    this.averageServiceNanos = new AtomicLong(properties.getTargetLatency().isPositive()
+        ? properties.getTargetLatency().toNanos()
+        : INITIAL_SERVICE_NANOS);
+    this.executor = new ThreadPoolExecutor(
+        threads, threads, 0L, TimeUnit.MILLISECONDS,
+        new ArrayBlockingQueue<>(properties.getQueueCapacity()),
+        new HashingThreadFactory(),
+        new ThreadPoolExecutor.AbortPolicy());
+
+    log.info("비밀번호 해시 실행기 설정 - 스레드: {}, 대기열: {}, 최대 대기: {}",
+        threads, properties.getQueueCapacity(), properties.getMaxWait());
+
+    Gauge.builder("password.hashing.queue.size", executor, e -> e.getQueue().size())
+        .description("실행을 기다리는 비밀번호 해시 작업 수")
+        .register(meterRegistry);
+    Gauge.builder("password.hashing.active", executor, ThreadPoolExecutor::getActiveCount)
+        .description("실행 중인 비밀번호 해시 작업 수")
+        .register(meterRegistry);
+    this.waitTimer = Timer.builder("password.hashing.wait")
+        .description("비밀번호 해시 작업의 대기열 대기 시간")
+        .register(meterRegistry);
+    this.queueFullRejections = rejectionCounter(meterRegistry, "queue_full");
+    this.deadlineRejections = rejectionCounter(meterRegistry, "deadline");
+  }
+
+  /**
+   * 해시 작업을 전용 스레드에서 실행하고 결과를 기다린다
+   *
+   * @param task 비밀번호 해시/검증 작업
+   * @return 작업 결과
+   * @throws PasswordHashingBusyException 대기열이 가득 찼거나 max-wait 안에 실행할 수 없는 경우
+   */
+  public <T> T execute(Supplier<T> task) {
+    // 1️⃣ 입장 제어: 기다려도 기한 안에 실행되지 못할 작업은 대기열에 넣지 않는다
+    long estimatedWaitNanos = estimatedWaitNanos(executor.getQueue().size());
+    if (estimatedWaitNanos > maxWaitNanos) {
+      deadlineRejections.increment();
+      throw busy(estimatedWaitNanos);
+    }
+
+    // 2️⃣ 대기열에 넣는다 (가득 차면 AbortPolicy가 RejectedExecutionException을 던짐)
+    long enqueuedAt = System.nanoTime();
+    Future<T> future;
+    try {
+      future = executor.submit(() -> run(task, enqueuedAt));
+    } catch (RejectedExecutionException e) {
+      queueFullRejections.increment();
+      throw busy(estimatedWaitNanos(executor.getQueue().size()));
+    }
+
+    // 3️⃣ 결과를 기다린다 (작업은 기한 초과 시 스스로 거부하므로 대기 시간은 max-wait + 해시 시간으로 제한됨)
+    try {
+      return future.get();
+    } catch (InterruptedException e) {
+      future.cancel(true);
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("비밀번호 해시 대기 중 인터럽트되었습니다.", e);
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      }
+      if (cause instanceof Error error) {
+        throw error;
+      }
+      throw new IllegalStateException("비밀번호 해시 작업 실패", cause);
+    }
+  }
+
+  /**
+   * 대기 중인 작업이 있는지 (모든 스레드가 사용 중)
+   * 미룰 수 있는 작업(재해시 등)을 추가로 넣지 않기 위한 확인용이다
+   */
+  public boolean isSaturated() {
+    return !executor.getQueue().isEmpty();
+  }
+
+  /**
+   * 작업 스레드에서 실행된다 (대기 시간 기록 → 기한 확인 → 해시 → 평균 실행 시간 갱신)
+   */
+  private <T> T run(Supplier<T> task, long enqueuedAt) {
+    long startedAt = System.nanoTime();
+    long waitedNanos = startedAt - enqueuedAt;
+    waitTimer.record(waitedNanos, TimeUnit.NANOSECONDS);
+
+    // 예상보다 오래 기다린 작업은 실행하지 않는다 (뒤의 작업까지 기한을 넘기지 않도록)
+    if (waitedNanos > maxWaitNanos) {
+      deadlineRejections.increment();
+      throw busy(estimatedWaitNanos(executor.getQueue().size()));
+    }
+
+    T result = task.get();
+    long serviceNanos = System.nanoTime() - startedAt;
+    averageServiceNanos.accumulateAndGet(serviceNanos, (average, sample) -> average + (sample - average) / 8);
+    return result;
+  }
+
+  /**
+   * 대기열에 queued개의 작업이 있을 때 새 작업이 실행되기까지의 예상 대기 시간
+   */
+  private long estimatedWaitNanos(int queued) {
+    return queued * averageServiceNanos.get() / threads;
+  }
+
+  private static PasswordHashingBusyException busy(long estimatedWaitNanos) {
+    long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(estimatedWaitNanos) + 1);
+    return new PasswordHashingBusyException(BUSY_MESSAGE, retryAfterSeconds);
+  }
+
+  private static Counter rejectionCounter(MeterRegistry meterRegistry, String reason) {
+    return Counter.builder("password.hashing.rejected")
+        .description("대기열 포화/기한 초과로 거부된 비밀번호 해시 작업 수")
+        .tag("reason", reason)
+        .register(meterRegistry);
+  }
+
+  /**
+   * 애플리케이션 종료 시 스레드 풀을 정리한다
+   */
+  @PreDestroy
+  public void shutdown() {
+    executor.shutdown();
+  }
+
+  /**
+   * 데몬 스레드 생성기 (스레드 덤프에서 구분되도록 이름 지정)
+   */
+  private static final class HashingThreadFactory implements ThreadFactory {
+    private final AtomicInteger sequence = new AtomicInteger();
+
+    @Override
+    public Thread newThread(Runnable runnable) {
+      Thread thread = new Thread(runnable, "password-hashing-" + sequence.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    }
+  }
+}
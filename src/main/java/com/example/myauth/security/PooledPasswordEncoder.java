@@ -0,0 +1,49 @@
+package com.example.myauth.security;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * 해시/검증을 PasswordHashingExecutor에서 실행하는 PasswordEncoder
+ *
+ * AuthService(login, registerUser)뿐 아니라 AuthenticationManager(loginEx)의 DaoAuthenticationProvider도
+ * 이 빈을 사용하므로 모든 BCrypt 호출이 같은 bounded 스레드 풀을 거친다
+ */
+public class PooledPasswordEncoder implements PasswordEncoder {
+
+  private final PasswordEncoder delegate;
+  private final PasswordHashingExecutor executor;
+
+  public PooledPasswordEncoder(PasswordEncoder delegate, PasswordHashingExecutor executor) {
+    this.delegate = delegate;
+    this.executor = executor;
+  }
+
+  @Override
+  public String encode(CharSequence rawPassword) {
+    return executor.execute(() -> delegate.encode(rawPassword));
+  }
+
+  @Override
+  public boolean matches(CharSequence rawPassword, String encodedPassword) {
+    return executor.execute(() -> delegate.matches(rawPassword, encodedPassword));
+  }
+
+  /**
+   * 스레드 풀을 거치지 않는 보정된 인코더
+   * 일괄 등록처럼 자체 스레드 풀에서 대량으로 해시하는 작업이 로그인용 대기열을 차지하지 않도록 사용한다
+   *
+   * @return 감싸고 있는 PasswordEncoder
+   */
+  public PasswordEncoder getDelegate() {
+    return delegate;
+  }
+
+  /**
+   * 해시 문자열의 알고리즘/비용만 비교하므로 호출 스레드에서 실행한다
+   * 해시 스레드가 모두 사용 중이면 재해시(encode 1회 추가)를 다음 로그인으로 미룬다
+   */
+  @Override
+  public boolean upgradeEncoding(String encodedPassword) {
+    return delegate.upgradeEncoding(encodedPassword) && !executor.isSaturated();
+  }
+}
@@ -0,0 +1,127 @@
+package com.example.myauth.security;
+
+import com.example.myauth.dto.JwtErrorResponse;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.MediaType;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Function;
+
+/**
+ * 미리 직렬화한 JWT 오류 응답 본문
+ *
+ * JwtErrorResponse는 path만 요청마다 다르므로, 시작 시 ObjectMapper로 한 번 직렬화하여
+ * path 앞/뒤 JSON 조각을 바이트로 보관하고 요청 시에는 path만 이스케이프해서 이어 쓴다
+ * 결과는 ObjectMapper로 매번 직렬화한 것과 바이트 단위로 같다 (같은 ObjectMapper 설정으로 만들기 때문)
+ */
+final class PreparedErrorBody {
+
+  private static final String PATH_PLACEHOLDER = "__PATH__";
+  private static final byte[] HEX = "0123456789ABCDEF".getBytes(StandardCharsets.US_ASCII);
+
+  private final int status;
+  private final byte[] prefix;
+  private final byte[] suffix;
+
+  private PreparedErrorBody(int status, byte[] prefix, byte[] suffix) {
+    this.status = status;
+    this.prefix = prefix;
+    this.suffix = suffix;
+  }
+
+  /**
+   * 오류 응답 팩토리(JwtErrorResponse::invalidToken 등)로 본문 템플릿을 만든다
+   *
+   * @param objectMapper 응답 직렬화에 사용하는 ObjectMapper
+   * @param factory path → 오류 응답
+   * @param status HTTP 상태 코드
+   * @return 본문 템플릿
+   */
+  static PreparedErrorBody of(ObjectMapper objectMapper, Function<String, JwtErrorResponse> factory, int status) {
+    String json = objectMapper.writeValueAsString(factory.apply(PATH_PLACEHOLDER));
+    String quotedPlaceholder = "\"" + PATH_PLACEHOLDER + "\"";
+    int index = json.indexOf(quotedPlaceholder);
+    if (index < 0) {
+      throw new IllegalStateException("오류 응답에서 path 필드를 찾을 수 없습니다: " + json);
+    }
+    return new PreparedErrorBody(
+        status,
+        json.substring(0, index + 1).getBytes(StandardCharsets.UTF_8),
+        json.substring(index + quotedPlaceholder.length() - 1).getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * 응답을 작성한다
+   *
+   * @param response HTTP 응답
+   * @param path 요청 경로
+   */
+  void write(HttpServletResponse response, String path) throws IOException {
+    byte[] escapedPath = escape(path);
+
+    response.setStatus(status);
+    response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+    response.setCharacterEncoding("UTF-8");
+    response.setContentLength(prefix.length + escapedPath.length + suffix.length);
+
+    OutputStream out = response.getOutputStream();
+    out.write(prefix);
+    out.write(escapedPath);
+    out.write(suffix);
+  }
+
+  /**
+   * JSON 문자열 값으로 이스케이프한 UTF-8 바이트 (따옴표 제외)
+   * Jackson 기본 설정과 같이 ", \, 제어 문자만 이스케이프한다 (\b \t \n \f \r 은 짧은 형식)
+   */
+  private static byte[] escape(String value) {
+    byte[] raw = value.getBytes(StandardCharsets.UTF_8);
+    int extra = 0;
+    for (byte b : raw) {
+      if (b == '"' || b == '\\' || shortEscape(b) != 0) {
+        extra += 1;
+      } else if (b >= 0 && b < 0x20) {
+        extra += 5;
+      }
+    }
+    if (extra == 0) {
+      return raw;
+    }
+
+    byte[] escaped = new byte[raw.length + extra];
+    int o = 0;
+    for (byte b : raw) {
+      if (b == '"' || b == '\\') {
+        escaped[o++] = '\\';
+        escaped[o++] = b;
+      } else if (shortEscape(b) != 0) {
+        escaped[o++] = '\\';
+        escaped[o++] = shortEscape(b);
+      } else if (b >= 0 && b < 0x20) {
+        escaped[o++] = '\\';
+        escaped[o++] = 'u';
+        escaped[o++] = '0';
+        escaped[o++] = '0';
+        escaped[o++] = HEX[b >> 4];
+        escaped[o++] = HEX[b & 0xF];
+      } else {
+        escaped[o++] = b;
+      }
+    }
+    return escaped;
+  }
+
+  private static byte shortEscape(byte b) {
+    return switch (b) {
+      case '\b' -> 'b';
+      case '\t' -> 't';
+      case '\n' -> 'n';
+      case '\f' -> 'f';
+      case '\r' -> 'r';
+      default -> 0;
+    };
+  }
+}
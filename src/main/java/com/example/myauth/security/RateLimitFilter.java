@@ -0,0 +1,279 @@
+package com.example.myauth.security;
+
+import com.example.myauth.config.AppProperties;
+import com.example.myauth.dto.ApiResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 인증 엔드포인트(/login, /loginEx, /signup, /refresh) 요청 수 제한 필터
+ *
+ * JwtAuthenticationFilter보다 먼저 실행되며, 제한을 넘은 요청은 PasswordEncoder/DB에 도달하기 전에 429로 거부한다
+ * - 키: 클라이언트 IP, 요청 본문의 이메일(정규화) → 여러 IP로 한 계정을 노리는 credential stuffing도 제한
+ * - 정책: app.rate-limit.policies (경로별 IP/이메일 허용량과 기간)
+ * - 버킷: TokenBucketRateLimiter (잠금 없는 GCRA, bounded + 유휴 키 제거)
+ *
+ * 이메일 키가 필요한 경로는 본문을 한 번 읽어 보관한 뒤 컨트롤러가 다시 읽을 수 있게 감싸서 넘긴다
+ * - Content-Length 유무(chunked 포함)와 관계없이 항상 최대 MAX_INSPECTED_BODY + 1바이트까지 읽는다
+ * - MAX_INSPECTED_BODY보다 큰 본문은 413으로 거부한다 (이메일 기준 제한을 건너뛰는 우회 경로를 두지 않음)
+ */
+@Slf4j
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+  /** 이메일을 찾기 위해 읽을 최대 본문 크기 (로그인 요청은 수백 바이트) */
+  private static final int MAX_INSPECTED_BODY = 8 * 1024;
+
+  private final boolean enabled;
+  private final Map<String, EndpointLimiter> limitersByPath = new HashMap<>();
+  private final ObjectMapper objectMapper;
+  private final byte[] rejectedBody;
+  private final byte[] tooLargeBody;
+
+  public RateLimitFilter(AppProperties appProperties, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+    AppProperties.RateLimit properties = appProperties.getRateLimit();
+    this.enabled = properties.isEnabled();
+    this.objectMapper = objectMapper;
+    this.rejectedBody = objectMapper.writeValueAsBytes(
+        ApiResponse.error("요청이 너무 많습니다. 잠시 후 다시 시도해주세요."));
+    this.tooLargeBody = objectMapper.writeValueAsBytes(
+        ApiResponse.error("요청 본문이 너무 큽니다."));
+
+    for (AppProperties.RateLimit.Policy policy : properties.getPolicies()) {
+      limitersByPath.put(policy.getPath(), new EndpointLimiter(
+          limiter(policy.getIpLimit(), policy, properties),
+          limiter(policy.getEmailLimit(), policy, properties),
+          rejectionCounter(meterRegistry, policy.getPath(), "ip"),
+          rejectionCounter(meterRegistry, policy.getPath(), "email")
+      ));
+    }
+    log.info("요청 수 제한 설정 - 사용: {}, 경로: {}", enabled, limitersByPath.keySet());
+  }
+
+  /**
+   * 제한 대상이 아닌 요청(POST가 아니거나 정책이 없는 경로)은 필터를 거치지 않는다
+   */
+  @Override
+  protected boolean shouldNotFilter(HttpServletRequest request) {
+    return !enabled
+        || !HttpMethod.POST.matches(request.getMethod())
+        || !limitersByPath.containsKey(request.getServletPath());
+  }
+
+  @Override
+  protected void doFilterInternal(
+      HttpServletRequest request,
+      HttpServletResponse response,
+      FilterChain filterChain
+  ) throws ServletException, IOException {
+    String path = request.getServletPath();
+    EndpointLimiter limiter = limitersByPath.get(path);
+    long now = System.nanoTime();
+
+    // 1️⃣ IP 기준 (본문을 읽기 전에 판단)
+    if (limiter.byIp() != null) {
+      long waitNanos = limiter.byIp().tryAcquire(request.getRemoteAddr(), now);
+      if (waitNanos > 0) {
+        limiter.ipRejections().increment();
+        log.warn("요청 수 제한 초과 (IP) - 경로: {}, IP: {}", path, request.getRemoteAddr());
+        reject(response, waitNanos);
+        return;
+      }
+    }
+
+    // 2️⃣ 이메일 기준 (본문을 보관하고 컨트롤러에는 보관한 본문을 넘긴다)
+    HttpServletRequest forwarded = request;
+    if (limiter.byEmail() != null) {
+      CachedBodyRequest cached = CachedBodyRequest.of(request);
+      if (cached == null) {
+        log.warn("요청 본문이 너무 큼 - 경로: {}, IP: {}", path, request.getRemoteAddr());
+        rejectTooLarge(response);
+        return;
+      }
+      forwarded = cached;
+      String email = extractEmail(cached.body);
+      if (email != null) {
+        long waitNanos = limiter.byEmail().tryAcquire(email, now);
+        if (waitNanos > 0) {
+          limiter.emailRejections().increment();
+          log.warn("요청 수 제한 초과 (이메일) - 경로: {}, 이메일: {}", path, email);
+          reject(response, waitNanos);
+          return;
+        }
+      }
+    }
+
+    filterChain.doFilter(forwarded, response);
+  }
+
+  /**
+   * 본문 JSON의 email 필드 (AuthService와 같이 trim + 소문자로 정규화, 없거나 JSON이 아니면 null)
+   */
+  private String extractEmail(byte[] body) {
+    if (body.length == 0) {
+      return null;
+    }
+    try {
+      JsonNode email = objectMapper.readTree(body).get("email");
+      if (email == null || !email.isString() || email.asString().isBlank()) {
+        return null;
+      }
+      return email.asString().trim().toLowerCase();
+    } catch (JacksonException e) {
+      return null;  // 형식 오류는 컨트롤러의 검증에서 400으로 처리된다
+    }
+  }
+
+  private void reject(HttpServletResponse response, long waitNanos) throws IOException {
+    long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos) + 1);
+    response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+    response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+    response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+    response.setCharacterEncoding("UTF-8");
+    response.setContentLength(rejectedBody.length);
+    response.getOutputStream().write(rejectedBody);
+  }
+
+  private void rejectTooLarge(HttpServletResponse response) throws IOException {
+    response.setStatus(HttpStatus.CONTENT_TOO_LARGE.value());
+    response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+    response.setCharacterEncoding("UTF-8");
+    response.setContentLength(tooLargeBody.length);
+    response.getOutputStream().write(tooLargeBody);
+  }
+
+  private static TokenBucketRateLimiter limiter(
+      int limit, AppProperties.RateLimit.Policy policy, AppProperties.RateLimit properties) {
+    if (limit <= 0) {
+      return null;
+    }
+    return new TokenBucketRateLimiter(limit, policy.getPeriod(), properties.getMaximumKeys(), properties.getIdleTimeout());
+  }
+
+  private static Counter rejectionCounter(MeterRegistry meterRegistry, String path, String key) {
+    return Counter.builder("rate.limit.rejected")
+        .description("요청 수 제한으로 거부된 요청 수")
+        .tag("path", path)
+        .tag("key", key)
+        .register(meterRegistry);
+  }
+
+  /**
+   * 경로별 제한기 (IP/이메일 중 사용하지 않는 쪽은 null)
+   */
+  private record EndpointLimiter(
+      TokenBucketRateLimiter byIp,
+      TokenBucketRateLimiter byEmail,
+      Counter ipRejections,
+      Counter emailRejections
+  ) {
+  }
+
+  /**
+   * 읽어 둔 본문을 다시 제공하는 요청 래퍼
+   */
+  private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+    private final byte[] body;
+
+    private CachedBodyRequest(HttpServletRequest request, byte[] body) {
+      super(request);
+      this.body = body;
+    }
+
+    /**
+     * 본문을 최대 MAX_INSPECTED_BODY + 1바이트까지 읽어 보관한다
+     * (Content-Length가 없는 chunked 본문도 읽음, 큰 본문을 힙에 모두 올리지 않음)
+     *
+     * @return 보관한 요청, 본문이 MAX_INSPECTED_BODY보다 크면 null
+     */
+    static CachedBodyRequest of(HttpServletRequest request) throws IOException {
+      if (request.getContentLengthLong() > MAX_INSPECTED_BODY) {
+        return null;
+      }
+      byte[] body = request.getInputStream().readNBytes(MAX_INSPECTED_BODY + 1);
+      if (body.length > MAX_INSPECTED_BODY) {
+        return null;
+      }
+      return new CachedBodyRequest(request, body);
+    }
+
+    @Override
+    public ServletInputStream getInputStream() {
+      ByteArrayInputStream input = new ByteArrayInputStream(body);
+      return new ServletInputStream() {
+        @Override
+        public boolean isFinished() {
+          return input.available() == 0;
+        }
+
+        @Override
+        public boolean isReady() {
+          return true;
+        }
+
+        /**
+         * 비동기 읽기: 본문이 이미 메모리에 있으므로 바로 읽기 가능/읽기 완료를 알린다
+         */
+        @Override
+        public void setReadListener(ReadListener readListener) {
+          try {
+            if (!isFinished()) {
+              readListener.onDataAvailable();
+            }
+            if (isFinished()) {
+              readListener.onAllDataRead();
+            }
+          } catch (IOException e) {
+            readListener.onError(e);
+          }
+        }
+
+        @Override
+        public int read() {
+          return input.read();
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+          return input.read(b, off, len);
+        }
+      };
+    }
+
+    @Override
+    public BufferedReader getReader() {
+      String encoding = getCharacterEncoding();
+      return new BufferedReader(new InputStreamReader(
+          new ByteArrayInputStream(body),
+          encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8));
+    }
+  }
+}
@@ -0,0 +1,252 @@
+package com.example.myauth.security;
+
+import com.example.myauth.util.LongLongHashMap;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Refresh Token 다이제스트 → 토큰 상태(id, 사용자 ID, 만료 시각, 취소 여부) 메모리 색인
+ *
+ * /refresh 요청마다 refresh_tokens를 조회하지 않도록 발급 시와 첫 조회 시 상태를 보관한다 (DB가 기준)
+ * - 크기 제한: Caffeine bounded cache (jwt.refresh-token.index.maximum-size), 만료 시각이 지난 항목은 의미가 없으므로 TTL은 두지 않음
+ * - 즉시 무효화: Rotation으로 취소한 토큰은 취소 상태로 갱신, 로그아웃/토큰 일괄 취소 시 사용자 단위로 무효화
+ *   (사용자별 무효화 시각보다 먼저 읽은 항목은 조회 시 버린다 → 조회 중에 무효화되어도 오래된 상태가 남지 않음)
+ *   대조할 때 보관 중인 가장 오래된 항목보다 이전의 무효화 시각은 정리한다 (그보다 먼저 읽은 항목은 조회 시 버림)
+ * - 다른 인스턴스의 변경: jwt.refresh-token.index.reconcile-interval-ms마다 보관 중인 항목을 DB와 대조하여 고친다
+ *   대조가 2주기 이상 성공하지 못하면 색인을 쓰지 않고 DB를 조회한다 → DB와 다른 상태는 최대 약 2주기까지만 유지
+ *
+ * 토큰 취소는 되돌려지지 않으므로 색인이 취소됨이라고 하면 DB도 취소 상태다
+ *
+ * 메트릭: cache.* (cache=auth.refresh-token-index, 적중률), refresh.token.index.stale (대조로 고친 항목 수),
+ *        refresh.token.index.reconcile.age (마지막 대조 이후 경과 시간)
+ */
+@Slf4j
+@Component
+public class RefreshTokenIndex {
+
+  /** 대조 시 한 번에 조회하는 토큰 수 */
+  private static final int RECONCILE_BATCH_SIZE = 500;
+
+  private final boolean enabled;
+  private final long reconcileIntervalNanos;
+  private final JdbcTemplate jdbcTemplate;
+  private final Cache<ByteBuffer, Entry> entries;
+  private final Counter staleEntries;
+
+  /** 항목 저장/사용자 무효화 순서를 정하는 논리 시계 */
+  private final AtomicLong clock = new AtomicLong();
+
+  /** 사용자 ID → 무효화 시점 (clock 값, 이 값 이하에 읽은 항목은 무효) */
+  private final LongLongHashMap userInvalidations = new LongLongHashMap(1024);
+
+  /** 이 시점보다 먼저 읽은 항목은 무효 (이보다 오래된 사용자 무효화 시점은 정리됨) */
+  private volatile long prunedBefore;
+
+  /** 마지막으로 성공한 대조의 시작 시각 (System.nanoTime()) */
+  private volatile long lastReconciledNanos = System.nanoTime();
+
+  /**
+   * 생성자 - application.yaml의 jwt.refresh-token.index 설정을 주입받는다
+   */
+  public RefreshTokenIndex(
+      @Value("${jwt.refresh-token.index.enabled:true}") boolean enabled,
+      @Value("${jwt.refresh-token.index.maximum-size:100000}") long maximumSize,
+      @Value("${jwt.refresh-token.index.reconcile-interval-ms:30000}") long reconcileIntervalMs,
+      JdbcTemplate jdbcTemplate,
+      MeterRegistry meterRegistry
+  ) {
+    log.debug("Refresh Token 색인 설정 - 사용: {}, 최대 크기: {}, 대조 주기: {}ms", enabled, maximumSize, reconcileIntervalMs);
+
+    this.enabled = enabled;
+    this.reconcileIntervalNanos = TimeUnit.MILLISECONDS.toNanos(reconcileIntervalMs);
+    this.jdbcTemplate = jdbcTemplate;
+    this.entries = Caffeine.newBuilder()
+        .maximumSize(maximumSize)
+        .recordStats()
+        .build();
+    this.staleEntries = Counter.builder("refresh.token.index.stale")
+        .description("DB와 대조하여 고치거나 제거한 색인 항목 수")
+        .register(meterRegistry);
+    Gauge.builder("refresh.token.index.reconcile.age", this,
+            index -> (System.nanoTime() - index.lastReconciledNanos) / 1_000_000_000.0)
+        .description("마지막으로 성공한 DB 대조 이후 경과 시간")
+        .baseUnit("seconds")
+        .register(meterRegistry);
+
+    CaffeineCacheMetrics.monitor(meterRegistry, entries, "auth.refresh-token-index");
+  }
+
+  /**
+   * DB를 조회하기 전에 받아 두는 시점 (조회 결과를 put()할 때 전달)
+   *
+   * @return 현재 논리 시각
+   */
+  public long stamp() {
+    return clock.incrementAndGet();
+  }
+
+  /**
+   * 토큰 상태를 조회한다
+   *
+   * @param tokenHash 토큰 문자열의 SHA-256 다이제스트
+   * @return 보관 중인 상태 (없거나, 사용자 단위로 무효화되었거나, 대조가 밀려 신뢰할 수 없으면 null)
+   */
+  public Entry get(byte[] tokenHash) {
+    if (!enabled || System.nanoTime() - lastReconciledNanos > 2 * reconcileIntervalNanos) {
+      return null;
+    }
+    ByteBuffer key = ByteBuffer.wrap(tokenHash);
+    Entry entry = entries.getIfPresent(key);
+    if (entry == null) {
+      return null;
+    }
+    // 무효화 시점을 먼저 읽는다 (정리는 prunedBefore를 올린 뒤에 제거하므로 둘 중 하나에서 반드시 걸림)
+    long invalidatedAt = userInvalidations.get(entry.userId(), 0L);
+    if (entry.indexedAt() <= invalidatedAt || entry.indexedAt() < prunedBefore) {
+      entries.asMap().remove(key, entry);
+      return null;
+    }
+    return entry;
+  }
+
+  /**
+   * 토큰 상태를 보관한다 (발급 직후 또는 DB 조회 직후)
+   *
+   * @param tokenHash 토큰 문자열의 SHA-256 다이제스트
+   * @param tokenId refresh_tokens.id
+   * @param userId 사용자 ID
+   * @param expiresAt 만료 시각
+   * @param revoked 취소 여부
+   * @param readStamp 상태를 읽기 전에 받은 stamp()
+   */
+  public void put(byte[] tokenHash, Long tokenId, Long userId, LocalDateTime expiresAt, boolean revoked, long readStamp) {
+    if (!enabled || tokenHash == null || tokenId == null || userId == null) {
+      return;
+    }
+    entries.put(ByteBuffer.wrap(tokenHash.clone()), new Entry(tokenId, userId, expiresAt, revoked, readStamp));
+  }
+
+  /**
+   * 토큰을 취소 상태로 바꾼다 (Rotation으로 기존 토큰을 선점한 뒤)
+   *
+   * @param tokenHash 토큰 문자열의 SHA-256 다이제스트
+   */
+  public void markRevoked(byte[] tokenHash) {
+    entries.asMap().computeIfPresent(ByteBuffer.wrap(tokenHash), (key, entry) -> entry.revoked() ? entry
+        : new Entry(entry.tokenId(), entry.userId(), entry.expiresAt(), true, entry.indexedAt()));
+  }
+
+  /**
+   * 사용자의 모든 항목을 무효화한다 (로그아웃, 토큰 일괄 취소)
+   *
+   * @param userId 사용자 ID
+   */
+  public void invalidateUser(Long userId) {
+    if (enabled && userId != null) {
+      userInvalidations.putMax(userId, clock.incrementAndGet());
+    }
+  }
+
+  /**
+   * 보관 중인 항목을 DB와 대조한다 (삭제된 토큰은 제거, 취소 여부가 다르면 DB 값으로 갱신)
+   */
+  @Scheduled(fixedDelayString = "${jwt.refresh-token.index.reconcile-interval-ms:30000}")
+  public void reconcile() {
+    if (!enabled) {
+      return;
+    }
+    long started = System.nanoTime();
+    try {
+      List<Map.Entry<ByteBuffer, Entry>> snapshot = new ArrayList<>(entries.asMap().entrySet());
+      long stale = 0;
+      for (int from = 0; from < snapshot.size(); from += RECONCILE_BATCH_SIZE) {
+        stale += reconcile(snapshot.subList(from, Math.min(from + RECONCILE_BATCH_SIZE, snapshot.size())));
+      }
+      lastReconciledNanos = started;
+      pruneInvalidations(snapshot);
+
+      if (stale > 0) {
+        staleEntries.increment(stale);
+        log.debug("Refresh Token 색인 대조: {}건 중 {}건 수정", snapshot.size(), stale);
+      }
+    } catch (Exception e) {
+      log.warn("Refresh Token 색인을 DB와 대조할 수 없습니다: {}", e.getMessage());
+    }
+  }
+
+  /**
+   * 보관 중인 가장 오래된 항목보다 이전의 사용자 무효화 시점을 제거한다
+   * 정리 기준보다 먼저 읽은 항목(대조 중에 들어온 조회 결과 등)은 get()에서 버리므로 무효화가 누락되지 않는다
+   */
+  private void pruneInvalidations(List<Map.Entry<ByteBuffer, Entry>> snapshot) {
+    long threshold = snapshot.stream()
+        .mapToLong(e -> e.getValue().indexedAt())
+        .min()
+        .orElse(clock.get());
+    if (threshold > prunedBefore) {
+      prunedBefore = threshold;
+      userInvalidations.removeValuesBelow(threshold);
+    }
+  }
+
+  private long reconcile(List<Map.Entry<ByteBuffer, Entry>> batch) {
+    List<Long> ids = batch.stream().map(e -> e.getValue().tokenId()).toList();
+    Map<Long, Boolean> revokedById = new HashMap<>();
+    jdbcTemplate.query(
+        "SELECT id, is_revoked FROM refresh_tokens WHERE id IN ("
+            + String.join(",", Collections.nCopies(ids.size(), "?")) + ")",
+        rs -> {
+          revokedById.put(rs.getLong(1), rs.getBoolean(2));
+        },
+        ids.toArray());
+
+    long stale = 0;
+    for (Map.Entry<ByteBuffer, Entry> indexed : batch) {
+      Entry entry = indexed.getValue();
+      Boolean revoked = revokedById.get(entry.tokenId());
+      if (revoked == null) {
+        // 삭제된 토큰 (로그아웃, 만료 정리)
+        if (entries.asMap().remove(indexed.getKey(), entry)) {
+          stale++;
+        }
+      } else if (revoked != entry.revoked()) {
+        Entry corrected = new Entry(entry.tokenId(), entry.userId(), entry.expiresAt(), revoked, entry.indexedAt());
+        if (entries.asMap().replace(indexed.getKey(), entry, corrected)) {
+          stale++;
+        }
+      }
+    }
+    return stale;
+  }
+
+  /**
+   * 색인 항목
+   *
+   * @param tokenId refresh_tokens.id
+   * @param userId 사용자 ID
+   * @param expiresAt 만료 시각
+   * @param revoked 취소 여부
+   * @param indexedAt 상태를 읽기 전의 논리 시각 (사용자 무효화와 비교)
+   */
+  public record Entry(Long tokenId, Long userId, LocalDateTime expiresAt, boolean revoked, long indexedAt) {
+  }
+}
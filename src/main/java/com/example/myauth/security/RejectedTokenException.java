@@ -0,0 +1,21 @@
+package com.example.myauth.security;
+
+import io.jsonwebtoken.JwtException;
+
+/**
+ * 이미 거부된 것으로 알려진 토큰에 대한 예외 (폐기된 토큰, 최근 거부된 토큰 재전송)
+ *
+ * 원인이 명확하고 반복적으로 발생하므로 스택 트레이스를 만들지 않는다
+ * JwtException을 상속하므로 필터에서는 유효하지 않은 토큰과 같은 401 응답으로 처리된다
+ */
+final class RejectedTokenException extends JwtException {
+
+  RejectedTokenException(String message) {
+    super(message);
+  }
+
+  @Override
+  public synchronized Throwable fillInStackTrace() {
+    return this;
+  }
+}
@@ -0,0 +1,60 @@
+package com.example.myauth.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 키(IP, 이메일 등)별 토큰 버킷 요청 수 제한기
+ *
+ * 버킷 상태를 GCRA(Generic Cell Rate Algorithm) 방식으로 키당 long 하나(다음 토큰이 채워지는 이론적 시각)에 저장하고
+ * CAS로 갱신하므로 잠금 없이 동작한다 (허용량 limit, 기간 period인 토큰 버킷과 같은 결과)
+ *
+ * - 메모리 제한: Caffeine bounded cache (maximumKeys, W-TinyLFU) → 다수 IP로 공격해도 메모리가 늘지 않는다
+ * - 유휴 키 제거: idleTimeout 동안 접근이 없으면 제거 (idleTimeout ≥ period이면 이미 가득 찬 버킷이므로 결과가 같다)
+ */
+final class TokenBucketRateLimiter {
+
+  private final long emissionIntervalNanos;
+  private final long burstToleranceNanos;
+  private final Cache<String, AtomicLong> buckets;
+
+  /**
+   * @param limit period 동안 허용하는 요청 수 (버킷 크기)
+   * @param period 버킷이 비었다가 가득 차기까지의 시간
+   * @param maximumKeys 보관할 최대 키 수
+   * @param idleTimeout 접근이 없는 키를 제거할 시간
+   */
+  TokenBucketRateLimiter(int limit, Duration period, long maximumKeys, Duration idleTimeout) {
+    this.emissionIntervalNanos = period.toNanos() / limit;
+    this.burstToleranceNanos = emissionIntervalNanos * (limit - 1);
+    this.buckets = Caffeine.newBuilder()
+        .maximumSize(maximumKeys)
+        .expireAfterAccess(idleTimeout)
+        .build();
+  }
+
+  /**
+   * 요청 하나를 허용할지 판단하고 허용하면 토큰을 소비한다
+   *
+   * @param key 제한 키
+   * @param nowNanos 현재 시각 (System.nanoTime())
+   * @return 허용하면 0, 거부하면 다음 요청이 허용되기까지 남은 시간 (nanoseconds)
+   */
+  long tryAcquire(String key, long nowNanos) {
+    AtomicLong theoreticalArrival = buckets.get(key, k -> new AtomicLong(nowNanos));
+    while (true) {
+      long tat = theoreticalArrival.get();
+      long base = tat - nowNanos > 0 ? tat : nowNanos;  // nanoTime은 넘칠 수 있으므로 차이로 비교
+      long waitNanos = base - burstToleranceNanos - nowNanos;
+      if (waitNanos > 0) {
+        return waitNanos;
+      }
+      if (theoreticalArrival.compareAndSet(tat, base + emissionIntervalNanos)) {
+        return 0;
+      }
+    }
+  }
+}
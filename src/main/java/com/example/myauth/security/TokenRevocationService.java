@@ -0,0 +1,130 @@
+package com.example.myauth.security;
+
+import com.example.myauth.entity.UserTokenEpoch;
+import com.example.myauth.repository.UserTokenEpochRepository;
+import com.example.myauth.util.LongLongHashMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 사용자별 토큰 폐기 시각(tokens not before) 관리
+ *
+ * Access Token은 서명만으로 검증되므로 로그아웃/계정 정지 후에도 만료 전까지 유효하다
+ * 사용자별 폐기 시각을 DB(user_token_epochs)에 저장하고 메모리의 LongLongHashMap에 복제하여
+ * JwtAuthenticationFilter가 DB 조회 없이 O(1)로 iat와 비교하게 한다
+ *
+ * - 폐기: 로그아웃, 계정 정지/비활성화, 비밀번호 변경 시 현재 시각으로 갱신
+ * - 시작 시: Access Token 유효 기간 안의 폐기 기록만 적재 (그보다 오래된 기록은 비교할 토큰이 없음)
+ * - 다른 인스턴스에서의 폐기: jwt.revocation.refresh-interval-ms 주기로 DB를 다시 읽어 반영
+ * - 정리: 같은 주기에 Access Token 유효 기간보다 오래된 폐기 시각은 메모리에서 제거
+ *   (그 이전에 발급된 토큰은 모두 만료되었으므로 비교할 필요가 없음)
+ */
+@Slf4j
+@Component
+public class TokenRevocationService {
+
+  /** 인스턴스 간 시계 차이를 고려해 다시 읽을 여유 시간 (초) */
+  private static final long CLOCK_SKEW_SECONDS = 5;
+
+  private final UserTokenEpochRepository userTokenEpochRepository;
+  private final long accessTokenExpirationSeconds;
+  private final LongLongHashMap notBeforeByUser = new LongLongHashMap(1024);
+
+  /** 다음 주기 조회의 기준 시각 (epoch seconds) */
+  private volatile long refreshWatermark;
+
+  public TokenRevocationService(
+      UserTokenEpochRepository userTokenEpochRepository,
+      @Value("${jwt.access-token-expiration}") long accessTokenExpiration
+  ) {
+    this.userTokenEpochRepository = userTokenEpochRepository;
+    this.accessTokenExpirationSeconds = accessTokenExpiration / 1000;
+    this.refreshWatermark = nowSeconds() - accessTokenExpirationSeconds;
+  }
+
+  /**
+   * 폐기된 토큰인지 확인한다 (요청마다 호출, 박싱/DB 조회 없음)
+   *
+   * @param userId 사용자 ID
+   * @param issuedAtMillis 토큰 발행 시간 (epoch milliseconds)
+   * @return 폐기 시각 이전에 발급된 토큰이면 true
+   */
+  public boolean isRevoked(long userId, long issuedAtMillis) {
+    long notBefore = notBeforeByUser.get(userId, 0L);
+    return notBefore != 0L && issuedAtMillis / 1000 < notBefore;
+  }
+
+  /**
+   * 사용자의 현재까지 발급된 모든 토큰을 폐기한다
+   * 같은 초에 새로 발급되는 토큰은 유효하다 (iat는 초 단위이므로 폐기 직후 재로그인을 막지 않기 위함)
+   *
+   * @param userId 사용자 ID
+   */
+  public void revokeAll(Long userId) {
+    if (userId == null) {
+      return;
+    }
+    long notBefore = nowSeconds();
+
+    // 메모리에 먼저 반영하여 이 인스턴스에서는 즉시 거부되게 한다
+    notBeforeByUser.putMax(userId, notBefore);
+    userTokenEpochRepository.bump(userId, notBefore);
+
+    log.info("사용자 토큰 폐기: userId={}, notBefore={}", userId, notBefore);
+  }
+
+  /**
+   * 시작 시 유효 기간 안의 폐기 기록을 적재한다
+   * DB를 사용할 수 없어도 애플리케이션 시작은 계속한다 (다음 주기 조회에서 다시 시도)
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  public void loadOnStartup() {
+    refreshFromDatabase();
+  }
+
+  /**
+   * 다른 인스턴스에서 기록한 폐기 시각을 주기적으로 반영한다
+   */
+  @Scheduled(fixedDelayString = "${jwt.revocation.refresh-interval-ms:10000}")
+  public void refreshFromDatabase() {
+    long since = refreshWatermark;
+    try {
+      List<UserTokenEpoch> epochs = userTokenEpochRepository.findByNotBeforeGreaterThanEqual(since);
+      long maxNotBefore = since;
+      for (UserTokenEpoch epoch : epochs) {
+        notBeforeByUser.putMax(epoch.getUserId(), epoch.getNotBefore());
+        maxNotBefore = Math.max(maxNotBefore, epoch.getNotBefore());
+      }
+      // 이미 읽은 구간은 다시 읽지 않되, 시계 차이만큼은 겹쳐서 읽는다
+      refreshWatermark = Math.max(since, Math.min(maxNotBefore, nowSeconds()) - CLOCK_SKEW_SECONDS);
+
+      if (!epochs.isEmpty()) {
+        log.debug("토큰 폐기 기록 반영: {}건 (누적 {}명)", epochs.size(), notBeforeByUser.size());
+      }
+    } catch (Exception e) {
+      log.warn("토큰 폐기 기록을 읽을 수 없습니다: {}", e.getMessage());
+    }
+    pruneExpiredEpochs();
+  }
+
+  /**
+   * Access Token 유효 기간(+시계 차이)보다 오래된 폐기 시각을 제거한다
+   * notBefore 이전에 발급된 토큰은 notBefore + 유효 기간 전에 만료되므로 이후에는 비교 결과가 항상 같다
+   */
+  void pruneExpiredEpochs() {
+    int removed = notBeforeByUser.removeValuesBelow(nowSeconds() - accessTokenExpirationSeconds - CLOCK_SKEW_SECONDS);
+    if (removed > 0) {
+      log.debug("만료된 토큰 폐기 기록 정리: {}건 (남은 {}명)", removed, notBeforeByUser.size());
+    }
+  }
+
+  private static long nowSeconds() {
+    return System.currentTimeMillis() / 1000;
+  }
+}
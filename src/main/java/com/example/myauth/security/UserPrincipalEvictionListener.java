@@ -0,0 +1,45 @@
+package com.example.myauth.security;
+
+import com.example.myauth.entity.User;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * User 엔티티 변경 시 인증 사용자 캐시를 무효화하는 JPA 엔티티 리스너
+ * (Spring Boot가 Hibernate에 SpringBeanContainer를 설정하므로 생성자 주입을 받을 수 있다)
+ * 캐시는 UserRepository → EntityManagerFactory에 의존하므로, EMF 생성 중 순환 참조가 생기지 않도록
+ * ObjectProvider로 받아 실제 이벤트 시점에 꺼낸다
+ *
+ * 상태/역할/활성화 여부가 바뀐 사용자의 스냅샷이 TTL 동안 남아 있지 않도록 즉시 제거하고,
+ * 커밋 전에 다른 요청이 이전 값을 다시 캐시했을 수 있으므로 커밋 후에 한 번 더 제거한다
+ */
+@RequiredArgsConstructor
+public class UserPrincipalEvictionListener {
+
+  private final ObjectProvider<AuthenticatedUserCache> authenticatedUserCacheProvider;
+
+  @PostUpdate
+  @PostRemove
+  public void evict(User user) {
+    AuthenticatedUserCache authenticatedUserCache = authenticatedUserCacheProvider.getIfAvailable();
+    if (authenticatedUserCache == null) {
+      return;
+    }
+
+    Long userId = user.getId();
+    authenticatedUserCache.evict(userId);
+
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCommit() {
+          authenticatedUserCache.evict(userId);
+        }
+      });
+    }
+  }
+}
@@ -0,0 +1,107 @@
+package com.example.myauth.security;
+
+import com.example.myauth.entity.User;
+import com.example.myauth.repository.RefreshTokenRepository;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Arrays;
+
+/**
+ * User 변경 중 토큰을 폐기해야 하는 변경을 감지하는 Hibernate 이벤트 리스너
+ * JPA @PostUpdate는 변경 전 값을 알 수 없으므로 Hibernate PostUpdateEvent의 dirty 속성 목록을 사용한다
+ *
+ * - 비밀번호 변경
+ * - 계정 상태가 ACTIVE가 아닌 값으로 변경 (정지, 삭제, 비활성화 등)
+ * - isActive가 false로 변경
+ *
+ * 폐기 대상:
+ * - Access Token: 사용자 폐기 시각 갱신 (TokenRevocationService, iat 비교)
+ * - Refresh Token: 사용자의 모든 Refresh Token 취소 + 메모리 색인 무효화
+ *   (취소하지 않으면 탈취된 Refresh Token으로 폐기 시각 이후의 새 Access Token을 계속 발급받을 수 있음)
+ *
+ * 폐기는 트랜잭션 커밋 후에 수행하여 롤백된 변경으로 토큰이 폐기되지 않게 한다
+ * (Refresh Token 취소는 커밋이 끝난 트랜잭션과 별개의 새 트랜잭션에서 실행)
+ */
+@Slf4j
+@Component
+public class UserRevocationEventListener implements PostUpdateEventListener {
+
+  private final TokenRevocationService tokenRevocationService;
+  private final RefreshTokenRepository refreshTokenRepository;
+  private final RefreshTokenIndex refreshTokenIndex;
+  private final TransactionTemplate transactionTemplate;
+
+  /**
+   * 생성자 - Hibernate 이벤트 리스너 레지스트리에 자신을 등록한다
+   */
+  public UserRevocationEventListener(EntityManagerFactory entityManagerFactory,
+                                     TokenRevocationService tokenRevocationService,
+                                     RefreshTokenRepository refreshTokenRepository,
+                                     RefreshTokenIndex refreshTokenIndex,
+                                     PlatformTransactionManager transactionManager) {
+    this.tokenRevocationService = tokenRevocationService;
+    this.refreshTokenRepository = refreshTokenRepository;
+    this.refreshTokenIndex = refreshTokenIndex;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+        .getServiceRegistry()
+        .requireService(EventListenerRegistry.class)
+        .appendListeners(EventType.POST_UPDATE, this);
+  }
+
+  @Override
+  public void onPostUpdate(PostUpdateEvent event) {
+    if (!(event.getEntity() instanceof User user) || event.getDirtyProperties() == null) {
+      return;
+    }
+
+    String[] propertyNames = event.getPersister().getPropertyNames();
+    boolean revoke = Arrays.stream(event.getDirtyProperties())
+        .mapToObj(index -> propertyNames[index])
+        .anyMatch(property -> switch (property) {
+          case "password" -> true;
+          case "status" -> user.getStatus() != User.Status.ACTIVE;
+          case "isActive" -> !Boolean.TRUE.equals(user.getIsActive());
+          default -> false;
+        });
+    if (!revoke) {
+      return;
+    }
+
+    Long userId = user.getId();
+    log.debug("토큰 폐기 대상 사용자 변경 감지: userId={}", userId);
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCommit() {
+          revokeTokens(userId);
+        }
+      });
+    } else {
+      revokeTokens(userId);
+    }
+  }
+
+  /**
+   * 사용자의 Access Token과 Refresh Token을 모두 폐기한다
+   */
+  private void revokeTokens(Long userId) {
+    tokenRevocationService.revokeAll(userId);
+    Integer revoked = transactionTemplate.execute(status -> refreshTokenRepository.revokeAllByUserId(userId));
+    refreshTokenIndex.invalidateUser(userId);
+    log.info("사용자 토큰 폐기: userId={} (취소된 Refresh Token 수: {})", userId, revoked);
+  }
+}
@@ -0,0 +1,153 @@
+package com.example.myauth.security;
+
+import com.example.myauth.util.TokenDigest;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * 서명 검증이 끝난 토큰의 클레임 캐시
+ *
+ * 같은 Access Token이 만료 전까지 수백 번 반복 전송되므로,
+ * 토큰 다이제스트(SHA-256) → 검증된 클레임을 보관하여 반복 요청의 HMAC 검증/JSON 파싱을 건너뛴다
+ *
+ * - 크기 제한: Caffeine(W-TinyLFU) 기반 bounded cache (jwt.verified-cache.maximum-size)
+ * - 항목별 만료: 토큰의 exp 시점에 함께 만료되므로 토큰보다 오래 살아남지 않는다
+ * - 통계: hit/miss/eviction 카운터를 Micrometer(cache.* 메트릭, cache=jwt.verified)로 노출
+ *
+ * 검증에 실패한 토큰(서명 오류, 형식 오류 등)의 다이제스트도 짧게 보관하여
+ * 같은 잘못된 토큰이 반복 전송되면 서명 검증과 jjwt 예외 생성 없이 바로 거부한다 (cache=jwt.rejected)
+ * 두 캐시는 따로 켜고 끈다 (jwt.verified-cache.enabled / jwt.verified-cache.rejected.enabled)
+ * 만료된 토큰은 보관하지 않는다 (만료 응답을 구분해야 하고, 필터의 사전 검사로 이미 저렴하게 걸러짐)
+ */
+@Slf4j
+@Component
+public class VerifiedTokenCache {
+
+  private final boolean enabled;
+  private final boolean rejectedEnabled;
+  private final Cache<TokenDigest, JwtClaims> cache;
+  private final Cache<TokenDigest, Boolean> rejected;
+
+  /**
+   * 생성자 - application.yaml의 jwt.verified-cache 설정을 주입받는다
+   */
+  public VerifiedTokenCache(
+      @Value("${jwt.verified-cache.enabled:true}") boolean enabled,
+      @Value("${jwt.verified-cache.maximum-size:10000}") long maximumSize,
+      @Value("${jwt.verified-cache.rejected.enabled:true}") boolean rejectedEnabled,
+      @Value("${jwt.verified-cache.rejected.maximum-size:10000}") long rejectedMaximumSize,
+      @Value("${jwt.verified-cache.rejected.ttl:10m}") Duration rejectedTtl,
+      MeterRegistry meterRegistry
+  ) {
+    log.debug("검증 토큰 캐시 설정 - 사용: {}, 최대 크기: {}, 거부 토큰 사용: {}, 거부 토큰 최대 크기: {}, 거부 토큰 보관: {}",
+        enabled, maximumSize, rejectedEnabled, rejectedMaximumSize, rejectedTtl);
+
+    this.enabled = enabled;
+    this.rejectedEnabled = rejectedEnabled;
+    this.cache = Caffeine.newBuilder()
+        .maximumSize(maximumSize)
+        .expireAfter(new TokenExpiry())
+        .recordStats()
+        .build();
+
+    this.rejected = Caffeine.newBuilder()
+        .maximumSize(rejectedMaximumSize)
+        .expireAfterWrite(rejectedTtl)
+        .recordStats()
+        .build();
+
+    CaffeineCacheMetrics.monitor(meterRegistry, cache, "jwt.verified");
+    CaffeineCacheMetrics.monitor(meterRegistry, rejected, "jwt.rejected");
+  }
+
+  /**
+   * 캐시에서 검증된 클레임을 찾고, 없으면 verifier로 검증한 뒤 캐시에 저장한다
+   * verifier에서 발생한 예외(ExpiredJwtException, JwtException 등)는 그대로 전파된다
+   * 만료 이외의 JwtException으로 거부된 토큰은 기억해 두었다가 다시 오면 RejectedTokenException을 던진다
+   *
+   * @param token JWT 토큰
+   * @param verifier 캐시 미스 시 실행할 서명 검증 + 파싱 함수
+   * @return 검증된 클레임
+   * @throws RejectedTokenException 최근에 거부된 토큰인 경우
+   */
+  public JwtClaims get(String token, Function<String, JwtClaims> verifier) {
+    // 두 캐시가 모두 비활성화 상태이거나 빈 토큰이면 캐시를 거치지 않는다 (빈 토큰 예외는 verifier가 던짐)
+    if ((!enabled && !rejectedEnabled) || token == null || token.isEmpty()) {
+      return verifier.apply(token);
+    }
+
+    TokenDigest digest = TokenDigest.of(token);
+    JwtClaims claims = enabled ? cache.getIfPresent(digest) : null;
+    if (claims == null) {
+      if (rejectedEnabled && rejected.getIfPresent(digest) != null) {
+        throw new RejectedTokenException("최근 거부된 토큰입니다");
+      }
+      claims = verifyAndRemember(digest, token, verifier);
+    }
+
+    // 만료 시점과 캐시 정리 시점 사이의 짧은 틈에도 만료된 클레임을 돌려주지 않는다
+    if (claims.getExpiresAt() <= System.currentTimeMillis()) {
+      cache.invalidate(digest);
+      return verifier.apply(token);
+    }
+    return claims;
+  }
+
+  /**
+   * 검증 결과를 캐시에 저장한다 (실패 시 거부 토큰으로 기록)
+   */
+  private JwtClaims verifyAndRemember(TokenDigest digest, String token, Function<String, JwtClaims> verifier) {
+    try {
+      return enabled ? cache.get(digest, key -> verifier.apply(token)) : verifier.apply(token);
+    } catch (ExpiredJwtException e) {
+      throw e;
+    } catch (JwtException e) {
+      if (rejectedEnabled) {
+        rejected.put(digest, Boolean.TRUE);
+      }
+      throw e;
+    }
+  }
+
+  /**
+   * 캐시를 모두 비운다 (키 교체 등 운영 작업용)
+   */
+  public void invalidateAll() {
+    cache.invalidateAll();
+    rejected.invalidateAll();
+  }
+
+  /**
+   * 항목별 만료 정책 - 토큰의 exp까지 남은 시간만큼만 보관한다
+   */
+  private static final class TokenExpiry implements Expiry<TokenDigest, JwtClaims> {
+
+    @Override
+    public long expireAfterCreate(TokenDigest key, JwtClaims claims, long currentTime) {
+      long remainingMillis = claims.getExpiresAt() - System.currentTimeMillis();
+      return TimeUnit.MILLISECONDS.toNanos(Math.max(remainingMillis, 0L));
+    }
+
+    @Override
+    public long expireAfterUpdate(TokenDigest key, JwtClaims claims, long currentTime, long currentDuration) {
+      return expireAfterCreate(key, claims, currentTime);
+    }
+
+    @Override
+    public long expireAfterRead(TokenDigest key, JwtClaims claims, long currentTime, long currentDuration) {
+      return currentDuration;
+    }
+  }
+}
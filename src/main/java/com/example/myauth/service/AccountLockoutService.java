@@ -0,0 +1,149 @@
+package com.example.myauth.service;
+
+import com.example.myauth.config.AppProperties;
+import com.example.myauth.entity.User;
+import com.example.myauth.exception.AccountException;
+import com.example.myauth.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * 로그인 실패 누적 시 계정 잠금
+ *
+ * 연속 실패가 threshold회에 도달하면 users.account_locked_until을 기록하고,
+ * 이후 실패마다 잠금 시간을 2배씩 늘린다 (baseDuration → ... → maxDuration)
+ *
+ * - 실패 횟수: DB의 failed_login_attempts + UserActivityTracker에 아직 반영하지 않은 실패
+ *   (failed_login_attempts는 UserActivityTracker만 기록한다 → 중복 집계 방지)
+ * - 잠금 기록: 로그인 트랜잭션이 롤백되어도 남도록 별개 트랜잭션으로 즉시 UPDATE
+ * - 빠른 거부: 잠긴 이메일을 잠금 해제 시각까지 메모리(Caffeine, bounded)에 보관하여
+ *   잠긴 계정의 로그인 시도는 사용자 조회와 비밀번호 해시 검증 없이 거부한다
+ *
+ * 다른 인스턴스에서 잠긴 계정은 메모리에 없으므로 사용자 조회 후 account_locked_until로 판단한다
+ */
+@Slf4j
+@Component
+public class AccountLockoutService {
+
+  private final AppProperties.Lockout properties;
+  private final UserRepository userRepository;
+  private final UserActivityTracker userActivityTracker;
+  private final Clock clock;
+  /** 이메일 → 잠금 해제 시각 (epoch millis), 해제 시각에 자동 제거 */
+  private final Cache<String, Long> lockedEmails;
+
+  @Autowired
+  public AccountLockoutService(
+      AppProperties appProperties,
+      UserRepository userRepository,
+      UserActivityTracker userActivityTracker
+  ) {
+    this(appProperties.getLockout(), userRepository, userActivityTracker, Clock.systemDefaultZone());
+  }
+
+  AccountLockoutService(
+      AppProperties.Lockout properties,
+      UserRepository userRepository,
+      UserActivityTracker userActivityTracker,
+      Clock clock
+  ) {
+    this.properties = properties;
+    this.userRepository = userRepository;
+    this.userActivityTracker = userActivityTracker;
+    this.clock = clock;
+    this.lockedEmails = Caffeine.newBuilder()
+        .maximumSize(properties.getMaximumEntries())
+        .expireAfter(Expiry.<String, Long>creating(
+            (email, lockedUntilMillis) -> Duration.ofMillis(Math.max(0, lockedUntilMillis - clock.millis()))))
+        .build();
+    log.info("계정 잠금 설정 - 사용: {}, 기준 실패 횟수: {}, 잠금 시간: {} ~ {}",
+        properties.isEnabled(), properties.getThreshold(), properties.getBaseDuration(), properties.getMaxDuration());
+  }
+
+  /**
+   * 사용자 조회 전에 메모리의 잠금 목록으로 거부한다
+   *
+   * @param email 정규화된 이메일
+   * @throws AccountException 잠긴 계정이면
+   */
+  public void checkNotLocked(String email) {
+    if (!properties.isEnabled()) {
+      return;
+    }
+    Long lockedUntilMillis = lockedEmails.getIfPresent(email);
+    if (lockedUntilMillis != null && lockedUntilMillis > clock.millis()) {
+      log.warn("잠긴 계정으로 로그인 시도: {}", email);
+      throw lockedException(lockedUntilMillis);
+    }
+  }
+
+  /**
+   * 조회한 사용자의 account_locked_until로 거부한다 (잠겨 있으면 메모리에도 보관)
+   *
+   * @param user 로그인 대상 사용자
+   * @throws AccountException 잠긴 계정이면
+   */
+  public void checkNotLocked(User user) {
+    if (!properties.isEnabled() || user.getAccountLockedUntil() == null) {
+      return;
+    }
+    long lockedUntilMillis = toMillis(user.getAccountLockedUntil());
+    if (lockedUntilMillis > clock.millis()) {
+      lockedEmails.put(user.getEmail(), lockedUntilMillis);
+      log.warn("잠긴 계정으로 로그인 시도: {}", user.getEmail());
+      throw lockedException(lockedUntilMillis);
+    }
+  }
+
+  /**
+   * 비밀번호 불일치를 기록하고, 실패 횟수가 기준에 도달하면 계정을 잠근다
+   *
+   * @param user 로그인 대상 사용자
+   */
+  public void recordFailure(User user) {
+    userActivityTracker.recordLoginFailure(user.getId());
+    if (!properties.isEnabled()) {
+      return;
+    }
+
+    int persisted = user.getFailedLoginAttempts() != null ? user.getFailedLoginAttempts() : 0;
+    int failures = userActivityTracker.failedAttempts(user.getId(), persisted);
+    if (failures < properties.getThreshold()) {
+      return;
+    }
+
+    Duration lockDuration = lockDuration(failures);
+    LocalDateTime lockedUntil = LocalDateTime.now(clock).plus(lockDuration);
+    userRepository.lockUntil(user.getId(), lockedUntil);
+    lockedEmails.put(user.getEmail(), toMillis(lockedUntil));
+    log.warn("로그인 실패 {}회로 계정 잠금: {} ({} 동안)", failures, user.getEmail(), lockDuration);
+  }
+
+  /**
+   * 실패 횟수에 따른 잠금 시간 (threshold회에 baseDuration, 이후 실패마다 2배, 최대 maxDuration)
+   */
+  Duration lockDuration(int failures) {
+    int doublings = Math.min(failures - properties.getThreshold(), 30);
+    Duration duration = properties.getBaseDuration().multipliedBy(1L << doublings);
+    return duration.compareTo(properties.getMaxDuration()) > 0 ? properties.getMaxDuration() : duration;
+  }
+
+  private long toMillis(LocalDateTime dateTime) {
+    return dateTime.atZone(clock.getZone()).toInstant().toEpochMilli();
+  }
+
+  private AccountException lockedException(long lockedUntilMillis) {
+    long remainingSeconds = Duration.ofMillis(lockedUntilMillis - clock.millis()).toSeconds();
+    long remainingMinutes = Math.max(1, (remainingSeconds + 59) / 60);
+    return new AccountException(
+        "로그인 실패가 반복되어 계정이 잠겼습니다. " + remainingMinutes + "분 후 다시 시도해주세요.");
+  }
+}
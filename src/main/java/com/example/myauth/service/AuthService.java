@@ -9,17 +9,26 @@ import com.example.myauth.entity.User;
 import com.example.myauth.exception.AccountException;
 import com.example.myauth.exception.DuplicateEmailException;
 import com.example.myauth.exception.InvalidCredentialsException;
+import com.example.myauth.exception.PasswordHashingBusyException;
 import com.example.myauth.exception.TokenException;
+import com.example.myauth.repository.RefreshTokenGrant;
 import com.example.myauth.repository.RefreshTokenRepository;
 import com.example.myauth.repository.UserRepository;
+import com.example.myauth.security.AuthenticatedUser;
+import com.example.myauth.security.AuthenticatedUserCache;
 import com.example.myauth.security.CustomUserDetails;
 import com.example.myauth.security.CustomUserDetailsService;
 import com.example.myauth.security.JwtTokenProvider;
+import com.example.myauth.security.RefreshTokenIndex;
+import com.example.myauth.util.TokenDigest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.LockedException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.AuthenticationException;
@@ -27,9 +36,12 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
@@ -39,36 +51,59 @@ public class AuthService {
   private final PasswordEncoder passwordEncoder;
   private final JwtTokenProvider jwtTokenProvider;
   private final RefreshTokenRepository refreshTokenRepository;
+  private final RefreshTokenWriteCoalescer refreshTokenWriteCoalescer;
+  private final RefreshTokenIndex refreshTokenIndex;
+  private final RefreshTokenHashBackfill refreshTokenHashBackfill;
+  private final AuthenticatedUserCache authenticatedUserCache;
+  private final UserActivityTracker userActivityTracker;
+  private final AccountLockoutService accountLockoutService;
+  private final RegisteredEmailFilter registeredEmailFilter;
   private final CustomUserDetailsService customUserDetailsService;
   private final AuthenticationManager authenticationManager;
 
+  /** Refresh Token Rotation 사용 여부 (갱신할 때마다 새 Refresh Token 발급) */
+  @Value("${jwt.refresh-token.rotation.enabled:true}")
+  private boolean refreshTokenRotation;
+
 
   /**
    * 회원가입 처리
    * 성공 시 정상 반환, 실패 시 예외 던지기
+   *
+   * 트랜잭션 없이 실행하고 INSERT(userRepository.save)만 자체 트랜잭션으로 처리한다
+   * → 중복 확인 후 비밀번호 해시 풀을 기다리고 해시하는 동안 DB 커넥션을 쥐고 있지 않음
    */
-  @Transactional
   public void registerUser(SignupRequest signupRequest) {
     // 이메일을 정규화한다 (공백 제거, 소문자 변환)
     String normalizedEmail = signupRequest.getEmail().trim().toLowerCase();
 
+    // 가입되었을 수 있는 이메일만 DB로 확인하여, 중복 가입 시도에는 비밀번호 해시를 만들지 않는다
+    if (registeredEmailFilter.mightBeRegistered(normalizedEmail) && userRepository.existsByEmail(normalizedEmail)) {
+      log.warn("중복된 이메일로 가입 시도 : {}", normalizedEmail);
+      throw new DuplicateEmailException("이미 가입된 이메일입니다.");
+    }
+
+    // 비밀번호 해시 (해시 풀 대기 포함, 트랜잭션 밖에서 실행)
+    String encodedPassword = passwordEncoder.encode(signupRequest.getPassword());
+
     try {
       // signupRequest 정보를 이용하여 User Entity 인스턴스를 생성한다
       User user = User.builder()
           .email(normalizedEmail)  // 정규화된 이메일 사용
-          .password(passwordEncoder.encode(signupRequest.getPassword()))
+          .password(encodedPassword)
           .name(signupRequest.getUsername())
           .role(User.Role.ROLE_USER)
           .status(User.Status.ACTIVE)
           .isActive(true)
           .build();
 
-      // DB에 저장한다 - unique constraint 위반 시 예외 발생
+      // DB에 저장한다 (이 INSERT만 트랜잭션) - unique constraint 위반 시 예외 발생
       userRepository.save(user);
+      registeredEmailFilter.add(normalizedEmail);
       log.info("회원 가입 성공 : {}", user.getEmail());
 
     } catch (DataIntegrityViolationException e) {
-      // unique constraint 위반 (이미 존재하는 이메일)
+      // unique constraint 위반 (이미 존재하는 이메일 - 필터에 반영되기 전 다른 인스턴스에서 가입한 경우 등)
       log.warn("중복된 이메일로 가입 시도 : {}", normalizedEmail);
       throw new DuplicateEmailException("이미 가입된 이메일입니다.");
     }
@@ -77,13 +112,18 @@ public class AuthService {
   /**
    * 로그인 처리
    * 성공 시 LoginResponse 반환, 실패 시 예외 던지기
+   *
+   * 트랜잭션 없이 실행한다 (각 조회/갱신은 자체 트랜잭션)
+   * → Refresh Token 배치 저장을 기다리는 동안 DB 커넥션을 쥐고 있지 않음 (RefreshTokenWriteCoalescer 참고)
    */
-  @Transactional
   public LoginResponse login(@Valid LoginRequest loginRequest) {
     // 1️⃣ 이메일을 정규화한다 (회원가입과 동일하게 처리)
     String normalizedEmail = loginRequest.getEmail().trim().toLowerCase();
     log.info("로그인 시도: {}", normalizedEmail);
 
+    // 1-1. 잠긴 계정은 사용자 조회/비밀번호 검증 없이 거부한다
+    accountLockoutService.checkNotLocked(normalizedEmail);
+
     // 2️⃣ 사용자를 조회한다
     User user = userRepository.findByEmail(normalizedEmail)
         .orElseThrow(() -> {
@@ -92,6 +132,9 @@ public class AuthService {
           return new InvalidCredentialsException("이메일 또는 비밀번호가 올바르지 않습니다.");
         });
 
+    // 2-1. 다른 인스턴스에서 잠갔거나 재시작 전에 잠긴 계정 (비밀번호 검증 전에 거부)
+    accountLockoutService.checkNotLocked(user);
+
     // 3️⃣ 비밀번호를 검증한다
     boolean isPasswordValid = passwordEncoder.matches(
         loginRequest.getPassword(),  // 입력된 평문 비밀번호
@@ -100,6 +143,7 @@ public class AuthService {
 
     if (!isPasswordValid) {
       log.warn("잘못된 비밀번호로 로그인 시도: {}", normalizedEmail);
+      accountLockoutService.recordFailure(user);  // failed_login_attempts (주기적으로 반영) + 잠금
       // 보안상 동일한 에러 메시지 사용
       throw new InvalidCredentialsException("이메일 또는 비밀번호가 올바르지 않습니다.");
     }
@@ -127,15 +171,23 @@ public class AuthService {
       throw new AccountException(errorMessage);
     }
 
+    // 4-3. 저장된 해시가 현재 설정보다 약하면 평문 비밀번호를 알고 있는 지금 재해시한다
+    upgradePasswordHash(user, loginRequest.getPassword());
+
+    // 4-4. 마지막 로그인 시각/IP 기록 (요청마다 UPDATE하지 않고 주기적으로 반영)
+    userActivityTracker.recordLoginSuccess(user.getId());
+
     // 5️⃣ JWT 토큰 생성
-    String accessToken = jwtTokenProvider.generateAccessToken(user.getEmail(), user.getId());
-    String refreshToken = jwtTokenProvider.generateRefreshToken(user.getEmail());
+    String accessToken = jwtTokenProvider.generateAccessToken(
+        user.getEmail(), user.getId(), user.getRole(), user.getStatus());
+    String refreshToken = jwtTokenProvider.generateRefreshToken(user.getEmail(), user.getId());
 
     log.info("JWT 토큰 생성 완료: {}", normalizedEmail);
 
     // 6️⃣ Refresh Token을 DB에 저장
     RefreshToken refreshTokenEntity = RefreshToken.builder()
-        .token(refreshToken)
+        .token(jwtTokenProvider.isJwt(refreshToken) ? refreshToken : null)  // opaque 토큰은 원문 미저장
+        .tokenHash(TokenDigest.sha256(refreshToken))                        // 조회 키 (SHA-256)
         .user(user)
         .expiresAt(LocalDateTime.ofInstant(
             jwtTokenProvider.getRefreshTokenExpiryDate().toInstant(),
@@ -143,7 +195,7 @@ public class AuthService {
         ))
         .build();
 
-    refreshTokenRepository.save(refreshTokenEntity);
+    refreshTokenWriteCoalescer.save(refreshTokenEntity);  // 다른 로그인과 묶어서 저장 (커밋될 때까지 대기)
     log.info("Refresh Token DB 저장 완료: {}", normalizedEmail);
 
     // 7️⃣ 로그인 성공 응답 반환
@@ -167,8 +219,8 @@ public class AuthService {
    * Spring Security의 표준 AuthenticationManager를 사용하여 로그인을 처리
    * - 사용자 조회, 비밀번호 검증, 계정 상태 확인을 자동으로 처리
    * 성공 시 LoginResponse 반환, 실패 시 예외 던지기
+   * login()과 같이 트랜잭션 없이 실행한다
    */
-  @Transactional
   public LoginResponse loginEx(@Valid LoginRequest loginRequest) {
     // 1️⃣ 이메일을 정규화한다
     String normalizedEmail = loginRequest.getEmail().trim().toLowerCase();
@@ -179,29 +231,47 @@ public class AuthService {
     // - CustomUserDetailsService를 통해 사용자 조회
     // - PasswordEncoder를 통해 비밀번호 검증
     // - UserDetails의 계정 상태 확인 (enabled, accountNonLocked 등)
+    // 잠긴 계정은 AuthenticationManager(사용자 조회/비밀번호 검증)를 거치지 않고 거부
+    accountLockoutService.checkNotLocked(normalizedEmail);
+
     Authentication authentication;
     try {
       authentication = authenticationManager.authenticate(
           new UsernamePasswordAuthenticationToken(normalizedEmail, loginRequest.getPassword())
       );
     } catch (AuthenticationException e) {
+      // 비밀번호 해시 대기열 포화는 인증 실패가 아니므로 429로 응답되도록 그대로 전파
+      // (사용자 없음 경로의 타이밍 공격 방지용 해시에서 발생하면 DaoAuthenticationProvider가 감싸서 던짐)
+      if (e.getCause() instanceof PasswordHashingBusyException busy) {
+        throw busy;
+      }
       // 인증 실패: 사용자 없음, 비밀번호 불일치, 계정 비활성화 등
       log.warn("로그인 실패 (loginEx): {} - {}", normalizedEmail, e.getMessage());
+      if (e instanceof BadCredentialsException) {
+        // 비밀번호 불일치만 실패 횟수에 반영 (존재하지 않는 이메일은 기록할 사용자가 없음)
+        userRepository.findByEmail(normalizedEmail).ifPresent(accountLockoutService::recordFailure);
+      } else if (e instanceof LockedException) {
+        // account_locked_until로 잠긴 계정이면 잠금 안내 (403), 비활성화 계정은 기존과 같이 처리
+        userRepository.findByEmail(normalizedEmail).ifPresent(accountLockoutService::checkNotLocked);
+      }
       throw new InvalidCredentialsException("이메일 또는 비밀번호가 올바르지 않습니다.");
     }
 
     // 3️⃣ 인증 성공 시 User 엔티티 추출
     CustomUserDetails customUserDetails = (CustomUserDetails) authentication.getPrincipal();
     User user = customUserDetails.getUser();
+    userActivityTracker.recordLoginSuccess(user.getId());
 
     // 4️⃣ JWT 토큰 생성
-    String accessToken = jwtTokenProvider.generateAccessToken(user.getEmail(), user.getId());
-    String refreshToken = jwtTokenProvider.generateRefreshToken(user.getEmail());
+    String accessToken = jwtTokenProvider.generateAccessToken(
+        user.getEmail(), user.getId(), user.getRole(), user.getStatus());
+    String refreshToken = jwtTokenProvider.generateRefreshToken(user.getEmail(), user.getId());
     log.info("JWT 토큰 생성 완료 (loginEx): {}", normalizedEmail);
 
     // 5️⃣ Refresh Token을 DB에 저장
     RefreshToken refreshTokenEntity = RefreshToken.builder()
-        .token(refreshToken)
+        .token(jwtTokenProvider.isJwt(refreshToken) ? refreshToken : null)  // opaque 토큰은 원문 미저장
+        .tokenHash(TokenDigest.sha256(refreshToken))                        // 조회 키 (SHA-256)
         .user(user)
         .expiresAt(LocalDateTime.ofInstant(
             jwtTokenProvider.getRefreshTokenExpiryDate().toInstant(),
@@ -209,7 +279,7 @@ public class AuthService {
         ))
         .build();
 
-    refreshTokenRepository.save(refreshTokenEntity);
+    refreshTokenWriteCoalescer.save(refreshTokenEntity);  // 다른 로그인과 묶어서 저장 (커밋될 때까지 대기)
     log.info("Refresh Token DB 저장 완료 (loginEx): {}", normalizedEmail);
 
     // 6️⃣ 로그인 성공 응답 반환
@@ -232,48 +302,192 @@ public class AuthService {
    * Refresh Token으로 Access Token 갱신
    * Refresh Token의 유효성을 검증하고 새로운 Access Token을 발급
    * 성공 시 TokenRefreshResponse 반환, 실패 시 예외 던지기
+   *
+   * jwt.refresh-token.rotation.enabled이면 사용한 Refresh Token을 취소하고 새 Refresh Token을 함께 발급한다
+   * 이미 교체된(취소된) 토큰이 다시 사용되면 탈취로 간주하여 사용자의 모든 Refresh Token을 취소한다
+   * (TokenException으로 응답하더라도 취소는 커밋되어야 하므로 롤백하지 않음)
    */
-  @Transactional(readOnly = true)
+  @Transactional(noRollbackFor = TokenException.class)
   public TokenRefreshResponse refreshAccessToken(String refreshToken) {
     log.info("Access Token 갱신 요청");
 
-    // 1️⃣ Refresh Token 검증
-    if (!jwtTokenProvider.validateToken(refreshToken)) {
-      log.warn("유효하지 않은 Refresh Token");
-      throw new TokenException("유효하지 않은 Refresh Token입니다. 다시 로그인해주세요.");
-    }
-
-    // 2️⃣ Refresh Token에서 이메일 추출
-    String email = jwtTokenProvider.getEmailFromToken(refreshToken);
-    log.debug("Refresh Token에서 추출한 이메일: {}", email);
+    // 1️⃣ JWT 형식 Refresh Token이면 서명/만료 검증과 주체 추출을 한 번의 파싱으로 처리
+    // (standard: 이메일, compact: 사용자 ID, 유효하지 않으면 JwtException)
+    // opaque 토큰은 클레임이 없으므로 DB 행(만료 시간, 소유자)만으로 검증한다
+    boolean jwtFormat = jwtTokenProvider.isJwt(refreshToken);
+    String subject = jwtFormat ? jwtTokenProvider.parseClaims(refreshToken).getSubject() : null;
+    log.debug("Refresh Token에서 추출한 주체: {}", subject);
 
-    // 3️⃣ DB에 해당 Refresh Token이 존재하는지 확인
-    RefreshToken refreshTokenEntity = refreshTokenRepository.findByToken(refreshToken)
+    // 2️⃣ 토큰 상태와 소유자 정보를 한 번의 JOIN 조회로 확인 (다이제스트 → 원문 순으로 조회)
+    RefreshTokenGrant grant = findRefreshTokenGrant(refreshToken, jwtFormat)
         .orElseThrow(() -> {
           log.warn("DB에 존재하지 않는 Refresh Token");
           return new TokenException("유효하지 않은 Refresh Token입니다. 다시 로그인해주세요.");
         });
+    if (subject == null) {
+      subject = "userId=" + grant.userId();
+    }
 
-    // 4️⃣ Refresh Token이 만료되었는지 확인
-    if (refreshTokenEntity.getExpiresAt().isBefore(LocalDateTime.now())) {
-      log.warn("만료된 Refresh Token: {}", email);
+    // 3️⃣ Refresh Token이 만료/취소되었는지 확인
+    if (grant.expiresAt().isBefore(LocalDateTime.now())) {
+      log.warn("만료된 Refresh Token: {}", subject);
       throw new TokenException("Refresh Token이 만료되었습니다. 다시 로그인해주세요.");
     }
+    if (Boolean.TRUE.equals(grant.revoked())) {
+      throw revokeTokenFamily(grant, subject);
+    }
 
-    // 5️⃣ 사용자 조회
-    User user = refreshTokenEntity.getUser();
-    if (user == null || !user.getIsActive() || user.getStatus() != User.Status.ACTIVE) {
-      log.warn("비활성화된 사용자: {}", email);
+    // 4️⃣ 사용자 상태 확인
+    if (!Boolean.TRUE.equals(grant.active()) || grant.status() != User.Status.ACTIVE) {
+      log.warn("비활성화된 사용자: {}", subject);
       throw new AccountException("비활성화된 계정입니다. 고객센터에 문의해주세요.");
     }
 
-    // 6️⃣ 새 Access Token 생성
-    String newAccessToken = jwtTokenProvider.generateAccessToken(user.getEmail(), user.getId());
-    log.info("새 Access Token 발급 성공: {}", email);
+    // Refresh Token 사용 시각 기록 (last_used_at, 주기적으로 반영)
+    userActivityTracker.recordRefreshTokenUse(grant.tokenId());
+
+    // 5️⃣ 새 Access Token 생성
+    String newAccessToken = jwtTokenProvider.generateAccessToken(
+        grant.email(), grant.userId(), grant.role(), grant.status());
+    log.info("새 Access Token 발급 성공: {}", subject);
+
+    // 6️⃣ Refresh Token Rotation (사용하지 않으면 기존 Refresh Token을 계속 사용)
+    String newRefreshToken = refreshTokenRotation ? rotateRefreshToken(refreshToken, grant, subject) : null;
 
     return TokenRefreshResponse.builder()
         .accessToken(newAccessToken)
-        .refreshToken(null)  // Refresh Token Rotation 미사용
+        .refreshToken(newRefreshToken)
         .build();
   }
+
+  /**
+   * 기존 Refresh Token을 선점(취소)하고 후속 토큰을 저장한다
+   * - 선점: UPDATE ... WHERE id = ? AND is_revoked = false (읽기 → 취소 사이의 경쟁 없음)
+   * - 저장: 선점과 같은 트랜잭션에서 INSERT (RefreshTokenWriteCoalescer를 쓰지 않음)
+   *   → 후속 토큰 저장이 실패하면 선점도 롤백되어 기존 토큰으로 다시 시도할 수 있다 (재사용 탐지로 전체 로그아웃되지 않음)
+   *
+   * @param refreshToken 사용한 Refresh Token
+   * @param grant 사용한 Refresh Token의 상태와 소유자 정보
+   * @param subject 로그용 토큰 주체
+   * @return 새 Refresh Token (교체하지 않으면 null)
+   */
+  private String rotateRefreshToken(String refreshToken, RefreshTokenGrant grant, String subject) {
+    String successor = jwtTokenProvider.generateRefreshToken(grant.email(), grant.userId());
+    if (successor.equals(refreshToken)) {
+      // JWT 형식은 같은 초에 발급하면 동일한 토큰이 되므로 교체하지 않고 기존 토큰을 계속 사용한다
+      return null;
+    }
+
+    if (refreshTokenRepository.claimForRotation(grant.tokenId()) == 0) {
+      // 조회 이후 다른 요청이 먼저 교체함 → 같은 토큰이 동시에 두 곳에서 사용됨
+      throw revokeTokenFamily(grant, subject);
+    }
+
+    RefreshToken successorEntity = RefreshToken.builder()
+        .token(jwtTokenProvider.isJwt(successor) ? successor : null)  // opaque 토큰은 원문 미저장
+        .tokenHash(TokenDigest.sha256(successor))                     // 조회 키 (SHA-256)
+        .user(userRepository.getReferenceById(grant.userId()))        // 프록시 (users 조회 없음)
+        .expiresAt(LocalDateTime.ofInstant(
+            jwtTokenProvider.getRefreshTokenExpiryDate().toInstant(),
+            ZoneId.systemDefault()
+        ))
+        .build();
+    long stamp = refreshTokenIndex.stamp();
+    refreshTokenRepository.save(successorEntity);
+
+    // 색인은 커밋된 뒤에만 바꾼다 (롤백되면 DB의 기존 토큰은 유효하므로 색인도 그대로 둔다)
+    byte[] claimedHash = TokenDigest.sha256(refreshToken);
+    afterCommit(() -> {
+      refreshTokenIndex.markRevoked(claimedHash);
+      refreshTokenIndex.put(successorEntity.getTokenHash(), successorEntity.getId(), grant.userId(),
+          successorEntity.getExpiresAt(), false, stamp);
+    });
+
+    log.info("Refresh Token 교체: {}", subject);
+    return successor;
+  }
+
+  /**
+   * 현재 트랜잭션이 커밋된 뒤에 실행한다 (트랜잭션이 없으면 바로 실행)
+   */
+  private static void afterCommit(Runnable action) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      action.run();
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCommit() {
+        action.run();
+      }
+    });
+  }
+
+  /**
+   * 이미 교체된 Refresh Token이 다시 사용됨 → 탈취로 간주하여 사용자의 모든 Refresh Token을 취소한다
+   *
+   * @return 호출한 쪽에서 던질 예외
+   */
+  private TokenException revokeTokenFamily(RefreshTokenGrant grant, String subject) {
+    int revoked = refreshTokenRepository.revokeAllByUserId(grant.userId());
+    refreshTokenIndex.invalidateUser(grant.userId());
+    log.warn("재사용된 Refresh Token 감지 → 사용자의 Refresh Token {}개 취소: {}", revoked, subject);
+    return new TokenException("이미 사용된 Refresh Token입니다. 보안을 위해 다시 로그인해주세요.");
+  }
+
+  /**
+   * 비밀번호 해시를 현재 알고리즘/비용으로 갱신한다 (로그인 성공 후 호출)
+   * 비밀번호 변경이 아니므로 토큰을 폐기하지 않으며, 해시 대기열이 가득 차면 다음 로그인으로 미룬다
+   *
+   * @param user 로그인한 사용자
+   * @param rawPassword 검증된 평문 비밀번호
+   */
+  private void upgradePasswordHash(User user, String rawPassword) {
+    String currentHash = user.getPassword();
+    if (!passwordEncoder.upgradeEncoding(currentHash)) {
+      return;
+    }
+    try {
+      String upgradedHash = passwordEncoder.encode(rawPassword);
+      if (userRepository.upgradePasswordHash(user.getId(), currentHash, upgradedHash) > 0) {
+        log.info("비밀번호 해시 갱신: userId={}", user.getId());
+      }
+    } catch (PasswordHashingBusyException e) {
+      log.debug("해시 대기열 포화로 비밀번호 재해시 생략: userId={}", user.getId());
+    }
+  }
+
+  /**
+   * Refresh Token 상태와 소유자 정보를 조회한다
+   * 1. RefreshTokenIndex(메모리)에 있으면 토큰 상태는 색인, 소유자는 인증 사용자 캐시에서 읽는다
+   * 2. 없으면 refresh_tokens JOIN users 한 번으로 조회하고 색인에 넣는다
+   *    - token_hash(SHA-256) 유니크 인덱스로 단일 조회
+   *    - 없으면 다이제스트 컬럼 도입 전에 저장된 JWT 행을 원문으로 조회 (token_hash 백필이 끝날 때까지의 호환 경로)
+   *
+   * @param refreshToken Refresh Token 문자열
+   * @param jwtFormat JWT 형식 여부 (opaque 토큰은 원문 조회를 하지 않음)
+   * @return RefreshTokenGrant (Optional)
+   */
+  private Optional<RefreshTokenGrant> findRefreshTokenGrant(String refreshToken, boolean jwtFormat) {
+    byte[] tokenHash = TokenDigest.sha256(refreshToken);
+
+    RefreshTokenIndex.Entry indexed = refreshTokenIndex.get(tokenHash);
+    if (indexed != null) {
+      AuthenticatedUser owner = authenticatedUserCache.get(indexed.userId());
+      if (owner != null) {
+        return Optional.of(new RefreshTokenGrant(
+            indexed.tokenId(), indexed.expiresAt(), indexed.revoked(),
+            owner.getId(), owner.getEmail(), owner.getRole(), owner.getStatus(), owner.isActive()));
+      }
+    }
+
+    long stamp = refreshTokenIndex.stamp();
+    Optional<RefreshTokenGrant> grant = refreshTokenRepository.findGrantByTokenHash(tokenHash);
+    if (grant.isEmpty() && jwtFormat && !refreshTokenHashBackfill.isComplete()) {
+      grant = refreshTokenRepository.findGrantByToken(refreshToken);
+    }
+    grant.ifPresent(g -> refreshTokenIndex.put(
+        tokenHash, g.tokenId(), g.userId(), g.expiresAt(), Boolean.TRUE.equals(g.revoked()), stamp));
+    return grant;
+  }
 }
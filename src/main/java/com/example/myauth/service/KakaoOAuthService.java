@@ -5,9 +5,9 @@ import com.example.myauth.dto.kakao.KakaoOAuthDto;
 import com.example.myauth.dto.LoginResponse;
 import com.example.myauth.entity.RefreshToken;
 import com.example.myauth.entity.User;
-import com.example.myauth.repository.RefreshTokenRepository;
 import com.example.myauth.repository.UserRepository;
 import com.example.myauth.security.JwtTokenProvider;
+import com.example.myauth.util.TokenDigest;
 //import com.tools.jackson.databind.ObjectMapper;  // Jackson 3 패키지 (Spring Boot 4.0.0)
 import tools.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
@@ -35,7 +35,9 @@ public class KakaoOAuthService {
 
   private final KakaoOAuthProperties kakaoProperties;
   private final UserRepository userRepository;
-  private final RefreshTokenRepository refreshTokenRepository;
+  private final RefreshTokenWriteCoalescer refreshTokenWriteCoalescer;
+  private final UserActivityTracker userActivityTracker;
+  private final RegisteredEmailFilter registeredEmailFilter;
   private final JwtTokenProvider jwtTokenProvider;
   private final ObjectMapper objectMapper;  // JacksonConfig에서 주입받음
   private final RestClient restClient = RestClient.create();
@@ -205,17 +207,23 @@ public class KakaoOAuthService {
           .build();
 
       userRepository.save(user);
+      registeredEmailFilter.add(user.getEmail());
       log.info("신규 카카오 회원 가입 완료 - ID: {}, 이메일: {}", user.getId(), user.getEmail());
     }
 
+    // 마지막 로그인 시각/IP 기록 (주기적으로 반영)
+    userActivityTracker.recordLoginSuccess(user.getId());
+
     // 2️⃣ JWT 토큰 생성
-    String accessToken = jwtTokenProvider.generateAccessToken(user.getEmail(), user.getId());
-    String refreshToken = jwtTokenProvider.generateRefreshToken(user.getEmail());
+    String accessToken = jwtTokenProvider.generateAccessToken(
+        user.getEmail(), user.getId(), user.getRole(), user.getStatus());
+    String refreshToken = jwtTokenProvider.generateRefreshToken(user.getEmail(), user.getId());
     log.info("JWT 토큰 생성 완료 - User ID: {}", user.getId());
 
     // 3️⃣ Refresh Token DB 저장
     RefreshToken refreshTokenEntity = RefreshToken.builder()
-        .token(refreshToken)
+        .token(jwtTokenProvider.isJwt(refreshToken) ? refreshToken : null)  // opaque 토큰은 원문 미저장
+        .tokenHash(TokenDigest.sha256(refreshToken))                        // 조회 키 (SHA-256)
         .user(user)
         .expiresAt(LocalDateTime.ofInstant(
             jwtTokenProvider.getRefreshTokenExpiryDate().toInstant(),
@@ -223,8 +231,8 @@ public class KakaoOAuthService {
         ))
         .build();
 
-    refreshTokenRepository.save(refreshTokenEntity);
-    log.info("Refresh Token DB 저장 완료");
+    refreshTokenWriteCoalescer.save(refreshTokenEntity);  // 회원가입/로그인 트랜잭션에서 함께 저장
+    log.info("Refresh Token DB 저장 예약");
 
     // 4️⃣ 로그인 응답 생성
     LoginResponse.UserInfo userInfo = LoginResponse.UserInfo.builder()
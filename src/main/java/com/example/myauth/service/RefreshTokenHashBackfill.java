@@ -0,0 +1,215 @@
+package com.example.myauth.service;
+
+import com.example.myauth.util.TokenDigest;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * refresh_tokens.token_hash 온라인 백필
+ *
+ * token_hash 컬럼 도입 전에 저장된 행(token만 있고 token_hash는 NULL)에 SHA-256 다이제스트를 채운다
+ * 백필이 끝나면 Access Token 갱신 시 token 원문 컬럼(인덱스 없음, 전체 스캔) 조회를 더 이상 하지 않는다
+ *
+ * 순차 배포 중에는 아직 교체되지 않은 이전 버전 인스턴스가 token_hash 없이 행을 계속 저장하므로
+ * 한 번의 백필만으로는 끝났다고 볼 수 없다
+ * - jwt.refresh-token.hash-backfill.legacy-writers-retired: 모든 인스턴스가 token_hash를 저장하는 버전이 된 뒤 true로 설정
+ * - 설정 전에는 recheck-interval마다 백필을 다시 실행하고, token 원문 조회 경로도 유지한다
+ * - 설정 후 한 번의 백필이 끝까지 성공하면 완료 (원문 조회 중단, 스레드 종료)
+ *
+ * - 시작 후 별도 스레드에서 실행 (애플리케이션 시작/요청 처리를 막지 않음)
+ * - id 순서 keyset 페이지로 jwt.refresh-token.hash-backfill.batch-size건씩 읽고 JDBC 배치로 UPDATE
+ *   (token_hash IS NULL 조건은 uk_refresh_tokens_token_hash (token_hash, id) 범위로 읽으므로 이미 채운 행은 건너뜀)
+ * - 배치 사이에 jwt.refresh-token.hash-backfill.pause만큼 쉬어 DB 부하와 복제 지연을 제한
+ * - 배치마다 자동 커밋 → 행 잠금은 짧고, 중단되어도 다음 시작 시 남은 행부터 이어서 진행
+ * - UPDATE는 token_hash IS NULL인 행만 바꾸므로 여러 인스턴스가 동시에 실행해도 안전하다
+ * - 같은 토큰 문자열이 여러 행에 있으면(유니크 위반) 그 행은 건너뛴다 (다이제스트 조회로 같은 토큰의 다른 행이 조회됨)
+ *
+ * 메트릭: refresh.token.hash.backfill.rows
+ */
+@Slf4j
+@Component
+public class RefreshTokenHashBackfill {
+
+  private static final String SELECT_LEGACY_ROWS =
+      "SELECT id, token FROM refresh_tokens "
+          + "WHERE token_hash IS NULL AND token IS NOT NULL AND id > ? ORDER BY id LIMIT ?";
+
+  private static final String UPDATE_TOKEN_HASH =
+      "UPDATE refresh_tokens SET token_hash = ? WHERE id = ? AND token_hash IS NULL";
+
+  private final boolean enabled;
+  private final boolean legacyWritersRetired;
+  private final int batchSize;
+  private final long pauseMillis;
+  private final long recheckIntervalMillis;
+  private final JdbcTemplate jdbcTemplate;
+  private final Counter backfilledRows;
+
+  /** 마지막 백필이 남은 행 없이 끝났는지 */
+  private volatile boolean complete;
+
+  private volatile Thread worker;
+
+  /**
+   * 생성자 - application.yaml의 jwt.refresh-token.hash-backfill 설정을 주입받는다
+   */
+  public RefreshTokenHashBackfill(
+      @Value("${jwt.refresh-token.hash-backfill.enabled:true}") boolean enabled,
+      @Value("${jwt.refresh-token.hash-backfill.legacy-writers-retired:false}") boolean legacyWritersRetired,
+      @Value("${jwt.refresh-token.hash-backfill.batch-size:1000}") int batchSize,
+      @Value("${jwt.refresh-token.hash-backfill.pause:200ms}") Duration pause,
+      @Value("${jwt.refresh-token.hash-backfill.recheck-interval:10m}") Duration recheckInterval,
+      JdbcTemplate jdbcTemplate,
+      MeterRegistry meterRegistry
+  ) {
+    log.debug("Refresh Token 다이제스트 백필 설정 - 사용: {}, 이전 버전 종료: {}, 배치 크기: {}, 배치 간격: {}, 재확인 주기: {}",
+        enabled, legacyWritersRetired, batchSize, pause, recheckInterval);
+
+    this.enabled = enabled;
+    this.legacyWritersRetired = legacyWritersRetired;
+    this.batchSize = batchSize;
+    this.pauseMillis = pause.toMillis();
+    this.recheckIntervalMillis = recheckInterval.toMillis();
+    this.jdbcTemplate = jdbcTemplate;
+    this.backfilledRows = Counter.builder("refresh.token.hash.backfill.rows")
+        .description("token_hash를 채운 기존 Refresh Token 행 수")
+        .register(meterRegistry);
+  }
+
+  /**
+   * 모든 행에 token_hash가 채워졌고 앞으로도 token_hash 없는 행이 생기지 않는지 확인한다
+   *
+   * @return true면 token_hash 조회만으로 모든 Refresh Token을 찾을 수 있음
+   */
+  public boolean isComplete() {
+    return legacyWritersRetired && complete;
+  }
+
+  /**
+   * 시작 후 백필 스레드를 실행한다
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  public void startOnReady() {
+    if (!enabled) {
+      return;
+    }
+    worker = new Thread(this::runUntilComplete, "refresh-token-hash-backfill");
+    worker.setDaemon(true);
+    worker.start();
+  }
+
+  /**
+   * 완료될 때까지 recheck-interval마다 백필을 반복한다
+   * (이전 버전 인스턴스가 저장한 행, DB 오류로 남은 행을 다음 회차에 채움)
+   */
+  private void runUntilComplete() {
+    try {
+      while (true) {
+        backfill();
+        if (isComplete()) {
+          return;
+        }
+        TimeUnit.MILLISECONDS.sleep(recheckIntervalMillis);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * token_hash가 없는 행을 끝까지 채운다 (한 회차)
+   * DB 오류 시 이번 회차를 중단한다 (그동안은 token 원문 조회 경로를 유지)
+   */
+  void backfill() {
+    complete = false;
+    long lastId = 0;
+    long total = 0;
+    try {
+      while (true) {
+        // 1️⃣ 마지막으로 처리한 id 이후의 기존 행을 읽는다
+        List<LegacyRow> rows = jdbcTemplate.query(SELECT_LEGACY_ROWS,
+            (rs, rowNum) -> new LegacyRow(rs.getLong(1), rs.getString(2)),
+            lastId, batchSize);
+        if (rows.isEmpty()) {
+          break;
+        }
+
+        // 2️⃣ 다이제스트를 계산해서 배치로 UPDATE (자동 커밋)
+        int updated = update(rows);
+        backfilledRows.increment(updated);
+        total += updated;
+        lastId = rows.get(rows.size() - 1).id();
+        log.debug("Refresh Token 다이제스트 백필 진행: {}건 (마지막 id: {})", total, lastId);
+
+        if (rows.size() < batchSize) {
+          break;
+        }
+
+        // 3️⃣ 다음 배치 전에 쉰다 (운영 트래픽 보호)
+        TimeUnit.MILLISECONDS.sleep(pauseMillis);
+      }
+
+      complete = true;
+      if (total > 0) {
+        log.info("Refresh Token 다이제스트 백필 완료: {}건", total);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      log.info("Refresh Token 다이제스트 백필 중단: {}건 처리 (마지막 id: {})", total, lastId);
+    } catch (Exception e) {
+      log.warn("Refresh Token 다이제스트 백필 실패: {}건 처리 (마지막 id: {}): {}", total, lastId, e.getMessage());
+    }
+  }
+
+  /**
+   * 배치로 UPDATE하고, 유니크 위반 시 행마다 다시 시도하여 중복 토큰 행만 건너뛴다
+   */
+  private int update(List<LegacyRow> rows) {
+    List<Object[]> args = rows.stream()
+        .map(row -> new Object[]{TokenDigest.sha256(row.token()), row.id()})
+        .toList();
+    try {
+      return Arrays.stream(jdbcTemplate.batchUpdate(UPDATE_TOKEN_HASH, args))
+          .map(count -> Math.max(count, 0))
+          .sum();
+    } catch (DataIntegrityViolationException e) {
+      int updated = 0;
+      for (Object[] arg : args) {
+        try {
+          updated += jdbcTemplate.update(UPDATE_TOKEN_HASH, arg);
+        } catch (DataIntegrityViolationException duplicate) {
+          log.debug("같은 토큰의 다이제스트가 이미 있어 건너뜀: id={}", arg[1]);
+        }
+      }
+      return updated;
+    }
+  }
+
+  /**
+   * 종료 시 백필 스레드를 멈춘다 (처리한 배치는 이미 커밋됨)
+   */
+  @PreDestroy
+  public void shutdown() throws InterruptedException {
+    Thread current = worker;
+    if (current != null) {
+      current.interrupt();
+      current.join(TimeUnit.SECONDS.toMillis(5));
+    }
+  }
+
+  private record LegacyRow(long id, String token) {
+  }
+}
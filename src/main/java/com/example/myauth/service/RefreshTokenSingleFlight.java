@@ -0,0 +1,156 @@
+package com.example.myauth.service;
+
+import com.example.myauth.dto.TokenRefreshResponse;
+import com.example.myauth.util.TokenDigest;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 같은 Refresh Token의 동시 갱신 요청 합치기 (single-flight)
+ *
+ * 탭 여러 개, 모바일 앱 복귀 등으로 같은 Refresh Token의 /refresh가 몇 ms 간격으로 몰려 들어오면
+ * 첫 요청만 AuthService.refreshAccessToken()을 실행하고 나머지는 그 결과를 함께 받는다
+ * - 진행 중: 첫 요청이 끝날 때까지 기다렸다가 같은 결과(실패 시 같은 예외)를 받는다
+ *   (jwt.refresh-token.single-flight.wait-timeout까지만 기다림)
+ * - 유예 기간: 성공한 결과를 jwt.refresh-token.single-flight.grace-period 동안 보관하여 늦게 도착한 중복 요청에도 돌려준다
+ *   (Rotation으로 이미 취소된 토큰이라 재사용 탐지 → 전체 로그아웃이 되는 것을 막음)
+ * - 실패한 결과는 보관하지 않는다 (다음 요청은 다시 실행)
+ *
+ * 공유받는 요청(진행 중/유예 기간)에는 Access Token만 돌려주고 교체된 후속 Refresh Token은 주지 않는다
+ * 이미 교체된 토큰을 제시한 요청이 정상 클라이언트의 중복 요청인지 탈취된 토큰의 재사용인지 구분할 수 없으므로,
+ * 후속 Refresh Token을 주면 탈취한 쪽이 재사용 탐지 없이 유효한 Refresh Token을 얻게 된다
+ * (유예 기간 동안 짧은 수명의 Access Token은 노출될 수 있음)
+ * 클라이언트는 첫 응답에서 받은 후속 Refresh Token을 계속 사용한다 (웹은 첫 응답이 쿠키를 교체함)
+ *
+ * 인스턴스 단위로 동작하므로 중복 요청이 다른 인스턴스로 가면 합쳐지지 않는다
+ *
+ * 메트릭: refresh.token.single-flight.shared (state=in-flight|grace)
+ */
+@Slf4j
+@Component
+public class RefreshTokenSingleFlight {
+
+  private final boolean enabled;
+  private final long waitTimeoutMillis;
+  private final AuthService authService;
+  private final Cache<ByteBuffer, CompletableFuture<TokenRefreshResponse>> flights;
+  private final Counter sharedInFlight;
+  private final Counter sharedInGrace;
+
+  /**
+   * 생성자 - application.yaml의 jwt.refresh-token.single-flight 설정을 주입받는다
+   */
+  public RefreshTokenSingleFlight(
+      @Value("${jwt.refresh-token.single-flight.enabled:true}") boolean enabled,
+      @Value("${jwt.refresh-token.single-flight.grace-period:10s}") Duration gracePeriod,
+      @Value("${jwt.refresh-token.single-flight.maximum-size:10000}") long maximumSize,
+      @Value("${jwt.refresh-token.single-flight.wait-timeout:5s}") Duration waitTimeout,
+      AuthService authService,
+      MeterRegistry meterRegistry
+  ) {
+    log.debug("Refresh 단일 실행 설정 - 사용: {}, 유예 기간: {}, 최대 크기: {}, 대기 제한: {}",
+        enabled, gracePeriod, maximumSize, waitTimeout);
+
+    this.enabled = enabled;
+    this.waitTimeoutMillis = waitTimeout.toMillis();
+    this.authService = authService;
+    this.flights = Caffeine.newBuilder()
+        .expireAfterWrite(gracePeriod)
+        .maximumSize(maximumSize)
+        .build();
+    this.sharedInFlight = sharedCounter(meterRegistry, "in-flight");
+    this.sharedInGrace = sharedCounter(meterRegistry, "grace");
+  }
+
+  /**
+   * Refresh Token으로 Access Token을 갱신한다 (같은 토큰의 동시 요청은 한 번만 실행)
+   *
+   * @param refreshToken Refresh Token 문자열
+   * @return 갱신 결과 (호출자마다 별도 객체, 호출자가 수정해도 다른 요청에 영향 없음)
+   *         다른 요청의 결과를 공유받은 경우 refreshToken은 null
+   */
+  public TokenRefreshResponse refresh(String refreshToken) {
+    if (!enabled) {
+      return authService.refreshAccessToken(refreshToken);
+    }
+
+    // 1️⃣ 이미 실행 중이거나 방금 성공한 갱신이 있으면 그 결과를 받는다
+    ByteBuffer key = ByteBuffer.wrap(TokenDigest.sha256(refreshToken));
+    CompletableFuture<TokenRefreshResponse> flight = new CompletableFuture<>();
+    CompletableFuture<TokenRefreshResponse> existing = flights.asMap().putIfAbsent(key, flight);
+    if (existing != null) {
+      (existing.isDone() ? sharedInGrace : sharedInFlight).increment();
+      log.debug("같은 Refresh Token의 갱신 결과 공유 (진행 중: {})", !existing.isDone());
+      return accessTokenOnly(await(existing));
+    }
+
+    // 2️⃣ 첫 요청이 실제로 갱신한다
+    //    (Error 포함 어떤 실패든 flight를 끝내고 제거해야 기다리는 요청과 다음 요청이 막히지 않음)
+    try {
+      TokenRefreshResponse response = authService.refreshAccessToken(refreshToken);
+      flight.complete(response);
+      return copyOf(response);
+    } catch (Throwable e) {
+      flights.asMap().remove(key, flight);
+      flight.completeExceptionally(e);
+      throw e;
+    }
+  }
+
+  /**
+   * 첫 요청의 결과를 기다린다 (실패했으면 같은 예외를 던진다)
+   */
+  private TokenRefreshResponse await(CompletableFuture<TokenRefreshResponse> flight) {
+    try {
+      return flight.get(waitTimeoutMillis, TimeUnit.MILLISECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Access Token 갱신 대기 중 인터럽트되었습니다.", e);
+    } catch (TimeoutException e) {
+      throw new IllegalStateException("Access Token 갱신 대기 시간이 초과되었습니다.", e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      }
+      if (e.getCause() instanceof Error error) {
+        throw error;
+      }
+      throw new IllegalStateException("Access Token 갱신 실패", e.getCause());
+    }
+  }
+
+  /**
+   * 공유받는 요청용 - 후속 Refresh Token을 빼고 Access Token만 담는다
+   */
+  private static TokenRefreshResponse accessTokenOnly(TokenRefreshResponse response) {
+    return TokenRefreshResponse.builder()
+        .accessToken(response.getAccessToken())
+        .build();
+  }
+
+  private static TokenRefreshResponse copyOf(TokenRefreshResponse response) {
+    return TokenRefreshResponse.builder()
+        .accessToken(response.getAccessToken())
+        .refreshToken(response.getRefreshToken())
+        .build();
+  }
+
+  private static Counter sharedCounter(MeterRegistry meterRegistry, String state) {
+    return Counter.builder("refresh.token.single-flight.shared")
+        .description("다른 요청의 갱신 결과를 공유받은 /refresh 요청 수")
+        .tag("state", state)
+        .register(meterRegistry);
+  }
+}
@@ -0,0 +1,262 @@
+package com.example.myauth.service;
+
+import com.example.myauth.entity.RefreshToken;
+import com.example.myauth.repository.RefreshTokenRepository;
+import com.example.myauth.security.RefreshTokenIndex;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Refresh Token INSERT 묶음 처리기
+ *
+ * 로그인마다 refresh_tokens에 한 행씩 INSERT하던 것을, 동시에 들어온 로그인의 INSERT를 모아
+ * 하나의 트랜잭션 + JDBC 배치(hibernate.jdbc.batch_size)로 저장한다 (ID는 pooled sequence로 미리 할당)
+ *
+ * - 모으는 시간: 첫 요청 후 jwt.refresh-token.write-batch.window 동안 또는 max-size개가 될 때까지
+ * - 내구성: 호출한 스레드는 자신이 포함된 배치가 커밋될 때까지 기다린다 (로그인 응답은 커밋 후에 나감)
+ * - 묶어서 저장하는 것은 호출한 쪽에 트랜잭션이 없을 때만이다
+ *   호출한 트랜잭션이 있으면 그 트랜잭션에서 바로 저장한다 (커넥션을 쥔 요청 스레드가 배치 스레드를 기다리면
+ *   동시 로그인이 커넥션 풀 크기에 도달했을 때 배치 스레드가 커넥션을 얻지 못해 모두 멈추므로)
+ *   → 로그인(AuthService.login/loginEx)은 트랜잭션 없이 호출하고, spring.jpa.open-in-view는 끈다
+ * - 배치가 실패하면 행마다 따로 저장하여 실패한 요청만 예외를 받는다
+ * - 대기는 jwt.refresh-token.write-batch.max-wait까지만 한다 (배치 스레드가 멈췄으면 아직 꺼내지 않은 요청은 직접 저장)
+ *   종료가 시작된 뒤의 요청은 대기열에 넣지 않고 바로 저장한다
+ * - 저장이 끝난 토큰은 RefreshTokenIndex에 넣어 첫 갱신 요청부터 DB 조회 없이 상태를 확인한다
+ *
+ * 메트릭: refresh.token.write.batch.size
+ */
+@Slf4j
+@Component
+public class RefreshTokenWriteCoalescer {
+
+  private final boolean enabled;
+  private final long windowNanos;
+  private final int maxSize;
+  private final long maxWaitMillis;
+  private final RefreshTokenRepository refreshTokenRepository;
+  private final RefreshTokenIndex refreshTokenIndex;
+  private final TransactionTemplate transactionTemplate;
+  private final DistributionSummary batchSize;
+  private final BlockingQueue<PendingWrite> queue = new LinkedBlockingQueue<>();
+  private final Thread worker;
+
+  /** 종료가 시작되었는지 (이후 요청은 대기열에 넣지 않음) */
+  private volatile boolean stopping;
+
+  /**
+   * 생성자 - application.yaml의 jwt.refresh-token.write-batch 설정을 주입받는다
+   */
+  public RefreshTokenWriteCoalescer(
+      @Value("${jwt.refresh-token.write-batch.enabled:true}") boolean enabled,
+      @Value("${jwt.refresh-token.write-batch.window:2ms}") Duration window,
+      @Value("${jwt.refresh-token.write-batch.max-size:50}") int maxSize,
+      @Value("${jwt.refresh-token.write-batch.max-wait:5s}") Duration maxWait,
+      RefreshTokenRepository refreshTokenRepository,
+      RefreshTokenIndex refreshTokenIndex,
+      PlatformTransactionManager transactionManager,
+      MeterRegistry meterRegistry
+  ) {
+    log.debug("Refresh Token 배치 저장 설정 - 사용: {}, 대기: {}, 최대 크기: {}, 최대 대기: {}",
+        enabled, window, maxSize, maxWait);
+
+    this.enabled = enabled;
+    this.windowNanos = window.toNanos();
+    this.maxSize = maxSize;
+    this.maxWaitMillis = maxWait.toMillis();
+    this.refreshTokenRepository = refreshTokenRepository;
+    this.refreshTokenIndex = refreshTokenIndex;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    this.batchSize = DistributionSummary.builder("refresh.token.write.batch.size")
+        .description("한 번의 트랜잭션으로 저장한 Refresh Token 수")
+        .register(meterRegistry);
+
+    this.worker = new Thread(this::runWorker, "refresh-token-writer");
+    this.worker.setDaemon(true);
+    if (enabled) {
+      this.worker.start();
+    }
+  }
+
+  /**
+   * Refresh Token을 저장한다
+   * - 호출한 트랜잭션이 없으면 배치에 넣고 커밋될 때까지 기다린다 (저장 실패 시 예외가 호출자에게 전파된다)
+   * - 호출한 트랜잭션이 있거나 종료 중이면 바로 저장한다 (기다리지 않음, 트랜잭션이 있으면 색인은 커밋 후 반영)
+   *
+   * @param refreshToken 저장할 Refresh Token
+   */
+  public void save(RefreshToken refreshToken) {
+    long stamp = refreshTokenIndex.stamp();
+    if (!enabled || stopping || TransactionSynchronizationManager.isActualTransactionActive()) {
+      refreshTokenRepository.save(refreshToken);
+      if (TransactionSynchronizationManager.isSynchronizationActive()) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+          @Override
+          public void afterCommit() {
+            index(refreshToken, stamp);
+          }
+        });
+      } else {
+        index(refreshToken, stamp);
+      }
+      return;
+    }
+
+    saveAndAwait(refreshToken);
+    index(refreshToken, stamp);
+  }
+
+  /**
+   * 저장한 토큰을 색인에 넣는다 (사용자는 프록시일 수 있으나 ID만 읽으므로 조회가 발생하지 않음)
+   */
+  private void index(RefreshToken refreshToken, long stamp) {
+    refreshTokenIndex.put(
+        refreshToken.getTokenHash(),
+        refreshToken.getId(),
+        refreshToken.getUser() != null ? refreshToken.getUser().getId() : null,
+        refreshToken.getExpiresAt(),
+        false,
+        stamp);
+  }
+
+  /**
+   * 배치 대기열에 넣고 커밋될 때까지 기다린다 (최대 max-wait)
+   * 시간 안에 끝나지 않았을 때 배치 스레드가 아직 꺼내지 않은 요청이면 대기열에서 빼고 직접 저장한다
+   */
+  private void saveAndAwait(RefreshToken refreshToken) {
+    PendingWrite write = new PendingWrite(refreshToken, new CompletableFuture<>());
+    queue.add(write);
+    try {
+      write.done().get(maxWaitMillis, TimeUnit.MILLISECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Refresh Token 저장 대기 중 인터럽트되었습니다.", e);
+    } catch (TimeoutException e) {
+      if (!queue.remove(write)) {
+        // 배치 스레드가 이미 저장 중 (결과를 알 수 없으므로 실패로 응답)
+        throw new IllegalStateException("Refresh Token 저장 대기 시간이 초과되었습니다.", e);
+      }
+      log.warn("Refresh Token 배치 스레드가 응답하지 않아 직접 저장 (배치 스레드 실행 중: {})", worker.isAlive());
+      transactionTemplate.executeWithoutResult(status -> refreshTokenRepository.save(refreshToken));
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      }
+      throw new IllegalStateException("Refresh Token 저장 실패", e.getCause());
+    }
+  }
+
+  /**
+   * 배치 스레드 - 요청을 모아서 한 트랜잭션으로 저장한다
+   */
+  private void runWorker() {
+    List<PendingWrite> batch = new ArrayList<>(maxSize);
+    while (!Thread.currentThread().isInterrupted()) {
+      try {
+        collect(batch);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      if (!batch.isEmpty()) {
+        write(batch);
+        batch.clear();
+      }
+    }
+
+    // 종료 시 남은 요청도 저장한다
+    queue.drainTo(batch);
+    if (!batch.isEmpty()) {
+      write(batch);
+    }
+  }
+
+  /**
+   * 첫 요청을 기다린 뒤 window 동안 또는 maxSize개가 될 때까지 추가 요청을 모은다
+   */
+  private void collect(List<PendingWrite> batch) throws InterruptedException {
+    batch.add(queue.take());
+    long deadline = System.nanoTime() + windowNanos;
+    while (batch.size() < maxSize) {
+      long remaining = deadline - System.nanoTime();
+      PendingWrite next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+      if (next == null) {
+        return;
+      }
+      batch.add(next);
+    }
+  }
+
+  /**
+   * 배치를 한 트랜잭션으로 저장하고 대기 중인 요청에 결과를 알린다
+   */
+  private void write(List<PendingWrite> batch) {
+    try {
+      List<RefreshToken> tokens = batch.stream().map(PendingWrite::refreshToken).toList();
+      transactionTemplate.executeWithoutResult(status -> {
+        refreshTokenRepository.saveAll(tokens);
+        refreshTokenRepository.flush();
+      });
+      batchSize.record(batch.size());
+      batch.forEach(write -> write.done().complete(null));
+
+    } catch (RuntimeException e) {
+      log.warn("Refresh Token 배치 저장 실패 - 개별 저장으로 재시도 ({}건): {}", batch.size(), e.getMessage());
+      batch.forEach(this::writeOne);
+    }
+  }
+
+  /**
+   * 한 행만 저장한다 (배치 실패 후 재시도)
+   * 실패한 saveAll에서 할당된 ID를 지워야 save()가 merge(행마다 SELECT)가 아닌 persist로 처리한다
+   */
+  private void writeOne(PendingWrite write) {
+    RefreshToken refreshToken = write.refreshToken();
+    refreshToken.setId(null);
+    try {
+      transactionTemplate.executeWithoutResult(status -> refreshTokenRepository.save(refreshToken));
+      batchSize.record(1);
+      write.done().complete(null);
+    } catch (RuntimeException e) {
+      write.done().completeExceptionally(e);
+    }
+  }
+
+  /**
+   * 애플리케이션 종료 시 배치 스레드를 멈춘다 (대기 중인 요청은 저장 후 종료)
+   * 배치 스레드가 남은 요청을 비운 뒤에 들어온 요청도 여기서 저장한다 (대기하는 스레드가 남지 않게)
+   */
+  @PreDestroy
+  public void shutdown() throws InterruptedException {
+    stopping = true;
+    worker.interrupt();
+    worker.join(TimeUnit.SECONDS.toMillis(5));
+
+    List<PendingWrite> remaining = new ArrayList<>();
+    queue.drainTo(remaining);
+    if (!remaining.isEmpty()) {
+      write(remaining);
+    }
+  }
+
+  private record PendingWrite(RefreshToken refreshToken, CompletableFuture<Void> done) {
+  }
+}
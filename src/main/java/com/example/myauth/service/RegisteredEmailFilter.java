@@ -0,0 +1,131 @@
+package com.example.myauth.service;
+
+import com.example.myauth.util.ScalableBloomFilter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 가입된 이메일 Bloom Filter
+ *
+ * 회원가입 시 비밀번호 해시(약 100ms) 전에 중복 이메일을 걸러내기 위한 사전 확인용이다
+ * - "확실히 없음"이면 DB 조회 없이 바로 해시 → 저장 (정상 가입 경로는 추가 비용 없음)
+ * - "있을 수도 있음"이면 existsByEmail로 확인 → 중복이면 해시 없이 거부
+ *
+ * - 시작 시: users 테이블을 id 순서로 나누어 읽어 적재 (적재 전에는 모든 이메일을 "있을 수도 있음"으로 처리)
+ * - 가입 시: 이 인스턴스에서 가입한 이메일을 바로 추가
+ * - 다른 인스턴스에서 가입한 이메일: app.signup-email-filter.refresh-interval-ms 주기로 새 행만 읽어 추가
+ *   (반영 전 중복 가입은 기존과 같이 unique 제약 위반으로 거부된다)
+ *
+ * 탈퇴/이메일 변경된 항목은 제거하지 않는다 (오탐이 되어 existsByEmail 한 번이 더 발생할 뿐)
+ */
+@Slf4j
+@Component
+public class RegisteredEmailFilter {
+
+  /** 시작/주기 적재 시 한 번에 읽는 행 수 */
+  private static final int LOAD_BATCH_SIZE = 10_000;
+
+  private final boolean enabled;
+  private final JdbcTemplate jdbcTemplate;
+  private final ScalableBloomFilter filter;
+
+  /** 적재가 끝났는지 (끝나기 전에는 모든 이메일을 있을 수도 있음으로 처리) */
+  private volatile boolean loaded;
+
+  /** 마지막으로 읽은 users.id */
+  private volatile long lastLoadedId;
+
+  public RegisteredEmailFilter(
+      @Value("${app.signup-email-filter.enabled:true}") boolean enabled,
+      @Value("${app.signup-email-filter.expected-insertions:100000}") int expectedInsertions,
+      @Value("${app.signup-email-filter.false-positive-rate:0.01}") double falsePositiveRate,
+      JdbcTemplate jdbcTemplate
+  ) {
+    this.enabled = enabled;
+    this.jdbcTemplate = jdbcTemplate;
+    this.filter = new ScalableBloomFilter(expectedInsertions, falsePositiveRate);
+  }
+
+  /**
+   * 가입된 이메일일 수 있는지 확인한다
+   *
+   * @param email 정규화된 이메일
+   * @return false면 확실히 가입되지 않은 이메일, true면 DB 확인 필요
+   */
+  public boolean mightBeRegistered(String email) {
+    if (!enabled || !loaded) {
+      return true;
+    }
+    return filter.mightContain(normalize(email));
+  }
+
+  /**
+   * 가입한 이메일을 추가한다
+   * 트랜잭션이 롤백되어도 오탐이 하나 늘 뿐이므로 저장 직후 바로 추가한다
+   *
+   * @param email 이메일
+   */
+  public void add(String email) {
+    if (enabled && email != null) {
+      filter.put(normalize(email));
+    }
+  }
+
+  /**
+   * 시작 시 가입된 이메일 전체를 적재한다
+   * DB를 사용할 수 없어도 애플리케이션 시작은 계속한다 (다음 주기에 다시 시도)
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  public void loadOnStartup() {
+    refreshFromDatabase();
+  }
+
+  /**
+   * 마지막으로 읽은 이후 추가된 사용자의 이메일을 적재한다
+   */
+  @Scheduled(fixedDelayString = "${app.signup-email-filter.refresh-interval-ms:60000}")
+  public void refreshFromDatabase() {
+    if (!enabled) {
+      return;
+    }
+    try {
+      long loadedRows = 0;
+      int batchRows;
+      do {
+        long[] maxId = {lastLoadedId};
+        batchRows = jdbcTemplate.query(
+            "SELECT id, email FROM users WHERE id > ? ORDER BY id LIMIT ?",
+            rs -> {
+              int rows = 0;
+              while (rs.next()) {
+                maxId[0] = rs.getLong(1);
+                add(rs.getString(2));
+                rows++;
+              }
+              return rows;
+            },
+            lastLoadedId, LOAD_BATCH_SIZE);
+        lastLoadedId = maxId[0];
+        loadedRows += batchRows;
+      } while (batchRows == LOAD_BATCH_SIZE);
+
+      if (!loaded) {
+        loaded = true;
+        log.info("가입 이메일 필터 적재 완료: {}건 ({} bytes)", filter.approximateSize(), filter.sizeInBytes());
+      } else if (loadedRows > 0) {
+        log.debug("가입 이메일 필터 갱신: {}건", loadedRows);
+      }
+    } catch (Exception e) {
+      log.warn("가입 이메일 필터를 적재할 수 없습니다: {}", e.getMessage());
+    }
+  }
+
+  private static String normalize(String email) {
+    return email.trim().toLowerCase();
+  }
+}
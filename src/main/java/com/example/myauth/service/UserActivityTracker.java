@@ -0,0 +1,205 @@
+package com.example.myauth.service;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 로그인/토큰 사용 기록 (write-behind)
+ *
+ * users.last_login_at, last_login_ip, failed_login_attempts와 refresh_tokens.last_used_at을
+ * 요청마다 UPDATE하지 않고 메모리에 모아 두었다가 주기적으로 묶어서 반영한다
+ *
+ * - 기록: ConcurrentHashMap에 사용자/토큰별로 합쳐 둔다 (요청 스레드는 DB를 기다리지 않음)
+ * - 반영: app.activity-tracking.flush-interval-ms마다 사용자/토큰당 한 행씩 JDBC batch UPDATE
+ * - 종료 시 남은 기록을 반영한다
+ *
+ * 엔티티를 거치지 않는 UPDATE이므로 토큰 폐기/인증 사용자 캐시 무효화 이벤트가 발생하지 않는다
+ * (보안 검토용 기록이며 인증 상태에는 영향이 없다)
+ * 프로세스가 비정상 종료되면 마지막 주기의 기록은 유실될 수 있다
+ */
+@Slf4j
+@Component
+public class UserActivityTracker {
+
+  /**
+   * 로그인 성공 시 시각/IP를 덮어쓰고, 실패 횟수는 마지막 성공 이후 실패 수로 설정한다
+   * 주기 안에 성공이 없었으면 실패 수만 더한다
+   */
+  private static final String UPDATE_USER_SQL =
+      "UPDATE users SET "
+          + "last_login_at = COALESCE(?, last_login_at), "
+          + "last_login_ip = COALESCE(?, last_login_ip), "
+          + "failed_login_attempts = CASE WHEN ? THEN ? ELSE failed_login_attempts + ? END "
+          + "WHERE id = ?";
+
+  private static final String UPDATE_REFRESH_TOKEN_SQL =
+      "UPDATE refresh_tokens SET last_used_at = GREATEST(COALESCE(last_used_at, ?), ?) WHERE id = ?";
+
+  private final boolean enabled;
+  private final JdbcTemplate jdbcTemplate;
+  private final Map<Long, LoginActivity> loginActivity = new ConcurrentHashMap<>();
+  private final Map<Long, LocalDateTime> refreshTokenUsage = new ConcurrentHashMap<>();
+
+  public UserActivityTracker(
+      @Value("${app.activity-tracking.enabled:true}") boolean enabled,
+      JdbcTemplate jdbcTemplate
+  ) {
+    this.enabled = enabled;
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  /**
+   * 로그인 성공을 기록한다 (IP는 현재 요청의 remote address)
+   *
+   * @param userId 사용자 ID
+   */
+  public void recordLoginSuccess(Long userId) {
+    if (!enabled || userId == null) {
+      return;
+    }
+    LoginActivity success = new LoginActivity(LocalDateTime.now(), currentClientIp(), true, 0);
+    loginActivity.merge(userId, success, (previous, current) -> current);
+  }
+
+  /**
+   * 비밀번호 불일치로 인한 로그인 실패를 기록한다
+   *
+   * @param userId 사용자 ID
+   */
+  public void recordLoginFailure(Long userId) {
+    if (!enabled || userId == null) {
+      return;
+    }
+    loginActivity.merge(userId, LoginActivity.FAILURE, LoginActivity::plusFailure);
+  }
+
+  /**
+   * 아직 반영하지 않은 기록까지 합친 현재 연속 실패 횟수
+   *
+   * @param userId 사용자 ID
+   * @param persisted DB에서 읽은 failed_login_attempts
+   * @return 현재 실패 횟수
+   */
+  public int failedAttempts(Long userId, int persisted) {
+    LoginActivity pending = loginActivity.get(userId);
+    if (pending == null) {
+      return persisted;
+    }
+    return pending.resetFailures() ? pending.failures() : persisted + pending.failures();
+  }
+
+  /**
+   * Refresh Token 사용(Access Token 갱신)을 기록한다
+   *
+   * @param refreshTokenId refresh_tokens.id
+   */
+  public void recordRefreshTokenUse(Long refreshTokenId) {
+    if (!enabled || refreshTokenId == null) {
+      return;
+    }
+    refreshTokenUsage.put(refreshTokenId, LocalDateTime.now());
+  }
+
+  /**
+   * 모아 둔 기록을 DB에 반영한다
+   */
+  @Scheduled(fixedDelayString = "${app.activity-tracking.flush-interval-ms:10000}")
+  public void flush() {
+    try {
+      flushLoginActivity();
+      flushRefreshTokenUsage();
+    } catch (Exception e) {
+      // 반영하지 못한 기록은 버린다 (다음 로그인/갱신 시 다시 기록됨)
+      log.warn("사용자 활동 기록을 반영할 수 없습니다: {}", e.getMessage());
+    }
+  }
+
+  /**
+   * 애플리케이션 종료 시 남은 기록을 반영한다
+   */
+  @PreDestroy
+  public void flushOnShutdown() {
+    flush();
+  }
+
+  private void flushLoginActivity() {
+    List<Object[]> rows = new ArrayList<>();
+    for (Long userId : loginActivity.keySet()) {
+      // 꺼내는 동시에 제거하여, 반영 중에 들어온 기록은 다음 주기로 넘긴다
+      LoginActivity activity = loginActivity.remove(userId);
+      if (activity == null) {
+        continue;
+      }
+      rows.add(new Object[]{
+          activity.lastLoginAt() != null ? Timestamp.valueOf(activity.lastLoginAt()) : null,
+          activity.lastLoginIp(),
+          activity.resetFailures(),
+          activity.failures(),
+          activity.failures(),
+          userId
+      });
+    }
+    if (!rows.isEmpty()) {
+      jdbcTemplate.batchUpdate(UPDATE_USER_SQL, rows);
+      log.debug("로그인 기록 반영: {}명", rows.size());
+    }
+  }
+
+  private void flushRefreshTokenUsage() {
+    List<Object[]> rows = new ArrayList<>();
+    for (Long tokenId : refreshTokenUsage.keySet()) {
+      LocalDateTime lastUsedAt = refreshTokenUsage.remove(tokenId);
+      if (lastUsedAt == null) {
+        continue;
+      }
+      Timestamp timestamp = Timestamp.valueOf(lastUsedAt);
+      rows.add(new Object[]{timestamp, timestamp, tokenId});
+    }
+    if (!rows.isEmpty()) {
+      jdbcTemplate.batchUpdate(UPDATE_REFRESH_TOKEN_SQL, rows);
+      log.debug("Refresh Token 사용 기록 반영: {}건", rows.size());
+    }
+  }
+
+  /**
+   * 현재 요청의 클라이언트 IP (요청 스레드가 아니면 null)
+   */
+  private static String currentClientIp() {
+    if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+      HttpServletRequest request = attributes.getRequest();
+      return request.getRemoteAddr();
+    }
+    return null;
+  }
+
+  /**
+   * 한 주기 동안 합쳐 둔 사용자별 로그인 기록
+   *
+   * @param lastLoginAt 마지막 성공 시각 (주기 안에 성공이 없으면 null)
+   * @param lastLoginIp 마지막 성공 IP
+   * @param resetFailures 주기 안에 성공이 있었는지 (있으면 실패 횟수를 failures로 설정)
+   * @param failures 마지막 성공 이후(성공이 없으면 주기 시작 이후) 실패 수
+   */
+  record LoginActivity(LocalDateTime lastLoginAt, String lastLoginIp, boolean resetFailures, int failures) {
+
+    static final LoginActivity FAILURE = new LoginActivity(null, null, false, 1);
+
+    LoginActivity plusFailure(LoginActivity ignored) {
+      return new LoginActivity(lastLoginAt, lastLoginIp, resetFailures, failures + 1);
+    }
+  }
+}
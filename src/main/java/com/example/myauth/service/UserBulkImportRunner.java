@@ -0,0 +1,58 @@
+package com.example.myauth.service;
+
+import com.example.myauth.dto.BulkImportResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * 명령줄 사용자 일괄 등록
+ *
+ * --import-users=<NDJSON 파일 경로>로 실행하면 파일을 등록하고 종료한다 (실패한 행이 있으면 종료 코드 1)
+ * 예) java -jar myauth.jar --spring.main.web-application-type=none --import-users=partner-users.ndjson
+ *
+ * 행별 실패 사유는 로그로 남긴다
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "import-users")
+public class UserBulkImportRunner implements ApplicationRunner {
+
+  private final UserBulkImportService userBulkImportService;
+  private final ConfigurableApplicationContext applicationContext;
+
+  @Value("${import-users}")
+  private String importPath;
+
+  @Override
+  public void run(ApplicationArguments args) throws Exception {
+    Path path = Path.of(importPath);
+    log.info("사용자 일괄 등록 시작: {}", path.toAbsolutePath());
+
+    BulkImportResponse result;
+    try (InputStream input = Files.newInputStream(path)) {
+      result = userBulkImportService.importUsers(input);
+    }
+
+    for (BulkImportResponse.RowError error : result.getErrors()) {
+      log.warn("등록 실패 - 행: {}, 이메일: {}, 사유: {}", error.getLine(), error.getEmail(), error.getMessage());
+    }
+    if (result.isErrorsTruncated()) {
+      log.warn("실패 사유는 처음 {}건만 표시했습니다 (전체 실패: {}건)", result.getErrors().size(), result.getFailedRows());
+    }
+
+    int exitCode = result.getFailedRows() == 0 ? 0 : 1;
+    System.exit(SpringApplication.exit(applicationContext, () -> exitCode));
+  }
+}
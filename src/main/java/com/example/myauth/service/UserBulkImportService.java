@@ -0,0 +1,336 @@
+package com.example.myauth.service;
+
+import com.example.myauth.dto.BulkImportResponse;
+import com.example.myauth.dto.SignupRequest;
+import com.example.myauth.entity.User;
+import com.example.myauth.security.PooledPasswordEncoder;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+/**
+ * 사용자 일괄 등록 (NDJSON)
+ *
+ * 한 줄에 SignupRequest JSON 하나({"email", "password", "username"})인 파일을 스트림으로 읽어 등록한다
+ * - 메모리: batch-size 행씩 읽어 처리하고 버리므로 파일 크기와 관계없이 일정하다 (실패 사유도 최대 건수까지만 보관)
+ * - 검증/정규화: registerUser와 같은 Bean Validation + 이메일 trim/소문자
+ * - 중복: 파일 안의 중복과 이미 가입된 이메일(RegisteredEmailFilter로 걸러낸 후보만 DB 조회)은 해시 전에 제외
+ * - 해시: 전용 ForkJoinPool에서 병렬로 수행 (로그인용 PasswordHashingExecutor 대기열을 차지하지 않음)
+ * - 저장: batch-size 행을 한 트랜잭션의 JDBC 배치 INSERT로 저장하고,
+ *   실패하면 그 묶음만 행마다 다시 저장하여 실패한 행의 사유를 기록한다
+ * - 진행 상황: 묶음마다 누적 행 수와 초당 처리량을 로그로 남긴다
+ *
+ * 메트릭: user.import.rows{result=imported|failed}
+ */
+@Slf4j
+@Service
+public class UserBulkImportService {
+
+  private static final String INSERT_SQL =
+      "INSERT INTO users (email, password, name, role, status, is_active, is_super_user, "
+          + "failed_login_attempts, provider, created_at, updated_at) "
+          + "VALUES (?, ?, ?, ?, ?, 1, 0, 0, 'LOCAL', ?, ?)";
+
+  private final int batchSize;
+  private final int maxReportedErrors;
+  private final ObjectMapper objectMapper;
+  private final Validator validator;
+  private final JdbcTemplate jdbcTemplate;
+  private final TransactionTemplate transactionTemplate;
+  private final PasswordEncoder passwordEncoder;
+  private final RegisteredEmailFilter registeredEmailFilter;
+  private final ForkJoinPool hashingPool;
+  private final Counter importedCounter;
+  private final Counter failedCounter;
+
+  /**
+   * 생성자 - application.yaml의 app.bulk-import 설정을 주입받는다
+   */
+  public UserBulkImportService(
+      @Value("${app.bulk-import.batch-size:500}") int batchSize,
+      @Value("${app.bulk-import.parallelism:0}") int parallelism,
+      @Value("${app.bulk-import.max-reported-errors:1000}") int maxReportedErrors,
+      ObjectMapper objectMapper,
+      Validator validator,
+      JdbcTemplate jdbcTemplate,
+      PlatformTransactionManager transactionManager,
+      PasswordEncoder passwordEncoder,
+      RegisteredEmailFilter registeredEmailFilter,
+      MeterRegistry meterRegistry
+  ) {
+    this.batchSize = batchSize;
+    this.maxReportedErrors = maxReportedErrors;
+    this.objectMapper = objectMapper;
+    this.validator = validator;
+    this.jdbcTemplate = jdbcTemplate;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    // 같은 보정된 인코더를 쓰되 로그인용 스레드 풀은 거치지 않는다
+    this.passwordEncoder = passwordEncoder instanceof PooledPasswordEncoder pooled
+        ? pooled.getDelegate()
+        : passwordEncoder;
+    this.registeredEmailFilter = registeredEmailFilter;
+    // 0이면 코어 수의 절반 (나머지는 로그인/요청 처리용으로 남겨 둔다)
+    int threads = parallelism > 0 ? parallelism : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+    this.hashingPool = new ForkJoinPool(threads);
+    this.importedCounter = Counter.builder("user.import.rows")
+        .description("일괄 등록 처리 행 수")
+        .tag("result", "imported")
+        .register(meterRegistry);
+    this.failedCounter = Counter.builder("user.import.rows")
+        .description("일괄 등록 처리 행 수")
+        .tag("result", "failed")
+        .register(meterRegistry);
+
+    log.debug("사용자 일괄 등록 설정 - 묶음 크기: {}, 해시 스레드: {}", batchSize, threads);
+  }
+
+  /**
+   * NDJSON 스트림의 사용자를 등록한다
+   *
+   * @param input NDJSON 입력 (UTF-8, 호출한 쪽에서 닫는다)
+   * @return 처리 결과 (행별 실패 사유 포함)
+   * @throws IOException 입력을 읽을 수 없는 경우
+   */
+  public BulkImportResponse importUsers(InputStream input) throws IOException {
+    Progress progress = new Progress(System.nanoTime());
+    BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+    List<Row> chunk = new ArrayList<>(batchSize);
+
+    String line;
+    long lineNumber = 0;
+    while ((line = reader.readLine()) != null) {
+      lineNumber++;
+      if (line.isBlank()) {
+        continue;
+      }
+      progress.totalRows++;
+      Row row = parse(lineNumber, line, progress);
+      if (row != null) {
+        chunk.add(row);
+      }
+      if (chunk.size() >= batchSize) {
+        processChunk(chunk, progress);
+        chunk.clear();
+      }
+    }
+    if (!chunk.isEmpty()) {
+      processChunk(chunk, progress);
+    }
+
+    BulkImportResponse result = progress.toResponse();
+    log.info("사용자 일괄 등록 완료 - 전체: {}, 등록: {}, 실패: {}, {}ms ({} rows/s)",
+        result.getTotalRows(), result.getImportedRows(), result.getFailedRows(),
+        result.getElapsedMillis(), String.format("%.1f", result.getRowsPerSecond()));
+    return result;
+  }
+
+  /**
+   * 애플리케이션 종료 시 해시 스레드 풀 정리
+   */
+  @PreDestroy
+  public void shutdown() {
+    hashingPool.shutdownNow();
+  }
+
+  /**
+   * 한 줄을 읽어 검증/정규화한다 (실패하면 사유를 기록하고 null)
+   */
+  private Row parse(long lineNumber, String line, Progress progress) {
+    SignupRequest request;
+    try {
+      request = objectMapper.readValue(line, SignupRequest.class);
+    } catch (JacksonException e) {
+      progress.fail(lineNumber, null, "JSON 형식이 올바르지 않습니다");
+      return null;
+    }
+
+    Set<ConstraintViolation<SignupRequest>> violations = validator.validate(request);
+    if (!violations.isEmpty()) {
+      String message = violations.stream()
+          .map(ConstraintViolation::getMessage)
+          .sorted()
+          .collect(Collectors.joining(", "));
+      String email = request.getEmail() != null ? request.getEmail().trim().toLowerCase() : null;
+      progress.fail(lineNumber, email, message);
+      return null;
+    }
+
+    // registerUser와 동일하게 이메일을 정규화한다
+    return new Row(lineNumber, request.getEmail().trim().toLowerCase(), request.getPassword(), request.getUsername());
+  }
+
+  /**
+   * 한 묶음을 중복 제외 → 병렬 해시 → 배치 INSERT 순서로 처리한다
+   */
+  private void processChunk(List<Row> chunk, Progress progress) {
+    // 1️⃣ 파일 안의 중복 이메일 제외 (먼저 나온 행만 등록)
+    Map<String, Row> unique = new LinkedHashMap<>();
+    for (Row row : chunk) {
+      if (unique.putIfAbsent(row.email(), row) != null) {
+        progress.fail(row.line(), row.email(), "파일 안에서 중복된 이메일입니다");
+      }
+    }
+
+    // 2️⃣ 이미 가입된 이메일 제외 (필터에서 가입되었을 수 있다고 한 이메일만 DB 조회)
+    //    앞선 묶음에서 등록한 이메일도 필터에 추가되어 있으므로 여기서 걸러진다
+    Set<String> existing = findExistingEmails(unique.keySet());
+    List<Row> rows = new ArrayList<>(unique.size());
+    for (Row row : unique.values()) {
+      if (existing.contains(row.email())) {
+        progress.fail(row.line(), row.email(), "이미 가입된 이메일입니다");
+      } else {
+        rows.add(row);
+      }
+    }
+    if (rows.isEmpty()) {
+      progress.log();
+      return;
+    }
+
+    // 3️⃣ 비밀번호 해시 (전용 ForkJoinPool에서 병렬, 순서 유지)
+    List<String> hashes = hashingPool.submit(() -> rows.parallelStream()
+        .map(row -> passwordEncoder.encode(row.password()))
+        .toList()
+    ).join();
+
+    // 4️⃣ 배치 INSERT (실패하면 행마다 다시 저장)
+    Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+    List<Object[]> args = new ArrayList<>(rows.size());
+    for (int i = 0; i < rows.size(); i++) {
+      args.add(insertArgs(rows.get(i), hashes.get(i), now));
+    }
+    try {
+      transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_SQL, args));
+      rows.forEach(row -> progress.imported(row.email()));
+    } catch (DataAccessException e) {
+      log.debug("배치 INSERT 실패, 행마다 다시 저장: {}", e.getMessage());
+      for (int i = 0; i < rows.size(); i++) {
+        insertOne(rows.get(i), args.get(i), progress);
+      }
+    }
+    progress.log();
+  }
+
+  private void insertOne(Row row, Object[] args, Progress progress) {
+    try {
+      jdbcTemplate.update(INSERT_SQL, args);
+      progress.imported(row.email());
+    } catch (DuplicateKeyException e) {
+      progress.fail(row.line(), row.email(), "이미 가입된 이메일입니다");
+    } catch (DataAccessException e) {
+      log.warn("사용자 일괄 등록 실패 - 행: {}, 이메일: {} - {}", row.line(), row.email(), e.getMessage());
+      progress.fail(row.line(), row.email(), "저장할 수 없습니다");
+    }
+  }
+
+  private Set<String> findExistingEmails(Set<String> emails) {
+    List<String> candidates = emails.stream()
+        .filter(registeredEmailFilter::mightBeRegistered)
+        .toList();
+    if (candidates.isEmpty()) {
+      return Collections.emptySet();
+    }
+    String placeholders = String.join(",", Collections.nCopies(candidates.size(), "?"));
+    return new HashSet<>(jdbcTemplate.queryForList(
+        "SELECT email FROM users WHERE email IN (" + placeholders + ")", String.class, candidates.toArray()));
+  }
+
+  private static Object[] insertArgs(Row row, String hash, Timestamp now) {
+    return new Object[]{
+        row.email(), hash, row.username(),
+        User.Role.ROLE_USER.name(), User.Status.ACTIVE.name(),
+        now, now
+    };
+  }
+
+  /**
+   * 검증을 통과한 행
+   */
+  private record Row(long line, String email, String password, String username) {
+  }
+
+  /**
+   * 누적 처리 현황 (한 번의 일괄 등록 안에서만 사용)
+   */
+  private final class Progress {
+
+    private final long startNanos;
+    private final List<BulkImportResponse.RowError> errors = new ArrayList<>();
+    private long totalRows;
+    private long importedRows;
+    private long failedRows;
+    private boolean errorsTruncated;
+
+    Progress(long startNanos) {
+      this.startNanos = startNanos;
+    }
+
+    void imported(String email) {
+      importedRows++;
+      importedCounter.increment();
+      registeredEmailFilter.add(email);
+    }
+
+    void fail(long line, String email, String message) {
+      failedRows++;
+      failedCounter.increment();
+      if (errors.size() < maxReportedErrors) {
+        errors.add(new BulkImportResponse.RowError(line, email, message));
+      } else {
+        errorsTruncated = true;
+      }
+    }
+
+    void log() {
+      UserBulkImportService.log.info("사용자 일괄 등록 진행 - 읽은 행: {}, 등록: {}, 실패: {} ({} rows/s)",
+          totalRows, importedRows, failedRows, String.format("%.1f", rowsPerSecond()));
+    }
+
+    double rowsPerSecond() {
+      double seconds = (System.nanoTime() - startNanos) / 1_000_000_000.0;
+      return seconds > 0 ? totalRows / seconds : 0;
+    }
+
+    BulkImportResponse toResponse() {
+      return BulkImportResponse.builder()
+          .totalRows(totalRows)
+          .importedRows(importedRows)
+          .failedRows(failedRows)
+          .elapsedMillis((System.nanoTime() - startNanos) / 1_000_000)
+          .rowsPerSecond(rowsPerSecond())
+          .errors(errors)
+          .errorsTruncated(errorsTruncated)
+          .build();
+    }
+  }
+}
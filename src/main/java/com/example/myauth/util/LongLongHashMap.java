@@ -0,0 +1,212 @@
+package com.example.myauth.util;
+
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * long → long 오픈 어드레싱 해시 맵 (선형 탐사, 박싱 없음)
+ *
+ * 요청마다 조회되고 변경은 드문 용도(사용자별 토큰 폐기 시각 등)에 맞춘 구조이다
+ * - 키/값을 하나의 long[]에 [key0, value0, key1, value1, ...] 순서로 저장하여
+ *   Long 객체나 Entry 객체를 만들지 않는다
+ * - 조회는 StampedLock 낙관적 읽기로 잠금 없이 수행하고, 쓰기와 겹친 경우에만 읽기 잠금으로 다시 읽는다
+ * - 부하율을 50% 이하로 유지하므로 탐사는 항상 빈 슬롯에서 끝난다
+ *
+ * 키 0은 빈 슬롯 표시로 사용하므로 저장할 수 없다 (사용자 ID는 1부터 시작)
+ * 개별 삭제는 지원하지 않으며, 오래된 항목은 removeValuesBelow()로 한 번에 정리한다 (표를 새로 만들어 교체)
+ */
+public final class LongLongHashMap {
+
+  private static final long EMPTY_KEY = 0L;
+  private static final int MINIMUM_CAPACITY = 16;
+
+  private final StampedLock lock = new StampedLock();
+
+  /** 생성 시 슬롯 수 (정리 후에도 이보다 줄이지 않음) */
+  private final int initialCapacity;
+
+  /** [key, value] 쌍 배열 (슬롯 수는 2의 거듭제곱) */
+  private long[] table;
+  private int size;
+
+  /**
+   * 생성자
+   *
+   * @param expectedSize 예상 항목 수 (재해시 없이 저장할 수 있는 크기)
+   */
+  public LongLongHashMap(int expectedSize) {
+    int capacity = MINIMUM_CAPACITY;
+    while (capacity < expectedSize * 2) {
+      capacity <<= 1;
+    }
+    this.initialCapacity = capacity;
+    this.table = new long[capacity * 2];
+  }
+
+  /**
+   * 키의 값을 조회한다
+   *
+   * @param key 키 (0 제외)
+   * @param defaultValue 키가 없을 때 반환할 값
+   * @return 저장된 값 또는 defaultValue
+   */
+  public long get(long key, long defaultValue) {
+    long stamp = lock.tryOptimisticRead();
+    long value = find(table, key, defaultValue);
+    if (lock.validate(stamp)) {
+      return value;
+    }
+
+    // 읽는 도중 쓰기가 있었으면 잠금을 잡고 다시 읽는다
+    stamp = lock.readLock();
+    try {
+      return find(table, key, defaultValue);
+    } finally {
+      lock.unlockRead(stamp);
+    }
+  }
+
+  /**
+   * 기존 값과 새 값 중 큰 값을 저장한다 (값이 단조 증가하는 용도)
+   *
+   * @param key 키 (0 제외)
+   * @param value 저장할 값
+   * @return 저장 후의 값
+   * @throws IllegalArgumentException 키가 0인 경우
+   */
+  public long putMax(long key, long value) {
+    if (key == EMPTY_KEY) {
+      throw new IllegalArgumentException("키 0은 저장할 수 없습니다");
+    }
+
+    long stamp = lock.writeLock();
+    try {
+      long[] t = table;
+      int mask = (t.length >> 1) - 1;
+      int slot = mix(key) & mask;
+      while (true) {
+        int index = slot << 1;
+        long k = t[index];
+        if (k == key) {
+          long max = Math.max(t[index + 1], value);
+          t[index + 1] = max;
+          return max;
+        }
+        if (k == EMPTY_KEY) {
+          t[index + 1] = value;
+          t[index] = key;
+          if (++size * 2 > (t.length >> 1)) {
+            resize();
+          }
+          return value;
+        }
+        slot = (slot + 1) & mask;
+      }
+    } finally {
+      lock.unlockWrite(stamp);
+    }
+  }
+
+  /**
+   * 값이 threshold보다 작은 항목을 모두 제거한다
+   * 남은 항목으로 새 표를 만들어 교체하므로 낙관적 읽기 중인 스레드는 이전 표를 끝까지 일관되게 읽는다
+   *
+   * @param threshold 이 값보다 작은 값을 가진 항목을 제거
+   * @return 제거한 항목 수
+   */
+  public int removeValuesBelow(long threshold) {
+    long stamp = lock.writeLock();
+    try {
+      long[] old = table;
+      int kept = 0;
+      for (int i = 0; i < old.length; i += 2) {
+        if (old[i] != EMPTY_KEY && old[i + 1] >= threshold) {
+          kept++;
+        }
+      }
+      int removed = size - kept;
+      if (removed == 0) {
+        return 0;
+      }
+
+      int capacity = initialCapacity;
+      while (capacity < kept * 2) {
+        capacity <<= 1;
+      }
+      long[] t = new long[capacity * 2];
+      int mask = capacity - 1;
+      for (int i = 0; i < old.length; i += 2) {
+        long key = old[i];
+        if (key != EMPTY_KEY && old[i + 1] >= threshold) {
+          int slot = mix(key) & mask;
+          while (t[slot << 1] != EMPTY_KEY) {
+            slot = (slot + 1) & mask;
+          }
+          t[slot << 1] = key;
+          t[(slot << 1) + 1] = old[i + 1];
+        }
+      }
+      table = t;
+      size = kept;
+      return removed;
+    } finally {
+      lock.unlockWrite(stamp);
+    }
+  }
+
+  /**
+   * 저장된 항목 수
+   */
+  public int size() {
+    long stamp = lock.readLock();
+    try {
+      return size;
+    } finally {
+      lock.unlockRead(stamp);
+    }
+  }
+
+  private static long find(long[] t, long key, long defaultValue) {
+    int mask = (t.length >> 1) - 1;
+    int slot = mix(key) & mask;
+    while (true) {
+      int index = slot << 1;
+      long k = t[index];
+      if (k == key) {
+        return t[index + 1];
+      }
+      if (k == EMPTY_KEY) {
+        return defaultValue;
+      }
+      slot = (slot + 1) & mask;
+    }
+  }
+
+  /**
+   * 슬롯 수를 두 배로 늘리고 다시 배치한다 (쓰기 잠금 상태에서 호출)
+   */
+  private void resize() {
+    long[] old = table;
+    long[] t = new long[old.length * 2];
+    int mask = (t.length >> 1) - 1;
+    for (int i = 0; i < old.length; i += 2) {
+      long key = old[i];
+      if (key != EMPTY_KEY) {
+        int slot = mix(key) & mask;
+        while (t[slot << 1] != EMPTY_KEY) {
+          slot = (slot + 1) & mask;
+        }
+        t[slot << 1] = key;
+        t[(slot << 1) + 1] = old[i + 1];
+      }
+    }
+    table = t;
+  }
+
+  /**
+   * 연속된 ID가 인접 슬롯에 몰리지 않도록 비트를 섞는다
+   */
+  private static int mix(long key) {
+    int h = (int) (key ^ (key >>> 32)) * 0x9E3779B9;
+    return h ^ (h >>> 16);
+  }
+}
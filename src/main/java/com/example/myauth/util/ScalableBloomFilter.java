@@ -0,0 +1,187 @@
+package com.example.myauth.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 문자열 Scalable Bloom Filter (Almeida et al., 2007)
+ *
+ * "확실히 없음" 또는 "있을 수도 있음"만 답하는 확률적 집합이다 (false negative 없음)
+ * - 단계(stage)마다 고정 크기 비트 배열을 쓰고, 단계가 가득 차면 용량 2배 + 오탐률 절반인 단계를 추가한다
+ *   → 항목 수를 미리 몰라도 전체 오탐률이 falsePositiveRate × 2 이하로 유지된다
+ * - 비트 설정은 AtomicLongArray CAS, 조회는 잠금 없이 수행한다 (단계 추가만 동기화)
+ * - 해시: 64비트 해시 하나에서 두 값을 만들어 k개 위치를 계산한다 (Kirsch-Mitzenmacher double hashing)
+ *
+ * 삭제는 지원하지 않는다
+ */
+public final class ScalableBloomFilter {
+
+  private static final int GROWTH_FACTOR = 2;
+  private static final double TIGHTENING_RATIO = 0.5;
+
+  private final double falsePositiveRate;
+
+  /** 단계 목록 (추가 시 배열을 새로 만들어 교체하므로 조회는 잠금 없이 스냅샷을 읽는다) */
+  private volatile Stage[] stages;
+
+  /**
+   * 생성자
+   *
+   * @param initialCapacity 첫 단계의 용량 (예상 항목 수)
+   * @param falsePositiveRate 첫 단계의 오탐률 (0 < p < 1)
+   */
+  public ScalableBloomFilter(int initialCapacity, double falsePositiveRate) {
+    if (initialCapacity <= 0 || falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+      throw new IllegalArgumentException("initialCapacity > 0, 0 < falsePositiveRate < 1 이어야 합니다");
+    }
+    this.falsePositiveRate = falsePositiveRate;
+    this.stages = new Stage[]{new Stage(initialCapacity, falsePositiveRate)};
+  }
+
+  /**
+   * 항목이 있을 수도 있는지 확인한다
+   *
+   * @param value 확인할 값
+   * @return false면 확실히 추가된 적이 없음, true면 추가되었을 수 있음
+   */
+  public boolean mightContain(String value) {
+    long hash = hash(value);
+    for (Stage stage : stages) {
+      if (stage.mightContain(hash)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * 항목을 추가한다
+   *
+   * @param value 추가할 값
+   */
+  public void put(String value) {
+    long hash = hash(value);
+    Stage[] current = stages;
+    for (Stage stage : current) {
+      if (stage.mightContain(hash)) {
+        return;  // 이미 있는 항목은 용량을 소비하지 않는다
+      }
+    }
+    Stage last = current[current.length - 1];
+    if (last.isFull()) {
+      last = grow(current);
+    }
+    last.put(hash);
+  }
+
+  /**
+   * 추가된 항목 수 (근사값)
+   */
+  public long approximateSize() {
+    long size = 0;
+    for (Stage stage : stages) {
+      size += stage.count.get();
+    }
+    return size;
+  }
+
+  /**
+   * 사용 중인 비트 배열 크기 (bytes)
+   */
+  public long sizeInBytes() {
+    long bytes = 0;
+    for (Stage stage : stages) {
+      bytes += stage.bits.length() * (long) Long.BYTES;
+    }
+    return bytes;
+  }
+
+  private synchronized Stage grow(Stage[] observed) {
+    Stage[] current = stages;
+    if (current != observed) {
+      return current[current.length - 1];  // 다른 스레드가 이미 추가함
+    }
+    Stage last = current[current.length - 1];
+    long capacity = Math.min((long) last.capacity * GROWTH_FACTOR, Integer.MAX_VALUE / 16);
+    double rate = falsePositiveRate * Math.pow(TIGHTENING_RATIO, current.length);
+    Stage next = new Stage((int) capacity, rate);
+
+    Stage[] grown = new Stage[current.length + 1];
+    System.arraycopy(current, 0, grown, 0, current.length);
+    grown[current.length] = next;
+    stages = grown;
+    return next;
+  }
+
+  /**
+   * UTF-8 바이트의 64비트 해시 (FNV-1a + murmur3 finalizer)
+   */
+  private static long hash(String value) {
+    long h = 0xcbf29ce484222325L;
+    for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+      h ^= b;
+      h *= 0x100000001b3L;
+    }
+    h ^= h >>> 33;
+    h *= 0xff51afd7ed558ccdL;
+    h ^= h >>> 33;
+    h *= 0xc4ceb9fe1a85ec53L;
+    h ^= h >>> 33;
+    return h;
+  }
+
+  /**
+   * 고정 크기 Bloom Filter 한 단계
+   */
+  private static final class Stage {
+
+    private final int capacity;
+    private final int hashCount;
+    private final long bitCount;
+    private final AtomicLongArray bits;
+    private final AtomicInteger count = new AtomicInteger();
+
+    Stage(int capacity, double falsePositiveRate) {
+      // m = -n ln p / (ln 2)^2, k = m/n ln 2
+      double ln2 = Math.log(2);
+      long optimalBits = (long) Math.ceil(-capacity * Math.log(falsePositiveRate) / (ln2 * ln2));
+      int words = (int) Math.max(1, (optimalBits + 63) / 64);
+      this.capacity = capacity;
+      this.bitCount = words * 64L;
+      this.hashCount = Math.max(1, (int) Math.round((double) bitCount / capacity * ln2));
+      this.bits = new AtomicLongArray(words);
+    }
+
+    boolean isFull() {
+      return count.get() >= capacity;
+    }
+
+    boolean mightContain(long hash) {
+      int h1 = (int) hash;
+      int h2 = (int) (hash >>> 32);
+      for (int i = 1; i <= hashCount; i++) {
+        long index = Integer.toUnsignedLong(h1 + i * h2) % bitCount;
+        if ((bits.get((int) (index >>> 6)) & (1L << index)) == 0) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    void put(long hash) {
+      int h1 = (int) hash;
+      int h2 = (int) (hash >>> 32);
+      for (int i = 1; i <= hashCount; i++) {
+        long index = Integer.toUnsignedLong(h1 + i * h2) % bitCount;
+        int word = (int) (index >>> 6);
+        long mask = 1L << index;
+        long current = bits.get(word);
+        while ((current & mask) == 0 && !bits.compareAndSet(word, current, current | mask)) {
+          current = bits.get(word);
+        }
+      }
+      count.incrementAndGet();
+    }
+  }
+}
@@ -0,0 +1,94 @@
+package com.example.myauth.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+
+/**
+ * 토큰 문자열의 SHA-256 다이제스트 (32바이트)
+ *
+ * 토큰 원문 대신 고정 길이 다이제스트를 캐시 키/DB 조회 키로 사용하기 위한 값 객체이다
+ * - equals/hashCode는 다이제스트 바이트 기준
+ * - MessageDigest는 스레드별로 재사용하여 매 호출마다 인스턴스를 만들지 않는다
+ */
+public final class TokenDigest {
+
+  /** SHA-256 다이제스트 길이 (바이트) */
+  public static final int LENGTH = 32;
+
+  private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      // 모든 JVM은 SHA-256을 지원해야 하므로 발생하지 않음
+      throw new IllegalStateException("SHA-256 알고리즘을 사용할 수 없습니다", e);
+    }
+  });
+
+  private final byte[] bytes;
+  private final int hash;
+
+  private TokenDigest(byte[] bytes) {
+    this.bytes = bytes;
+    this.hash = Arrays.hashCode(bytes);
+  }
+
+  /**
+   * 토큰 문자열의 다이제스트를 만든다
+   *
+   * @param token 토큰 문자열
+   * @return 토큰 다이제스트
+   */
+  public static TokenDigest of(String token) {
+    return new TokenDigest(sha256(token));
+  }
+
+  /**
+   * 토큰 문자열의 SHA-256 바이트를 계산한다
+   *
+   * @param token 토큰 문자열
+   * @return 32바이트 다이제스트
+   */
+  public static byte[] sha256(String token) {
+    MessageDigest digest = SHA_256.get();
+    digest.reset();
+    return digest.digest(token.getBytes(StandardCharsets.US_ASCII));
+  }
+
+  /**
+   * 다이제스트 바이트 복사본을 반환한다
+   * @return 32바이트 다이제스트
+   */
+  public byte[] toBytes() {
+    return bytes.clone();
+  }
+
+  /**
+   * 다이제스트를 16진수 문자열로 반환한다 (로깅/디버깅용)
+   * @return 64자 16진수 문자열
+   */
+  public String toHex() {
+    return HexFormat.of().formatHex(bytes);
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    return o instanceof TokenDigest other && Arrays.equals(bytes, other.bytes);
+  }
+
+  @Override
+  public int hashCode() {
+    return hash;
+  }
+
+  @Override
+  public String toString() {
+    // 로그에 전체 다이제스트가 남지 않도록 앞부분만 출력
+    return "TokenDigest[" + toHex().substring(0, 12) + "…]";
+  }
+}
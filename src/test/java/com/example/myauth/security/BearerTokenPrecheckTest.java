@@ -0,0 +1,72 @@
+package com.example.myauth.security;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * BearerTokenPrecheck가 정상 토큰은 통과시키고
+ * 형식이 맞지 않거나 만료된 토큰만 서명 검증 전에 거부하는지 확인한다
+ */
+class BearerTokenPrecheckTest {
+
+  private static final SecretKey KEY = Keys.hmacShaKeyFor(
+      "mySecretKeyForJWTTokenGenerationThisKeyMustBeLongEnoughForHS512Algorithm".getBytes(StandardCharsets.UTF_8));
+
+  @Test
+  void passesWellFormedToken() {
+    long now = System.currentTimeMillis();
+    String token = Jwts.builder()
+        .subject("user@example.com")
+        .claim("userId", 1L)
+        .issuedAt(new Date(now))
+        .expiration(new Date(now + 60_000))
+        .signWith(KEY)
+        .compact();
+
+    assertEquals(BearerTokenPrecheck.Verdict.WELL_FORMED, BearerTokenPrecheck.inspect(token, now));
+  }
+
+  @Test
+  void rejectsExpiredTokenWithoutVerifyingSignature() {
+    long now = System.currentTimeMillis();
+    String token = Jwts.builder()
+        .subject("user@example.com")
+        .issuedAt(new Date(now - 120_000))
+        .expiration(new Date(now - 60_000))
+        .signWith(KEY)
+        .compact();
+
+    assertEquals(BearerTokenPrecheck.Verdict.EXPIRED, BearerTokenPrecheck.inspect(token, now));
+    // 서명을 바꿔도 만료로 판정 (서명 미확인 값은 응답 종류를 고르는 데만 사용)
+    assertEquals(BearerTokenPrecheck.Verdict.EXPIRED,
+        BearerTokenPrecheck.inspect(token.substring(0, token.lastIndexOf('.') + 1) + "AAAA", now));
+  }
+
+  @Test
+  void rejectsMalformedTokens() {
+    long now = System.currentTimeMillis();
+    String header = "eyJhbGciOiJIUzUxMiJ9";
+    String payload = "eyJzdWIiOiJ1c2VyQGV4YW1wbGUuY29tIn0";
+
+    assertEquals(BearerTokenPrecheck.Verdict.MALFORMED, BearerTokenPrecheck.inspect("undefined", now));
+    assertEquals(BearerTokenPrecheck.Verdict.MALFORMED, BearerTokenPrecheck.inspect("x".repeat(5000), now));
+    assertEquals(BearerTokenPrecheck.Verdict.MALFORMED,
+        BearerTokenPrecheck.inspect(header + "." + payload, now));
+    assertEquals(BearerTokenPrecheck.Verdict.MALFORMED,
+        BearerTokenPrecheck.inspect(header + "." + payload + ".", now));
+    assertEquals(BearerTokenPrecheck.Verdict.MALFORMED,
+        BearerTokenPrecheck.inspect(header + "." + payload + ".sig.extra", now));
+    assertEquals(BearerTokenPrecheck.Verdict.MALFORMED,
+        BearerTokenPrecheck.inspect(header + "." + payload + ".si+g/", now));
+    // 페이로드가 JSON 객체가 아님 (Base64url("hello world"))
+    assertEquals(BearerTokenPrecheck.Verdict.MALFORMED,
+        BearerTokenPrecheck.inspect(header + ".aGVsbG8gd29ybGQ.c2lnbmF0dXJl", now));
+  }
+}
@@ -0,0 +1,116 @@
+package com.example.myauth.security;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Hs512FastVerifier가 jjwt로 발급한 토큰을 동일하게 해석하고,
+ * 처리할 수 없는 토큰은 jjwt로 넘기는지(null 반환) 확인한다
+ */
+class Hs512FastVerifierTest {
+
+  private static final SecretKey KEY = Keys.hmacShaKeyFor(
+      "mySecretKeyForJWTTokenGenerationThisKeyMustBeLongEnoughForHS512Algorithm".getBytes(StandardCharsets.UTF_8));
+
+  private final Hs512FastVerifier verifier = new Hs512FastVerifier(KEY);
+
+  @Test
+  void verifiesAccessTokenIssuedByJjwt() {
+    Date now = new Date();
+    String token = Jwts.builder()
+        .subject("user@example.com")
+        .claim("userId", 42L)
+        .claim("type", "access")
+        .issuedAt(now)
+        .expiration(new Date(now.getTime() + 60_000))
+        .signWith(KEY)
+        .compact();
+
+    JwtClaims claims = verifier.verify(token);
+
+    assertNotNull(claims);
+    assertEquals("user@example.com", claims.getSubject());
+    assertEquals(42L, claims.getUserId());
+    assertEquals("access", claims.getType());
+    assertEquals(now.getTime() / 1000 * 1000, claims.getIssuedAt());
+  }
+
+  @Test
+  void normalizesCompactProfileToken() {
+    String token = Jwts.builder()
+        .subject("42")
+        .claim("t", "a")
+        .expiration(new Date(System.currentTimeMillis() + 60_000))
+        .signWith(KEY)
+        .compact();
+
+    JwtClaims claims = verifier.verify(token);
+
+    assertNotNull(claims);
+    assertTrue(claims.isCompact());
+    assertTrue(claims.isAccessToken());
+    assertEquals(42L, claims.getUserId());
+    assertNull(claims.getEmail());
+  }
+
+  @Test
+  void rejectsTamperedSignature() {
+    String token = Jwts.builder()
+        .subject("user@example.com")
+        .claim("type", "refresh")
+        .expiration(new Date(System.currentTimeMillis() + 60_000))
+        .signWith(KEY)
+        .compact();
+    char last = token.charAt(token.length() - 2);
+    String tampered = token.substring(0, token.length() - 2) + (last == 'A' ? 'B' : 'A') + token.charAt(token.length() - 1);
+
+    assertThrows(SignatureException.class, () -> verifier.verify(tampered));
+  }
+
+  @Test
+  void readsRefreshTokenWithTokenId() {
+    String token = Jwts.builder()
+        .subject("user@example.com")
+        .claim("type", "refresh")
+        .id("q3v9XbY0m1nR2sT4uV6wXA")
+        .expiration(new Date(System.currentTimeMillis() + 60_000))
+        .signWith(KEY)
+        .compact();
+
+    JwtClaims claims = verifier.verify(token);
+
+    assertNotNull(claims);
+    assertEquals("refresh", claims.getType());
+  }
+
+  @Test
+  void fallsBackForExpiredOrUnknownClaims() {
+    String expired = Jwts.builder()
+        .subject("user@example.com")
+        .expiration(new Date(System.currentTimeMillis() - 1_000))
+        .signWith(KEY)
+        .compact();
+    String unknownClaim = Jwts.builder()
+        .subject("user@example.com")
+        .claim("scope", "admin")
+        .expiration(new Date(System.currentTimeMillis() + 60_000))
+        .signWith(KEY)
+        .compact();
+
+    assertNull(verifier.verify(expired));
+    assertNull(verifier.verify(unknownClaim));
+    assertNull(verifier.verify("not.a.jwt"));
+  }
+}
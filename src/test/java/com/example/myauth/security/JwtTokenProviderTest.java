@@ -0,0 +1,50 @@
+package com.example.myauth.security;
+
+import com.example.myauth.config.JwtKeyRingProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * JwtTokenProvider가 발급 경로(고정 템플릿 / Jwts.builder(), standard / compact)와 관계없이
+ * 같은 초에 발급한 Refresh Token을 서로 다르게 만드는지 확인한다 (token_hash 유니크 인덱스)
+ */
+class JwtTokenProviderTest {
+
+  private static final String SECRET = "mySecretKeyForJWTTokenGenerationThisKeyMustBeLongEnoughForHS512Algorithm";
+
+  @Test
+  void twoLoginsInSameSecondGetDistinctRefreshTokens() {
+    for (boolean templated : new boolean[]{true, false}) {
+      for (String profile : new String[]{"standard", "compact"}) {
+        JwtTokenProvider provider = provider(templated, profile);
+
+        String first = provider.generateRefreshToken("user@example.com", 42L);
+        String second = provider.generateRefreshToken("user@example.com", 42L);
+
+        assertNotEquals(first, second, "templated=" + templated + ", profile=" + profile);
+        assertTrue(provider.parseClaims(first).isRefreshToken());
+        assertTrue(provider.parseClaims(second).isRefreshToken());
+      }
+    }
+  }
+
+  private static JwtTokenProvider provider(boolean templatedIssuanceEnabled, String tokenProfile) {
+    return new JwtTokenProvider(
+        SECRET,
+        3_600_000L,
+        1_209_600_000L,
+        new VerifiedTokenCache(false, 10_000, false, 10_000, Duration.ofMinutes(10), new SimpleMeterRegistry()),
+        new JwtKeyRing(new JwtKeyRingProperties()),
+        true,
+        templatedIssuanceEnabled,
+        tokenProfile,
+        "jwt",
+        false
+    );
+  }
+}
@@ -0,0 +1,91 @@
+package com.example.myauth.security;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * JwtTokenTemplate이 같은 클레임으로 Jwts.builder()와 바이트 단위로 같은 토큰을 만드는지 확인한다
+ * (비밀 키 길이에 따라 jjwt가 HS256/HS384/HS512를 고르는 경우 포함)
+ */
+class JwtTokenTemplateTest {
+
+  private static final long IAT = 1_700_000_000L;
+  private static final long EXP = IAT + 3_600L;
+  private static final String TOKEN_ID = "q3v9XbY0m1nR2sT4uV6wXA";
+
+  /** 비밀 키 길이 (32: HS256, 48: HS384, 64: HS512) */
+  private static final int[] SECRET_LENGTHS = {32, 48, 64};
+
+  @Test
+  void accessTokenMatchesJjwt() {
+    for (int secretLength : SECRET_LENGTHS) {
+      SecretKey key = key(secretLength);
+
+      String expected = Jwts.builder()
+          .subject("user@example.com")
+          .claim("userId", 42L)
+          .claim("type", "access")
+          .claim("role", "ROLE_USER")
+          .claim("status", "ACTIVE")
+          .issuedAt(new Date(IAT * 1000))
+          .expiration(new Date(EXP * 1000))
+          .signWith(key)
+          .compact();
+
+      assertEquals(expected,
+          new JwtTokenTemplate(key).accessToken("user@example.com", 42L, "ROLE_USER", "ACTIVE", IAT, EXP, null),
+          "secret length " + secretLength);
+    }
+  }
+
+  @Test
+  void refreshTokenMatchesJjwt() {
+    for (int secretLength : SECRET_LENGTHS) {
+      SecretKey key = key(secretLength);
+
+      String expected = Jwts.builder()
+          .subject("user@example.com")
+          .claim("type", "refresh")
+          .id(TOKEN_ID)
+          .issuedAt(new Date(IAT * 1000))
+          .expiration(new Date(EXP * 1000))
+          .signWith(key)
+          .compact();
+
+      assertEquals(expected,
+          new JwtTokenTemplate(key).refreshToken("user@example.com", TOKEN_ID, IAT, EXP, null),
+          "secret length " + secretLength);
+    }
+  }
+
+  @Test
+  void compactTokenMatchesJjwt() {
+    for (int secretLength : SECRET_LENGTHS) {
+      SecretKey key = key(secretLength);
+
+      String expected = Jwts.builder()
+          .subject("42")
+          .claim("t", JwtClaims.COMPACT_REFRESH)
+          .id(TOKEN_ID)
+          .issuedAt(new Date(IAT * 1000))
+          .expiration(new Date(EXP * 1000))
+          .signWith(key)
+          .compact();
+
+      assertEquals(expected,
+          new JwtTokenTemplate(key).compactToken(42L, JwtClaims.COMPACT_REFRESH, null, null, TOKEN_ID, IAT, EXP, null),
+          "secret length " + secretLength);
+    }
+  }
+
+  private static SecretKey key(int length) {
+    return Keys.hmacShaKeyFor("k".repeat(length).getBytes(StandardCharsets.UTF_8));
+  }
+}
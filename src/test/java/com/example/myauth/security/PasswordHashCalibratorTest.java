@@ -0,0 +1,72 @@
+package com.example.myauth.security;
+
+import com.example.myauth.config.AppProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * PasswordHashCalibrator가 만든 인코더가 기존 해시(접두사 없는 BCrypt)를 계속 검증하고
+ * 현재 알고리즘/비용보다 약한 해시만 재해시 대상으로 판단하는지 확인한다
+ */
+class PasswordHashCalibratorTest {
+
+  private static final String PASSWORD = "Test-Passw0rd!";
+
+  @Test
+  void verifiesLegacyBcryptHashAndMarksItForUpgrade() {
+    PasswordEncoder encoder = PasswordHashCalibrator.createPasswordEncoder(properties("bcrypt"));
+    String legacyHash = new BCryptPasswordEncoder().encode(PASSWORD);
+
+    assertTrue(encoder.matches(PASSWORD, legacyHash));
+    assertTrue(encoder.upgradeEncoding(legacyHash));
+
+    String upgradedHash = encoder.encode(PASSWORD);
+    assertTrue(upgradedHash.startsWith("{bcrypt}"));
+    assertTrue(encoder.matches(PASSWORD, upgradedHash));
+    assertFalse(encoder.upgradeEncoding(upgradedHash));
+  }
+
+  @Test
+  void argon2KeepsBcryptHashesVerifiable() {
+    PasswordEncoder bcrypt = PasswordHashCalibrator.createPasswordEncoder(properties("bcrypt"));
+    PasswordEncoder argon2 = PasswordHashCalibrator.createPasswordEncoder(properties("argon2"));
+    String bcryptHash = bcrypt.encode(PASSWORD);
+
+    assertTrue(argon2.matches(PASSWORD, bcryptHash));
+    assertTrue(argon2.upgradeEncoding(bcryptHash));
+
+    String argon2Hash = argon2.encode(PASSWORD);
+    assertTrue(argon2Hash.startsWith("{argon2}"));
+    assertTrue(argon2.matches(PASSWORD, argon2Hash));
+    assertFalse(argon2.upgradeEncoding(argon2Hash));
+  }
+
+  @Test
+  void neverCalibratesBelowMinimumCost() {
+    assertTrue(PasswordHashCalibrator.calibrateBcryptStrength(Duration.ofNanos(1))
+        >= PasswordHashCalibrator.MIN_BCRYPT_STRENGTH);
+  }
+
+  @Test
+  void rejectsUnknownAlgorithm() {
+    assertThrows(IllegalStateException.class,
+        () -> PasswordHashCalibrator.createPasswordEncoder(properties("md5")));
+  }
+
+  /**
+   * 보정 없이(target-latency 0) 하한 비용을 사용하는 설정
+   */
+  private static AppProperties.PasswordHashing properties(String algorithm) {
+    AppProperties.PasswordHashing properties = new AppProperties.PasswordHashing();
+    properties.setAlgorithm(algorithm);
+    properties.setTargetLatency(Duration.ZERO);
+    return properties;
+  }
+}
@@ -0,0 +1,93 @@
+package com.example.myauth.security;
+
+import com.example.myauth.config.AppProperties;
+import com.example.myauth.exception.PasswordHashingBusyException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * PasswordHashingExecutor가 작업을 전용 스레드에서 실행하고
+ * 대기열이 가득 차면 기다리지 않고 PasswordHashingBusyException으로 거부하는지 확인한다
+ */
+class PasswordHashingExecutorTest {
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private PasswordHashingExecutor executor;
+
+  @AfterEach
+  void tearDown() {
+    executor.shutdown();
+  }
+
+  @Test
+  void runsTaskOnHashingThread() {
+    executor = executor(1, 4, Duration.ofSeconds(10));
+
+    String threadName = executor.execute(() -> Thread.currentThread().getName());
+
+    assertTrue(threadName.startsWith("password-hashing-"));
+  }
+
+  @Test
+  void rejectsWhenQueueIsFull() throws Exception {
+    executor = executor(1, 1, Duration.ofSeconds(10));
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+
+    // 스레드 1개를 점유하고 대기열 1칸을 채운다
+    CompletableFuture<Boolean> running = CompletableFuture.supplyAsync(() -> executor.execute(() -> {
+      started.countDown();
+      await(release);
+      return true;
+    }));
+    assertTrue(started.await(5, TimeUnit.SECONDS));
+    CompletableFuture<Boolean> queued = CompletableFuture.supplyAsync(() -> executor.execute(() -> true));
+    while (meterRegistry.get("password.hashing.queue.size").gauge().value() < 1) {
+      Thread.onSpinWait();
+    }
+
+    PasswordHashingBusyException busy =
+        assertThrows(PasswordHashingBusyException.class, () -> executor.execute(() -> true));
+    assertTrue(busy.getRetryAfterSeconds() >= 1);
+    assertEquals(1.0, meterRegistry.get("password.hashing.rejected").tag("reason", "queue_full").counter().count());
+
+    release.countDown();
+    assertTrue(running.get(5, TimeUnit.SECONDS));
+    assertTrue(queued.get(5, TimeUnit.SECONDS));
+  }
+
+  @Test
+  void propagatesTaskException() {
+    executor = executor(1, 4, Duration.ofSeconds(10));
+
+    assertThrows(IllegalArgumentException.class, () -> executor.execute(() -> {
+      throw new IllegalArgumentException("잘못된 해시");
+    }));
+  }
+
+  private PasswordHashingExecutor executor(int threads, int queueCapacity, Duration maxWait) {
+    AppProperties appProperties = new AppProperties();
+    appProperties.getPasswordHashing().setThreads(threads);
+    appProperties.getPasswordHashing().setQueueCapacity(queueCapacity);
+    appProperties.getPasswordHashing().setMaxWait(maxWait);
+    return new PasswordHashingExecutor(appProperties, meterRegistry);
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
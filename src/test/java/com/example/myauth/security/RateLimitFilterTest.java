@@ -0,0 +1,83 @@
+package com.example.myauth.security;
+
+import com.example.myauth.config.AppProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * RateLimitFilter가 Content-Length 없이(chunked) 보낸 로그인 본문에도 이메일 기준 제한을 적용하는지 확인한다
+ */
+class RateLimitFilterTest {
+
+  private final RateLimitFilter filter =
+      new RateLimitFilter(new AppProperties(), JsonMapper.builder().build(), new SimpleMeterRegistry());
+
+  @Test
+  void appliesEmailLimitToChunkedLoginBody() throws Exception {
+    String body = "{\"email\":\"User@Example.com\",\"password\":\"secret\"}";
+
+    // 기본 정책: /login 이메일당 분당 3회 (IP는 매번 다르게 하여 IP 기준 제한을 피함)
+    for (int i = 1; i <= 3; i++) {
+      MockFilterChain chain = new MockFilterChain();
+      MockHttpServletResponse response = new MockHttpServletResponse();
+      filter.doFilter(chunkedLogin("10.0.0." + i, body), response, chain);
+
+      assertEquals(HttpStatus.OK.value(), response.getStatus());
+      assertNotNull(chain.getRequest());
+      assertEquals(body, new String(chain.getRequest().getInputStream().readAllBytes(), StandardCharsets.UTF_8));
+    }
+
+    MockFilterChain chain = new MockFilterChain();
+    MockHttpServletResponse response = new MockHttpServletResponse();
+    filter.doFilter(chunkedLogin("10.0.0.4", body), response, chain);
+
+    assertEquals(HttpStatus.TOO_MANY_REQUESTS.value(), response.getStatus());
+    assertNull(chain.getRequest());
+  }
+
+  @Test
+  void rejectsOversizedChunkedBody() throws Exception {
+    String body = "{\"email\":\"user@example.com\",\"padding\":\"" + "x".repeat(10_000) + "\"}";
+    MockFilterChain chain = new MockFilterChain();
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    filter.doFilter(chunkedLogin("10.0.0.1", body), response, chain);
+
+    assertEquals(HttpStatus.CONTENT_TOO_LARGE.value(), response.getStatus());
+    assertNull(chain.getRequest());
+  }
+
+  /**
+   * Transfer-Encoding: chunked 요청 (Content-Length를 알 수 없음)
+   */
+  private static MockHttpServletRequest chunkedLogin(String remoteAddr, String body) {
+    MockHttpServletRequest request = new MockHttpServletRequest("POST", "/login") {
+      @Override
+      public int getContentLength() {
+        return -1;
+      }
+
+      @Override
+      public long getContentLengthLong() {
+        return -1;
+      }
+    };
+    request.setServletPath("/login");
+    request.setRemoteAddr(remoteAddr);
+    request.setContentType("application/json");
+    request.addHeader("Transfer-Encoding", "chunked");
+    request.setContent(body.getBytes(StandardCharsets.UTF_8));
+    return request;
+  }
+}
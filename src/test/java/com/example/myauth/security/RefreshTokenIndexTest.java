@@ -0,0 +1,111 @@
+package com.example.myauth.security;
+
+import com.example.myauth.util.TokenDigest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * RefreshTokenIndex가 사용자 단위 무효화/취소를 즉시 반영하고, DB 대조로 다른 인스턴스의 변경을 고치는지 확인한다
+ */
+class RefreshTokenIndexTest {
+
+  private static final LocalDateTime EXPIRES_AT = LocalDateTime.now().plusDays(7);
+
+  private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final RefreshTokenIndex index = new RefreshTokenIndex(true, 1000, 30000, jdbcTemplate, meterRegistry);
+
+  @Test
+  void returnsIndexedEntryUntilUserIsInvalidated() {
+    index.put(hash("a"), 1L, 10L, EXPIRES_AT, false, index.stamp());
+
+    RefreshTokenIndex.Entry entry = index.get(hash("a"));
+    assertNotNull(entry);
+    assertEquals(1L, entry.tokenId());
+    assertFalse(entry.revoked());
+
+    index.invalidateUser(10L);
+    assertNull(index.get(hash("a")));
+  }
+
+  @Test
+  void dropsEntryReadBeforeConcurrentInvalidation() {
+    long stamp = index.stamp();       // DB 조회 시작
+    index.invalidateUser(10L);        // 조회 중 로그아웃
+    index.put(hash("a"), 1L, 10L, EXPIRES_AT, false, stamp);
+
+    assertNull(index.get(hash("a")));
+
+    index.put(hash("b"), 2L, 10L, EXPIRES_AT, false, index.stamp());
+    assertNotNull(index.get(hash("b")));
+  }
+
+  @Test
+  void reconcilePrunesInvalidationsOlderThanIndexedEntriesWithoutLosingThem() {
+    index.invalidateUser(10L);                                   // 색인 항목보다 오래된 무효화 → 정리 대상
+    long inFlight = index.stamp();                               // 대조 전에 시작한 DB 조회
+    index.invalidateUser(20L);
+    index.put(hash("a"), 1L, 30L, EXPIRES_AT, false, index.stamp());
+    doAnswer(invocation -> null)
+        .when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class), any(Object[].class));
+
+    index.reconcile();
+
+    // 사용자 20의 무효화 시점이 정리되어도 그 전에 읽은 조회 결과는 받아들이지 않는다
+    index.put(hash("b"), 2L, 20L, EXPIRES_AT, false, inFlight);
+    assertNull(index.get(hash("b")));
+  }
+
+  @Test
+  void marksRotatedTokenRevoked() {
+    index.put(hash("a"), 1L, 10L, EXPIRES_AT, false, index.stamp());
+
+    index.markRevoked(hash("a"));
+
+    assertTrue(index.get(hash("a")).revoked());
+  }
+
+  @Test
+  void reconcileRemovesDeletedAndCorrectsRevokedEntries() throws Exception {
+    index.put(hash("deleted"), 1L, 10L, EXPIRES_AT, false, index.stamp());
+    index.put(hash("revoked"), 2L, 20L, EXPIRES_AT, false, index.stamp());
+    index.put(hash("valid"), 3L, 30L, EXPIRES_AT, false, index.stamp());
+
+    ResultSet rs = mock(ResultSet.class);
+    when(rs.getLong(1)).thenReturn(2L, 3L);
+    when(rs.getBoolean(2)).thenReturn(true, false);
+    doAnswer(invocation -> {
+      RowCallbackHandler handler = invocation.getArgument(1);
+      handler.processRow(rs);
+      handler.processRow(rs);
+      return null;
+    }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class), any(Object[].class));
+
+    index.reconcile();
+
+    assertNull(index.get(hash("deleted")));
+    assertTrue(index.get(hash("revoked")).revoked());
+    assertFalse(index.get(hash("valid")).revoked());
+    assertEquals(2.0, meterRegistry.get("refresh.token.index.stale").counter().count());
+  }
+
+  private static byte[] hash(String token) {
+    return TokenDigest.sha256(token);
+  }
+}
@@ -0,0 +1,66 @@
+package com.example.myauth.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * TokenBucketRateLimiter가 기간당 허용량만큼만 허용하고, 시간이 지나면 허용량을 다시 채우는지 확인한다
+ */
+class TokenBucketRateLimiterTest {
+
+  private static final long MINUTE = TimeUnit.MINUTES.toNanos(1);
+
+  @Test
+  void allowsBurstUpToLimitThenRejects() {
+    TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(3, Duration.ofMinutes(1), 1000, Duration.ofMinutes(10));
+    long now = System.nanoTime();
+
+    assertEquals(0, limiter.tryAcquire("203.0.113.10", now));
+    assertEquals(0, limiter.tryAcquire("203.0.113.10", now));
+    assertEquals(0, limiter.tryAcquire("203.0.113.10", now));
+
+    long waitNanos = limiter.tryAcquire("203.0.113.10", now);
+    assertTrue(waitNanos > 0 && waitNanos <= MINUTE / 3, "대기 시간: " + waitNanos);
+
+    // 다른 키는 영향을 받지 않는다
+    assertEquals(0, limiter.tryAcquire("203.0.113.11", now));
+  }
+
+  @Test
+  void refillsOneTokenPerInterval() {
+    TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(3, Duration.ofMinutes(1), 1000, Duration.ofMinutes(10));
+    long now = System.nanoTime();
+    for (int i = 0; i < 3; i++) {
+      limiter.tryAcquire("user@example.com", now);
+    }
+
+    long afterOneInterval = now + MINUTE / 3;
+    assertEquals(0, limiter.tryAcquire("user@example.com", afterOneInterval));
+    assertTrue(limiter.tryAcquire("user@example.com", afterOneInterval) > 0);
+
+    // 기간이 지나면 다시 허용량만큼 허용 (허용량 이상으로 쌓이지는 않음)
+    long afterLongIdle = now + 10 * MINUTE;
+    for (int i = 0; i < 3; i++) {
+      assertEquals(0, limiter.tryAcquire("user@example.com", afterLongIdle));
+    }
+    assertTrue(limiter.tryAcquire("user@example.com", afterLongIdle) > 0);
+  }
+
+  @Test
+  void handlesNanoTimeOverflow() {
+    TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(1, Duration.ofMinutes(1), 1000, Duration.ofMinutes(10));
+    long beforeOverflow = Long.MAX_VALUE - MINUTE / 2;
+
+    assertEquals(0, limiter.tryAcquire("203.0.113.10", beforeOverflow));
+    // 값이 음수로 넘어간 뒤에도 남은 대기 시간을 계산한다
+    long waitNanos = limiter.tryAcquire("203.0.113.10", beforeOverflow + MINUTE / 4);
+    assertTrue(waitNanos > 0 && waitNanos <= MINUTE, "대기 시간: " + waitNanos);
+
+    assertEquals(0, limiter.tryAcquire("203.0.113.10", beforeOverflow + MINUTE));
+  }
+}
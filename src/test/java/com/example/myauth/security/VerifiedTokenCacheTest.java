@@ -0,0 +1,48 @@
+package com.example.myauth.security;
+
+import io.jsonwebtoken.MalformedJwtException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * VerifiedTokenCache의 검증 캐시와 거부 토큰 캐시가 각자의 설정으로 켜지고 꺼지는지 확인한다
+ */
+class VerifiedTokenCacheTest {
+
+  @Test
+  void rejectedCacheWorksWithVerifiedCacheDisabled() {
+    VerifiedTokenCache cache = new VerifiedTokenCache(
+        false, 10_000, true, 10_000, Duration.ofMinutes(10), new SimpleMeterRegistry());
+    AtomicInteger verifications = new AtomicInteger();
+    Function<String, JwtClaims> verifier = token -> {
+      verifications.incrementAndGet();
+      throw new MalformedJwtException("bad token");
+    };
+
+    assertThrows(MalformedJwtException.class, () -> cache.get("bad.token.value", verifier));
+    assertThrows(RejectedTokenException.class, () -> cache.get("bad.token.value", verifier));
+    assertEquals(1, verifications.get());
+  }
+
+  @Test
+  void rejectedCacheCanBeDisabledAlone() {
+    VerifiedTokenCache cache = new VerifiedTokenCache(
+        true, 10_000, false, 10_000, Duration.ofMinutes(10), new SimpleMeterRegistry());
+    AtomicInteger verifications = new AtomicInteger();
+    Function<String, JwtClaims> verifier = token -> {
+      verifications.incrementAndGet();
+      throw new MalformedJwtException("bad token");
+    };
+
+    assertThrows(MalformedJwtException.class, () -> cache.get("bad.token.value", verifier));
+    assertThrows(MalformedJwtException.class, () -> cache.get("bad.token.value", verifier));
+    assertEquals(2, verifications.get());
+  }
+}
@@ -0,0 +1,81 @@
+package com.example.myauth.service;
+
+import com.example.myauth.config.AppProperties;
+import com.example.myauth.entity.User;
+import com.example.myauth.exception.AccountException;
+import com.example.myauth.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * AccountLockoutService가 실패 누적 시 계정을 잠그고, 잠긴 이메일을 사용자 조회 전에 거부하는지 확인한다
+ */
+class AccountLockoutServiceTest {
+
+  private static final ZoneId ZONE = ZoneId.of("Asia/Seoul");
+  private static final Clock CLOCK = Clock.fixed(Instant.parse("2026-01-01T00:00:00Z"), ZONE);
+
+  private final UserRepository userRepository = mock(UserRepository.class);
+  private final UserActivityTracker tracker = new UserActivityTracker(true, mock(JdbcTemplate.class));
+  private final AccountLockoutService lockout =
+      new AccountLockoutService(new AppProperties.Lockout(), userRepository, tracker, CLOCK);
+
+  @Test
+  void locksAccountWhenFailuresReachThreshold() {
+    User user = user(3);
+
+    lockout.recordFailure(user);   // 4회
+    verify(userRepository, never()).lockUntil(any(), any());
+    assertDoesNotThrow(() -> lockout.checkNotLocked("user@example.com"));
+
+    lockout.recordFailure(user);   // 5회 → 1분 잠금
+    verify(userRepository).lockUntil(eq(1L), eq(LocalDateTime.now(CLOCK).plusMinutes(1)));
+    assertThrows(AccountException.class, () -> lockout.checkNotLocked("user@example.com"));
+  }
+
+  @Test
+  void doublesLockDurationUpToMaximum() {
+    assertEquals(Duration.ofMinutes(1), lockout.lockDuration(5));
+    assertEquals(Duration.ofMinutes(2), lockout.lockDuration(6));
+    assertEquals(Duration.ofMinutes(32), lockout.lockDuration(10));
+    assertEquals(Duration.ofHours(1), lockout.lockDuration(11));
+    assertEquals(Duration.ofHours(1), lockout.lockDuration(1000));
+  }
+
+  @Test
+  void rejectsUserLockedInDatabaseAndRemembersEmail() {
+    User locked = user(0);
+    locked.setAccountLockedUntil(LocalDateTime.now(CLOCK).plusMinutes(10));
+
+    assertThrows(AccountException.class, () -> lockout.checkNotLocked(locked));
+    assertThrows(AccountException.class, () -> lockout.checkNotLocked("user@example.com"));
+
+    User expired = user(0);
+    expired.setEmail("other@example.com");
+    expired.setAccountLockedUntil(LocalDateTime.now(CLOCK).minusMinutes(1));
+    assertDoesNotThrow(() -> lockout.checkNotLocked(expired));
+  }
+
+  private static User user(int failedLoginAttempts) {
+    return User.builder()
+        .id(1L)
+        .email("user@example.com")
+        .failedLoginAttempts(failedLoginAttempts)
+        .build();
+  }
+}
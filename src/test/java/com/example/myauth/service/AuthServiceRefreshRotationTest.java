@@ -0,0 +1,124 @@
+package com.example.myauth.service;
+
+import com.example.myauth.dto.TokenRefreshResponse;
+import com.example.myauth.entity.RefreshToken;
+import com.example.myauth.entity.User;
+import com.example.myauth.exception.TokenException;
+import com.example.myauth.repository.RefreshTokenGrant;
+import com.example.myauth.repository.RefreshTokenRepository;
+import com.example.myauth.repository.UserRepository;
+import com.example.myauth.security.AuthenticatedUserCache;
+import com.example.myauth.security.CustomUserDetailsService;
+import com.example.myauth.security.JwtClaims;
+import com.example.myauth.security.JwtTokenProvider;
+import com.example.myauth.security.RefreshTokenIndex;
+import com.example.myauth.util.TokenDigest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Refresh Token Rotation: 선점 → 후속 토큰 저장 → 기존 토큰 재사용 시 사용자의 모든 Refresh Token 취소
+ */
+class AuthServiceRefreshRotationTest {
+
+  private static final Long USER_ID = 1L;
+  private static final String EMAIL = "user@example.com";
+
+  private final UserRepository userRepository = mock(UserRepository.class);
+  private final JwtTokenProvider jwtTokenProvider = mock(JwtTokenProvider.class);
+  private final RefreshTokenRepository refreshTokenRepository = mock(RefreshTokenRepository.class);
+  private final RefreshTokenWriteCoalescer refreshTokenWriteCoalescer = mock(RefreshTokenWriteCoalescer.class);
+  private final RefreshTokenIndex refreshTokenIndex = mock(RefreshTokenIndex.class);
+
+  private final AuthService authService = new AuthService(
+      userRepository,
+      mock(PasswordEncoder.class),
+      jwtTokenProvider,
+      refreshTokenRepository,
+      refreshTokenWriteCoalescer,
+      refreshTokenIndex,
+      mock(RefreshTokenHashBackfill.class),
+      mock(AuthenticatedUserCache.class),
+      mock(UserActivityTracker.class),
+      mock(AccountLockoutService.class),
+      mock(RegisteredEmailFilter.class),
+      mock(CustomUserDetailsService.class),
+      mock(AuthenticationManager.class));
+
+  @BeforeEach
+  void setUp() {
+    ReflectionTestUtils.setField(authService, "refreshTokenRotation", true);
+
+    JwtClaims claims = mock(JwtClaims.class);
+    when(claims.getSubject()).thenReturn(EMAIL);
+    when(jwtTokenProvider.isJwt(any())).thenReturn(true);
+    when(jwtTokenProvider.parseClaims(any())).thenReturn(claims);
+    when(jwtTokenProvider.generateAccessToken(EMAIL, USER_ID, User.Role.ROLE_USER, User.Status.ACTIVE))
+        .thenReturn("access");
+    when(jwtTokenProvider.generateRefreshToken(EMAIL, USER_ID)).thenReturn("successor");
+    when(jwtTokenProvider.getRefreshTokenExpiryDate()).thenReturn(new Date(System.currentTimeMillis() + 60_000));
+  }
+
+  @Test
+  void rotationClaimsOldTokenSavesSuccessorAndReplayRevokesFamily() {
+    // 1️⃣ 정상 갱신: 기존 토큰 선점 후 같은 트랜잭션에서 후속 토큰 저장
+    givenGrant("old", false);
+    when(refreshTokenRepository.claimForRotation(10L)).thenReturn(1);
+
+    TokenRefreshResponse response = authService.refreshAccessToken("old");
+
+    assertEquals("access", response.getAccessToken());
+    assertEquals("successor", response.getRefreshToken());
+    ArgumentCaptor<RefreshToken> saved = ArgumentCaptor.forClass(RefreshToken.class);
+    verify(refreshTokenRepository).save(saved.capture());
+    assertArrayEquals(TokenDigest.sha256("successor"), saved.getValue().getTokenHash());
+    verify(refreshTokenWriteCoalescer, never()).save(any());
+    verify(refreshTokenIndex).markRevoked(argThat(hash -> Arrays.equals(hash, TokenDigest.sha256("old"))));
+
+    // 2️⃣ 기존 토큰 재사용: 취소된 토큰 → 사용자의 모든 Refresh Token 취소
+    givenGrant("old", true);
+
+    assertThrows(TokenException.class, () -> authService.refreshAccessToken("old"));
+    verify(refreshTokenRepository).revokeAllByUserId(USER_ID);
+    verify(refreshTokenIndex).invalidateUser(USER_ID);
+  }
+
+  @Test
+  void lostClaimRaceRevokesFamilyWithoutSavingSuccessor() {
+    givenGrant("old", false);
+    when(refreshTokenRepository.claimForRotation(10L)).thenReturn(0);
+
+    assertThrows(TokenException.class, () -> authService.refreshAccessToken("old"));
+
+    verify(refreshTokenRepository).revokeAllByUserId(USER_ID);
+    verify(refreshTokenRepository, never()).save(any());
+    verify(refreshTokenIndex, never()).markRevoked(any());
+  }
+
+  private void givenGrant(String token, boolean revoked) {
+    RefreshTokenGrant grant = new RefreshTokenGrant(10L, LocalDateTime.now().plusDays(1), revoked,
+        USER_ID, EMAIL, User.Role.ROLE_USER, User.Status.ACTIVE, true);
+    byte[] tokenHash = TokenDigest.sha256(token);
+    when(refreshTokenRepository.findGrantByTokenHash(argThat(hash -> Arrays.equals(hash, tokenHash))))
+        .thenReturn(Optional.of(grant));
+  }
+}
@@ -0,0 +1,113 @@
+package com.example.myauth.service;
+
+import com.example.myauth.util.TokenDigest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.ResultSet;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * RefreshTokenHashBackfill이 id keyset 페이지로 token_hash를 채우고, 끝까지 처리했을 때만 완료로 표시하는지 확인한다
+ */
+class RefreshTokenHashBackfillTest {
+
+  private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final RefreshTokenHashBackfill backfill =
+      new RefreshTokenHashBackfill(true, true, 2, Duration.ZERO, Duration.ZERO, jdbcTemplate, meterRegistry);
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void backfillsPagesInIdOrderAndCompletes() throws Exception {
+    List<Object> lastIds = new ArrayList<>();
+    when(jdbcTemplate.query(anyString(), any(RowMapper.class), any(Object[].class))).thenAnswer(invocation -> {
+      RowMapper<Object> mapper = invocation.getArgument(1);
+      long lastId = invocation.getArgument(2);
+      lastIds.add(lastId);
+      return lastId == 0 ? rows(mapper, 3, "a", 7, "b") : rows(mapper, 9, "c");
+    });
+    when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenReturn(new int[]{1, 1}, new int[]{1});
+
+    backfill.backfill();
+
+    assertTrue(backfill.isComplete());
+    assertEquals(List.of(0L, 7L), lastIds);
+    ArgumentCaptor<List<Object[]>> batches = ArgumentCaptor.forClass(List.class);
+    verify(jdbcTemplate, times(2)).batchUpdate(anyString(), batches.capture());
+    Object[] first = batches.getAllValues().get(0).get(0);
+    assertArrayEquals(TokenDigest.sha256("a"), (byte[]) first[0]);
+    assertEquals(3L, first[1]);
+    assertEquals(3.0, meterRegistry.get("refresh.token.hash.backfill.rows").counter().count());
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void skipsDuplicateTokensRowByRow() throws Exception {
+    when(jdbcTemplate.query(anyString(), any(RowMapper.class), any(Object[].class)))
+        .thenAnswer(invocation -> rows(invocation.getArgument(1), 1, "same"));
+    when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenThrow(new DuplicateKeyException("duplicate"));
+    when(jdbcTemplate.update(anyString(), any(Object[].class))).thenThrow(new DuplicateKeyException("duplicate"));
+
+    backfill.backfill();
+
+    assertTrue(backfill.isComplete());
+    verify(jdbcTemplate).update(anyString(), any(Object[].class));
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void staysIncompleteWhenDatabaseFails() {
+    when(jdbcTemplate.query(anyString(), any(RowMapper.class), any(Object[].class)))
+        .thenThrow(new DataIntegrityViolationException("unavailable"));
+
+    backfill.backfill();
+
+    assertFalse(backfill.isComplete());
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void staysIncompleteWhileLegacyWritersMayStillInsert() {
+    RefreshTokenHashBackfill rollingDeploy =
+        new RefreshTokenHashBackfill(true, false, 2, Duration.ZERO, Duration.ZERO, jdbcTemplate, meterRegistry);
+    when(jdbcTemplate.query(anyString(), any(RowMapper.class), any(Object[].class))).thenReturn(List.of());
+
+    rollingDeploy.backfill();
+
+    assertFalse(rollingDeploy.isComplete());
+  }
+
+  /**
+   * (id, token) 쌍을 RowMapper로 변환한 페이지
+   */
+  private static List<Object> rows(RowMapper<Object> mapper, Object... idTokenPairs) throws Exception {
+    List<Object> rows = new ArrayList<>();
+    for (int i = 0; i < idTokenPairs.length; i += 2) {
+      ResultSet rs = mock(ResultSet.class);
+      when(rs.getLong(1)).thenReturn(((Number) idTokenPairs[i]).longValue());
+      when(rs.getString(2)).thenReturn((String) idTokenPairs[i + 1]);
+      rows.add(mapper.mapRow(rs, i / 2));
+    }
+    return rows;
+  }
+}
@@ -0,0 +1,128 @@
+package com.example.myauth.service;
+
+import com.example.myauth.dto.TokenRefreshResponse;
+import com.example.myauth.exception.TokenException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * RefreshTokenSingleFlight가 같은 토큰의 동시/직후 요청을 한 번의 갱신으로 합치고 (공유받는 요청에는 Access Token만),
+ * 실패는 보관하지 않는지 확인한다
+ */
+class RefreshTokenSingleFlightTest {
+
+  private final AuthService authService = mock(AuthService.class);
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final RefreshTokenSingleFlight singleFlight =
+      new RefreshTokenSingleFlight(true, Duration.ofSeconds(10), 100, Duration.ofSeconds(5), authService, meterRegistry);
+
+  @Test
+  void concurrentDuplicatesShareOneRefresh() throws Exception {
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    when(authService.refreshAccessToken("token")).thenAnswer(invocation -> {
+      started.countDown();
+      release.await(5, TimeUnit.SECONDS);
+      return new TokenRefreshResponse("access", "next");
+    });
+
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      Future<TokenRefreshResponse> first = executor.submit(() -> singleFlight.refresh("token"));
+      assertTrue(started.await(5, TimeUnit.SECONDS));
+      Future<TokenRefreshResponse> duplicate = executor.submit(() -> singleFlight.refresh("token"));
+      while (meterRegistry.get("refresh.token.single-flight.shared").tag("state", "in-flight").counter().count() == 0) {
+        Thread.onSpinWait();
+      }
+      release.countDown();
+
+      TokenRefreshResponse firstResponse = first.get(5, TimeUnit.SECONDS);
+      TokenRefreshResponse duplicateResponse = duplicate.get(5, TimeUnit.SECONDS);
+      assertEquals("next", firstResponse.getRefreshToken());
+      assertEquals("access", duplicateResponse.getAccessToken());
+      assertNull(duplicateResponse.getRefreshToken());
+      assertNotSame(firstResponse, duplicateResponse);
+    } finally {
+      executor.shutdownNow();
+    }
+    verify(authService, times(1)).refreshAccessToken("token");
+  }
+
+  @Test
+  void lateDuplicateWithinGracePeriodGetsOnlyAccessToken() {
+    when(authService.refreshAccessToken("token")).thenReturn(new TokenRefreshResponse("access", "next"));
+
+    TokenRefreshResponse first = singleFlight.refresh("token");
+    first.setRefreshToken(null);  // 컨트롤러가 쿠키로 보낸 뒤 바디에서 제거하는 경우
+    TokenRefreshResponse late = singleFlight.refresh("token");
+
+    assertEquals("access", late.getAccessToken());
+    assertNull(late.getRefreshToken());  // 이미 교체된 토큰으로는 후속 Refresh Token을 받을 수 없음
+    verify(authService, times(1)).refreshAccessToken("token");
+    assertEquals(1.0, meterRegistry.get("refresh.token.single-flight.shared").tag("state", "grace").counter().count());
+  }
+
+  @Test
+  void failureIsNotRemembered() {
+    when(authService.refreshAccessToken("token"))
+        .thenThrow(new TokenException("expired"))
+        .thenReturn(new TokenRefreshResponse("access", null));
+
+    assertThrows(TokenException.class, () -> singleFlight.refresh("token"));
+    assertEquals("access", singleFlight.refresh("token").getAccessToken());
+    verify(authService, times(2)).refreshAccessToken("token");
+  }
+
+  @Test
+  void errorReleasesFlightForNextRequest() {
+    when(authService.refreshAccessToken("token"))
+        .thenThrow(new StackOverflowError())
+        .thenReturn(new TokenRefreshResponse("access", null));
+
+    assertThrows(StackOverflowError.class, () -> singleFlight.refresh("token"));
+    assertEquals("access", singleFlight.refresh("token").getAccessToken());
+  }
+
+  @Test
+  void duplicateStopsWaitingAfterTimeout() throws Exception {
+    RefreshTokenSingleFlight shortWait =
+        new RefreshTokenSingleFlight(true, Duration.ofSeconds(10), 100, Duration.ofMillis(50), authService, meterRegistry);
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    when(authService.refreshAccessToken("token")).thenAnswer(invocation -> {
+      started.countDown();
+      release.await(5, TimeUnit.SECONDS);
+      return new TokenRefreshResponse("access", "next");
+    });
+
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      Future<TokenRefreshResponse> first = executor.submit(() -> shortWait.refresh("token"));
+      assertTrue(started.await(5, TimeUnit.SECONDS));
+
+      assertThrows(IllegalStateException.class, () -> shortWait.refresh("token"));
+
+      release.countDown();
+      assertEquals("access", first.get(5, TimeUnit.SECONDS).getAccessToken());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+}
@@ -0,0 +1,167 @@
+package com.example.myauth.service;
+
+import com.example.myauth.entity.RefreshToken;
+import com.example.myauth.repository.RefreshTokenRepository;
+import com.example.myauth.security.RefreshTokenIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeout;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * RefreshTokenWriteCoalescer가 동시에 들어온 저장 요청을 한 번의 saveAll로 묶고
+ * 배치가 실패하면 행마다 다시 저장하여 실패한 요청에만 예외를 돌려주는지 확인한다
+ */
+class RefreshTokenWriteCoalescerTest {
+
+  private final RefreshTokenRepository repository = mock(RefreshTokenRepository.class);
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private RefreshTokenWriteCoalescer coalescer;
+
+  @AfterEach
+  void tearDown() throws InterruptedException {
+    coalescer.shutdown();
+  }
+
+  @Test
+  void groupsConcurrentWritesIntoOneBatch() throws Exception {
+    List<Integer> batchSizes = new ArrayList<>();
+    doAnswer(invocation -> {
+      batchSizes.add(invocation.<List<?>>getArgument(0).size());
+      return invocation.getArgument(0);
+    }).when(repository).saveAll(anyList());
+    coalescer = coalescer(Duration.ofMillis(200));
+
+    CountDownLatch ready = new CountDownLatch(1);
+    List<CompletableFuture<Void>> saves = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      saves.add(CompletableFuture.runAsync(() -> {
+        awaitQuietly(ready);
+        coalescer.save(new RefreshToken());
+      }));
+    }
+    ready.countDown();
+    CompletableFuture.allOf(saves.toArray(CompletableFuture[]::new)).get(5, TimeUnit.SECONDS);
+
+    assertEquals(5, batchSizes.stream().mapToInt(Integer::intValue).sum());
+    assertTrue(batchSizes.size() < 5, "배치로 묶이지 않음: " + batchSizes);
+  }
+
+  @Test
+  void failedBatchFallsBackToSingleWrites() {
+    RefreshToken duplicate = new RefreshToken();
+    List<Long> retriedIds = new ArrayList<>();
+    when(repository.saveAll(anyList())).thenAnswer(invocation -> {
+      invocation.<List<RefreshToken>>getArgument(0).forEach(token -> token.setId(100L));  // 실패 전 할당된 ID
+      throw new DataIntegrityViolationException("duplicate");
+    });
+    when(repository.save(any(RefreshToken.class))).thenAnswer(invocation -> {
+      retriedIds.add(invocation.<RefreshToken>getArgument(0).getId());
+      if (invocation.getArgument(0) == duplicate) {
+        throw new DataIntegrityViolationException("duplicate");
+      }
+      return invocation.getArgument(0);
+    });
+    coalescer = coalescer(Duration.ZERO);
+
+    coalescer.save(new RefreshToken());
+    assertThrows(DataIntegrityViolationException.class, () -> coalescer.save(duplicate));
+    assertEquals(Arrays.asList(null, null), retriedIds, "ID가 남아 있으면 merge로 처리됨");
+  }
+
+  @Test
+  void joinsCallerTransactionInsteadOfWaitingForBatch() {
+    RefreshTokenIndex index = mock(RefreshTokenIndex.class);
+    coalescer = new RefreshTokenWriteCoalescer(
+        true, Duration.ofSeconds(10), 50, Duration.ofSeconds(5), repository, index,
+        mock(PlatformTransactionManager.class), meterRegistry);
+    RefreshToken refreshToken = new RefreshToken();
+    refreshToken.setTokenHash(new byte[32]);
+
+    // 배치 대기(10초)에 들어가면 assertTimeout이 실패한다
+    assertTimeout(Duration.ofSeconds(2), () -> new TransactionTemplate(new InMemoryTransactionManager())
+        .executeWithoutResult(status -> {
+          coalescer.save(refreshToken);
+          verify(index, never()).put(any(), any(), any(), any(), anyBoolean(), anyLong());  // 커밋 전에는 색인하지 않음
+        }));
+
+    verify(repository).save(refreshToken);
+    verify(repository, never()).saveAll(anyList());
+    verify(index).put(any(), any(), any(), any(), anyBoolean(), anyLong());
+  }
+
+  @Test
+  void saveAfterShutdownDoesNotWaitForStoppedWorker() throws InterruptedException {
+    coalescer = coalescer(Duration.ZERO);
+    coalescer.shutdown();
+    RefreshToken refreshToken = new RefreshToken();
+
+    assertTimeout(Duration.ofSeconds(2), () -> coalescer.save(refreshToken));
+
+    verify(repository).save(refreshToken);
+  }
+
+  private RefreshTokenWriteCoalescer coalescer(Duration window) {
+    return new RefreshTokenWriteCoalescer(
+        true, window, 50, Duration.ofSeconds(5), repository, mock(RefreshTokenIndex.class),
+        mock(PlatformTransactionManager.class), meterRegistry);
+  }
+
+  /**
+   * 커넥션 없이 트랜잭션 동기화만 수행하는 트랜잭션 매니저 (실제 트랜잭션 경계/afterCommit 확인용)
+   */
+  private static class InMemoryTransactionManager extends AbstractPlatformTransactionManager {
+
+    @Override
+    protected Object doGetTransaction() {
+      return new Object();
+    }
+
+    @Override
+    protected void doBegin(Object transaction, TransactionDefinition definition) {
+    }
+
+    @Override
+    protected void doCommit(DefaultTransactionStatus status) {
+    }
+
+    @Override
+    protected void doRollback(DefaultTransactionStatus status) {
+    }
+  }
+
+  private static void awaitQuietly(CountDownLatch latch) {
+    try {
+      latch.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,84 @@
+package com.example.myauth.service;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * UserActivityTracker가 주기 안의 기록을 사용자/토큰당 한 행으로 합쳐서 반영하는지 확인한다
+ */
+class UserActivityTrackerTest {
+
+  private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+  private final UserActivityTracker tracker = new UserActivityTracker(true, jdbcTemplate);
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void coalescesLoginEventsPerUser() {
+    tracker.recordLoginFailure(1L);
+    tracker.recordLoginFailure(1L);
+    tracker.recordLoginSuccess(1L);
+    tracker.recordLoginFailure(1L);   // 성공 이후 실패 1회 → failed_login_attempts = 1
+    tracker.recordLoginFailure(2L);
+    tracker.recordLoginFailure(2L);   // 성공 없음 → failed_login_attempts += 2
+
+    tracker.flush();
+
+    ArgumentCaptor<List<Object[]>> rows = ArgumentCaptor.forClass(List.class);
+    verify(jdbcTemplate).batchUpdate(contains("UPDATE users"), rows.capture());
+    assertEquals(2, rows.getValue().size());
+    for (Object[] row : rows.getValue()) {
+      if (row[5].equals(1L)) {
+        assertNotNull(row[0]);
+        assertArrayEquals(new Object[]{true, 1, 1, 1L}, new Object[]{row[2], row[3], row[4], row[5]});
+      } else {
+        assertNull(row[0]);
+        assertArrayEquals(new Object[]{false, 2, 2, 2L}, new Object[]{row[2], row[3], row[4], row[5]});
+      }
+    }
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void writesOneRowPerRefreshTokenAndClearsAfterFlush() {
+    tracker.recordRefreshTokenUse(10L);
+    tracker.recordRefreshTokenUse(10L);
+    tracker.recordRefreshTokenUse(11L);
+
+    tracker.flush();
+
+    ArgumentCaptor<List<Object[]>> rows = ArgumentCaptor.forClass(List.class);
+    verify(jdbcTemplate).batchUpdate(contains("UPDATE refresh_tokens"), rows.capture());
+    assertEquals(2, rows.getValue().size());
+
+    // 새 기록이 없으면 다음 주기에는 UPDATE하지 않는다
+    clearInvocations(jdbcTemplate);
+    tracker.flush();
+    verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+  }
+
+  @Test
+  void ignoresEventsWhenDisabled() {
+    UserActivityTracker disabled = new UserActivityTracker(false, jdbcTemplate);
+    disabled.recordLoginSuccess(1L);
+    disabled.recordRefreshTokenUse(10L);
+
+    disabled.flush();
+
+    verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+  }
+}
@@ -0,0 +1,102 @@
+package com.example.myauth.service;
+
+import com.example.myauth.dto.BulkImportResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * UserBulkImportService가 잘못된 행/중복을 해시 전에 걸러 행별로 보고하고, 나머지를 배치로 저장하는지 확인한다
+ */
+class UserBulkImportServiceTest {
+
+  private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+  private final RegisteredEmailFilter registeredEmailFilter = mock(RegisteredEmailFilter.class);
+  private final UserBulkImportService service = new UserBulkImportService(
+      2, 2, 10,
+      new ObjectMapper(),
+      Validation.buildDefaultValidatorFactory().getValidator(),
+      jdbcTemplate,
+      mock(PlatformTransactionManager.class),
+      new BCryptPasswordEncoder(4),
+      registeredEmailFilter,
+      new SimpleMeterRegistry());
+
+  @AfterEach
+  void tearDown() {
+    service.shutdown();
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void reportsInvalidAndDuplicateRowsAndBatchesTheRest() throws Exception {
+    when(registeredEmailFilter.mightBeRegistered("taken@example.com")).thenReturn(true);
+    when(jdbcTemplate.queryForList(anyString(), eq(String.class), any(Object[].class)))
+        .thenReturn(List.of("taken@example.com"));
+
+    String ndjson = String.join("\n",
+        "{\"email\":\" Alice@Example.com \",\"password\":\"password1\",\"username\":\"alice\"}",
+        "not json",
+        "{\"email\":\"bob@example.com\",\"password\":\"short\",\"username\":\"bob\"}",
+        "",
+        "{\"email\":\"taken@example.com\",\"password\":\"password1\",\"username\":\"taken\"}",
+        "{\"email\":\"carol@example.com\",\"password\":\"password1\",\"username\":\"carol\"}",
+        "{\"email\":\"CAROL@example.com\",\"password\":\"password1\",\"username\":\"carol2\"}");
+
+    BulkImportResponse result = service.importUsers(
+        new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)));
+
+    assertEquals(6, result.getTotalRows());
+    assertEquals(2, result.getImportedRows());
+    assertEquals(4, result.getFailedRows());
+    assertEquals(List.of(2L, 3L, 5L, 7L),
+        result.getErrors().stream().map(BulkImportResponse.RowError::getLine).sorted().toList());
+
+    ArgumentCaptor<List<Object[]>> batches = ArgumentCaptor.forClass(List.class);
+    verify(jdbcTemplate, times(2)).batchUpdate(anyString(), batches.capture());
+    assertEquals("alice@example.com", batches.getAllValues().get(0).get(0)[0]);
+    assertEquals("carol@example.com", batches.getAllValues().get(1).get(0)[0]);
+    assertTrue(((String) batches.getAllValues().get(1).get(0)[1]).startsWith("$2a$"));
+  }
+
+  @Test
+  void fallsBackToRowInsertsWhenBatchFails() throws Exception {
+    when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenThrow(new DuplicateKeyException("duplicate"));
+    when(jdbcTemplate.update(anyString(), any(Object[].class)))
+        .thenReturn(1)
+        .thenThrow(new DuplicateKeyException("duplicate"));
+
+    String ndjson = String.join("\n",
+        "{\"email\":\"dave@example.com\",\"password\":\"password1\",\"username\":\"dave\"}",
+        "{\"email\":\"erin@example.com\",\"password\":\"password1\",\"username\":\"erin\"}");
+
+    BulkImportResponse result = service.importUsers(
+        new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)));
+
+    assertEquals(1, result.getImportedRows());
+    assertEquals(1, result.getFailedRows());
+    assertEquals("erin@example.com", result.getErrors().get(0).getEmail());
+  }
+}
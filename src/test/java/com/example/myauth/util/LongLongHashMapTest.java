@@ -0,0 +1,69 @@
+package com.example.myauth.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * LongLongHashMap이 재해시 후에도 모든 값을 유지하고 값을 단조 증가로만 갱신하는지 확인한다
+ */
+class LongLongHashMapTest {
+
+  @Test
+  void keepsEntriesAcrossResize() {
+    LongLongHashMap map = new LongLongHashMap(4);
+    for (long key = 1; key <= 10_000; key++) {
+      map.putMax(key, key * 10);
+    }
+
+    assertEquals(10_000, map.size());
+    for (long key = 1; key <= 10_000; key++) {
+      assertEquals(key * 10, map.get(key, -1));
+    }
+    assertEquals(-1, map.get(10_001, -1));
+  }
+
+  @Test
+  void putMaxNeverDecreasesValue() {
+    LongLongHashMap map = new LongLongHashMap(16);
+
+    assertEquals(100, map.putMax(7, 100));
+    assertEquals(100, map.putMax(7, 50));
+    assertEquals(200, map.putMax(7, 200));
+    assertEquals(200, map.get(7, 0));
+    assertEquals(1, map.size());
+  }
+
+  @Test
+  void removesEntriesBelowThresholdAndShrinks() {
+    LongLongHashMap map = new LongLongHashMap(4);
+    for (long key = 1; key <= 10_000; key++) {
+      map.putMax(key, key);
+    }
+
+    assertEquals(9_990, map.removeValuesBelow(9_991));
+
+    assertEquals(10, map.size());
+    assertEquals(-1, map.get(1, -1));
+    assertEquals(-1, map.get(9_990, -1));
+    for (long key = 9_991; key <= 10_000; key++) {
+      assertEquals(key, map.get(key, -1));
+    }
+    assertEquals(0, map.removeValuesBelow(9_991));
+
+    // 정리 후에도 추가/재해시가 정상 동작
+    for (long key = 20_001; key <= 21_000; key++) {
+      map.putMax(key, key);
+    }
+    assertEquals(1_010, map.size());
+    assertEquals(20_500, map.get(20_500, -1));
+  }
+
+  @Test
+  void rejectsZeroKey() {
+    LongLongHashMap map = new LongLongHashMap(16);
+
+    assertThrows(IllegalArgumentException.class, () -> map.putMax(0, 1));
+  }
+}
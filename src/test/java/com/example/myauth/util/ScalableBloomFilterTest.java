@@ -0,0 +1,54 @@
+package com.example.myauth.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * ScalableBloomFilter가 용량을 넘어 확장해도 false negative 없이 오탐률을 유지하는지 확인한다
+ */
+class ScalableBloomFilterTest {
+
+  @Test
+  void neverReportsAddedValuesAsAbsentAfterGrowing() {
+    ScalableBloomFilter filter = new ScalableBloomFilter(100, 0.01);
+    for (int i = 0; i < 10_000; i++) {
+      filter.put("user" + i + "@example.com");
+    }
+
+    for (int i = 0; i < 10_000; i++) {
+      assertTrue(filter.mightContain("user" + i + "@example.com"));
+    }
+  }
+
+  @Test
+  void keepsFalsePositiveRateBounded() {
+    ScalableBloomFilter filter = new ScalableBloomFilter(1_000, 0.01);
+    for (int i = 0; i < 20_000; i++) {
+      filter.put("user" + i + "@example.com");
+    }
+
+    int falsePositives = 0;
+    int probes = 100_000;
+    for (int i = 0; i < probes; i++) {
+      if (filter.mightContain("other" + i + "@example.org")) {
+        falsePositives++;
+      }
+    }
+    // 전체 오탐률 상한은 falsePositiveRate × 2
+    assertTrue(falsePositives < probes * 0.02, "오탐: " + falsePositives);
+  }
+
+  @Test
+  void ignoresDuplicatePuts() {
+    ScalableBloomFilter filter = new ScalableBloomFilter(10, 0.01);
+    for (int i = 0; i < 1_000; i++) {
+      filter.put("same@example.com");
+    }
+
+    assertEquals(1, filter.approximateSize());
+    assertFalse(filter.mightContain("different@example.com"));
+  }
+}
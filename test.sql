@@ -28,5 +28,35 @@ ALTER TABLE users
 ADD UNIQUE KEY uk_provider_provider_id (provider, provider_id);
 
 
-
-
+-- refresh token 다이제스트 조회 (opaque refresh token 지원)
+-- 1. SHA-256 다이제스트 컬럼 + 유니크 인덱스
+--    기존 행은 NULL로 추가되며 애플리케이션 시작 후 RefreshTokenHashBackfill이 배치로 채운다
+--    (jwt.refresh-token.hash-backfill.*, 테이블 잠금 없이 id 순서로 나누어 UPDATE)
+ALTER TABLE refresh_tokens
+ADD COLUMN token_hash BINARY(32) NULL COMMENT 'SHA-256(token)',
+ADD UNIQUE KEY uk_refresh_tokens_token_hash (token_hash),
+ALGORITHM=INPLACE, LOCK=NONE;
+
+-- 2. opaque 토큰은 원문을 저장하지 않으므로 token을 nullable로 변경
+ALTER TABLE refresh_tokens
+MODIFY COLUMN token VARCHAR(500) NULL;
+
+
+-- 사용자별 토큰 폐기 시각 (로그아웃/계정 정지/비밀번호 변경 시 갱신)
+-- not_before(epoch seconds) 이전에 발급된 토큰은 거부된다
+CREATE TABLE user_token_epochs (
+    user_id BIGINT PRIMARY KEY,
+    not_before BIGINT NOT NULL COMMENT '토큰 폐기 시각 (epoch seconds, JWT iat와 비교)',
+    KEY idx_user_token_epochs_not_before (not_before),
+    CONSTRAINT fk_user_token_epochs_user FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+);
+
+
+-- refresh token ID를 애플리케이션에서 할당 (pooled sequence → INSERT JDBC 배치 가능)
+-- Hibernate는 MySQL에서 시퀀스 대신 이 테이블을 사용하며 한 번에 50개씩 예약한다
+-- 시작 값은 기존 최대 ID보다 한 할당 단위 이상 크게 잡는다
+CREATE TABLE refresh_tokens_seq (
+    next_val BIGINT NOT NULL
+);
+INSERT INTO refresh_tokens_seq (next_val)
+SELECT COALESCE(MAX(id), 0) + 51 FROM refresh_tokens;